@@ -0,0 +1,201 @@
+package com.manish.hardware.catalog;
+
+import com.manish.hardware.dto.ProductDtos.AttributeSummary;
+import com.manish.hardware.model.ProductAttribute;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sorted per-attribute indexes over the parsed technical specs of the active
+ * products in a {@link CatalogSnapshot}. Numeric attributes keep their values
+ * in one sorted array with the product ids alongside, so a range is two
+ * binary searches; text attributes map each value to its product ids.
+ * <p>
+ * Conditions are written {@code name:value} for equality and
+ * {@code name:min..max} for an inclusive range (either bound may be left out,
+ * {@code diameter_mm:8..12}, {@code length_mm:..6000}).
+ */
+public final class AttributeIndex {
+
+    // Distinct text values listed per attribute in the summary
+    private static final int MAX_LISTED_VALUES = 50;
+
+    private final Map<String, NumericColumn> numeric = new TreeMap<>();
+    private final Map<String, Map<String, long[]>> text = new TreeMap<>();
+
+    AttributeIndex(Collection<ProductAttribute> attributes, ColumnarCatalog products) {
+        Map<String, List<ProductAttribute>> numericByName = new HashMap<>();
+        Map<String, Map<String, List<Long>>> textByName = new HashMap<>();
+        for (ProductAttribute attribute : attributes) {
+            if (attribute.getProductId() == null || products.rowOf(attribute.getProductId()) < 0) {
+                continue;
+            }
+            if (attribute.getNumericValue() != null) {
+                numericByName.computeIfAbsent(attribute.getName(), key -> new ArrayList<>()).add(attribute);
+            } else if (attribute.getTextValue() != null) {
+                textByName.computeIfAbsent(attribute.getName(), key -> new TreeMap<>())
+                        .computeIfAbsent(attribute.getTextValue(), key -> new ArrayList<>())
+                        .add(attribute.getProductId());
+            }
+        }
+        numericByName.forEach((name, values) -> numeric.put(name, new NumericColumn(values)));
+        textByName.forEach((name, values) -> {
+            Map<String, long[]> ids = new TreeMap<>();
+            values.forEach((value, valueIds) -> ids.put(value, sortedIds(valueIds)));
+            text.put(name, ids);
+        });
+    }
+
+    // Ids of products meeting every condition, ascending (an unknown attribute matches nothing)
+    public List<Long> filter(List<String> conditions) {
+        long[] matches = null;
+        for (String condition : conditions) {
+            long[] ids = match(condition);
+            matches = matches == null ? ids : intersect(matches, ids);
+        }
+        List<Long> result = new ArrayList<>();
+        if (matches != null) {
+            for (long id : matches) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    // Every indexed attribute with its product count and value range (numeric) or values (text)
+    public List<AttributeSummary> getSummaries() {
+        List<AttributeSummary> summaries = new ArrayList<>();
+        numeric.forEach((name, column) -> summaries.add(new AttributeSummary(name, "number", column.values.length,
+                column.values[0], column.values[column.values.length - 1], List.of())));
+        text.forEach((name, values) -> {
+            int count = 0;
+            for (long[] ids : values.values()) {
+                count += ids.length;
+            }
+            List<String> listed = new ArrayList<>(values.keySet());
+            summaries.add(new AttributeSummary(name, "text", count, null, null,
+                    listed.subList(0, Math.min(MAX_LISTED_VALUES, listed.size()))));
+        });
+        summaries.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return summaries;
+    }
+
+    private long[] match(String condition) {
+        int colon = condition.indexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("Attribute filter must be name:value or name:min..max: " + condition);
+        }
+        String name = condition.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+        String value = condition.substring(colon + 1).trim();
+        int range = value.indexOf("..");
+        NumericColumn column = numeric.get(name);
+        if (range >= 0) {
+            Double min = bound(value.substring(0, range), condition);
+            Double max = bound(value.substring(range + 2), condition);
+            return column == null ? new long[0] : column.range(min, max);
+        }
+        if (column != null) {
+            Double exact = bound(value, condition);
+            return column.range(exact, exact);
+        }
+        Map<String, long[]> values = text.get(name);
+        long[] ids = values == null ? null : values.get(value.toLowerCase(Locale.ROOT).replaceAll("\\s+", " "));
+        return ids == null ? new long[0] : ids;
+    }
+
+    private static Double bound(String text, String condition) {
+        if (text.isBlank()) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number in attribute filter: " + condition);
+        }
+    }
+
+    private static long[] sortedIds(Collection<Long> ids) {
+        long[] sorted = ids.stream().mapToLong(Long::longValue).distinct().toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[Math.min(a.length, b.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, size);
+    }
+
+    private static final class NumericColumn {
+        private final double[] values;
+        private final long[] productIds;
+
+        private NumericColumn(List<ProductAttribute> attributes) {
+            attributes.sort((a, b) -> Double.compare(a.getNumericValue(), b.getNumericValue()));
+            values = new double[attributes.size()];
+            productIds = new long[attributes.size()];
+            for (int i = 0; i < attributes.size(); i++) {
+                values[i] = attributes.get(i).getNumericValue();
+                productIds[i] = attributes.get(i).getProductId();
+            }
+        }
+
+        // Ids with min <= value <= max (a null bound is open), ascending
+        private long[] range(Double min, Double max) {
+            int from = min == null ? 0 : firstAtLeast(min);
+            int to = max == null ? values.length : firstAbove(max);
+            if (from >= to) {
+                return new long[0];
+            }
+            long[] ids = Arrays.copyOfRange(productIds, from, to);
+            Arrays.sort(ids);
+            return ids;
+        }
+
+        private int firstAtLeast(double value) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int firstAbove(double value) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.manish.hardware.catalog;
+
+import com.manish.hardware.catalog.CatalogChangedEvent.Resource;
+import com.manish.hardware.model.CatalogChange;
+import com.manish.hardware.repository.CatalogChangeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Appends catalog writes to the {@code catalog_changes} table. The row is
+ * written just before the surrounding transaction commits, so it becomes
+ * visible together with the change it records (or not at all). The mobile
+ * sync API reads the {@link #SYNCED} resources; other nodes read every row
+ * through {@link CatalogChangePoller}.
+ */
+@Component
+public class CatalogChangeLog {
+
+    // Resources the mobile app keeps a local copy of
+    public static final Set<Resource> SYNCED = EnumSet.of(Resource.PRODUCT, Resource.CATEGORY, Resource.BANNER);
+    // Resources written to the database (SEARCH and POPULARITY are derived on each node)
+    public static final Set<Resource> LOGGED = EnumSet.of(Resource.PRODUCT, Resource.CATEGORY, Resource.BANNER,
+            Resource.CONFIG, Resource.LANGUAGE);
+
+    @Autowired
+    private CatalogChangeRepository catalogChangeRepository;
+
+    // Ids of rows this node wrote, so the poller does not replay its own changes
+    private final Set<Long> localIds = ConcurrentHashMap.newKeySet();
+
+    // Record the change inside the writing transaction (replayed remote changes are already recorded)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (LOGGED.contains(event.getResource()) && !event.isRemote()) {
+            CatalogChange change = catalogChangeRepository.save(new CatalogChange(event.getResource().name(),
+                    event.getEntityId() != null ? event.getEntityId() : CatalogChange.WHOLE_RESOURCE));
+            localIds.add(change.getId());
+        }
+    }
+
+    // Whether this node wrote the change (each id answers true once)
+    boolean isLocal(Long changeId) {
+        return localIds.remove(changeId);
+    }
+
+    // Drop ids at or below the cursor (rows whose transaction rolled back are never polled)
+    void forgetUpTo(long cursor) {
+        localIds.removeIf(id -> id <= cursor);
+    }
+}
@@ -0,0 +1,108 @@
+package com.manish.hardware.catalog;
+
+import com.manish.hardware.catalog.CatalogChangedEvent.Resource;
+import com.manish.hardware.config.SyncConfig;
+import com.manish.hardware.model.CatalogChange;
+import com.manish.hardware.repository.CatalogChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Picks up catalog writes committed on other nodes. Every
+ * {@code app.sync.change-poll-ms} it reads the {@code catalog_changes} rows
+ * past its cursor (only settled ones, as the sync API does, so a transaction
+ * that took a lower id but committed later is not skipped), starting from
+ * the change the snapshot was first loaded at, refreshes the
+ * snapshot once if any of them came from another node (in full for language
+ * and catalog-wide product changes), and replays them as remote
+ * {@link CatalogChangedEvent}s so the search index, its rules and the ETag
+ * counters follow.
+ */
+@Component
+public class CatalogChangePoller {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogChangePoller.class);
+
+    @Autowired
+    private CatalogChangeRepository catalogChangeRepository;
+
+    @Autowired
+    private CatalogChangeLog catalogChangeLog;
+
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    @Autowired
+    private SyncConfig syncConfig;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Last change seen; null until the first poll
+    private Long cursor;
+
+    // Read the change log and apply the other nodes' changes
+    @Scheduled(fixedDelayString = "${app.sync.change-poll-ms:5000}",
+            initialDelayString = "${app.sync.change-poll-ms:5000}")
+    public synchronized void poll() {
+        LocalDateTime settledBefore = LocalDateTime.now().minus(Duration.ofMillis(syncConfig.getCommitGraceMs()));
+        if (cursor == null) {
+            // Start where the snapshot was loaded from; a snapshot not loaded yet will read everything up to now
+            cursor = productCatalog.getLoadedChangeId()
+                    .orElseGet(() -> catalogChangeRepository.findFirstByChangedAtBeforeOrderByIdDesc(settledBefore)
+                            .map(CatalogChange::getId).orElse(0L));
+        }
+        List<CatalogChange> changes = catalogChangeRepository.findByIdGreaterThanAndChangedAtBeforeOrderByIdAsc(
+                cursor, settledBefore, Limit.of(syncConfig.getMaxBatchSize()));
+        if (changes.isEmpty()) {
+            return;
+        }
+        List<CatalogChange> remote = new ArrayList<>();
+        for (CatalogChange change : changes) {
+            if (!catalogChangeLog.isLocal(change.getId())) {
+                remote.add(change);
+            }
+        }
+        cursor = changes.get(changes.size() - 1).getId();
+        catalogChangeLog.forgetUpTo(cursor);
+        if (remote.isEmpty()) {
+            return;
+        }
+        Set<Long> productIds = new HashSet<>();
+        boolean reloadAll = false;
+        for (CatalogChange change : remote) {
+            Resource resource = Resource.valueOf(change.getResourceType());
+            if (resource == Resource.LANGUAGE || resource == Resource.PRODUCT && isWholeResource(change)) {
+                reloadAll = true;
+            } else if (resource == Resource.PRODUCT) {
+                productIds.add(change.getEntityId());
+            }
+        }
+        if (reloadAll) {
+            productCatalog.refresh();
+        } else if (!productIds.isEmpty()) {
+            productCatalog.refresh(productIds);
+        }
+        for (CatalogChange change : remote) {
+            eventPublisher.publishEvent(CatalogChangedEvent.remote(Resource.valueOf(change.getResourceType()),
+                    isWholeResource(change) ? null : change.getEntityId()));
+        }
+        logger.debug("Applied {} catalog changes from other nodes up to {}", remote.size(), cursor);
+    }
+
+    private static boolean isWholeResource(CatalogChange change) {
+        return change.getEntityId() == CatalogChange.WHOLE_RESOURCE;
+    }
+}
@@ -0,0 +1,65 @@
+package com.manish.hardware.catalog;
+
+/**
+ * Published by the services whenever a catalog row is written. Listeners that
+ * keep read-side copies of the catalog react once the surrounding transaction
+ * has committed.
+ */
+public class CatalogChangedEvent {
+
+    // Kinds of catalog data a write can touch (SEARCH: the search index was rebuilt with new rules;
+    // POPULARITY: quote counts changed, and with them relevance and the popularity sort)
+    public enum Resource {
+        PRODUCT, CATEGORY, BANNER, CONFIG, LANGUAGE, SEARCH, POPULARITY
+    }
+
+    private final Resource resource;
+    private final Long entityId;
+    private final boolean remote;
+
+    public CatalogChangedEvent(Long productId) {
+        this(Resource.PRODUCT, productId);
+    }
+
+    public CatalogChangedEvent(Resource resource, Long entityId) {
+        this(resource, entityId, false);
+    }
+
+    private CatalogChangedEvent(Resource resource, Long entityId, boolean remote) {
+        this.resource = resource;
+        this.entityId = entityId;
+        this.remote = remote;
+    }
+
+    // Change to a resource as a whole, without a single entity id
+    public static CatalogChangedEvent of(Resource resource) {
+        return new CatalogChangedEvent(resource, null);
+    }
+
+    // Change another node committed, replayed from the change log (the snapshot is already refreshed)
+    public static CatalogChangedEvent remote(Resource resource, Long entityId) {
+        return new CatalogChangedEvent(resource, entityId, true);
+    }
+
+    public Resource getResource() {
+        return resource;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    // Id of the product that changed, or null for other resources
+    public Long getProductId() {
+        return resource == Resource.PRODUCT ? entityId : null;
+    }
+
+    public boolean isRemote() {
+        return remote;
+    }
+
+    // Whether the product snapshot has to be rebuilt (languages drive translation fallback)
+    public boolean affectsProducts() {
+        return resource == Resource.PRODUCT || resource == Resource.LANGUAGE;
+    }
+}
@@ -0,0 +1,680 @@
+package com.manish.hardware.catalog;
+
+import com.manish.hardware.dto.ProductDtos.LocalizedProduct;
+import com.manish.hardware.dto.ProductDtos.ProductCard;
+import com.manish.hardware.model.Product;
+import com.manish.hardware.model.ProductAttribute;
+import com.manish.hardware.model.ProductTranslation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * Immutable, in-memory copy of the active catalog. The catalog is held in a
+ * {@link ColumnarCatalog}; the products handed out are detached copies built
+ * from it per call, never Hibernate-managed instances, so they can be shared
+ * between request threads and serialized without touching the database.
+ */
+public final class CatalogSnapshot {
+
+    private final long version;
+    private final String defaultLanguageCode;
+    private final ColumnarCatalog columns;
+    private final ProductRows activeProducts;
+    private final Map<Long, ProductRows> productsByCategory;
+    private final Map<Long, Long> categoryCounts;
+    private final FacetIndex facets;
+    private final AttributeIndex attributes;
+    // The parsed attributes the index was built from, carried into patched snapshots
+    private final List<ProductAttribute> attributeRows;
+    // Set once, before the snapshot is published, when app.catalog.storage is OFF_HEAP
+    private OffHeapCatalogStore offHeapStore;
+    // Sort permutations per ProductSort (and language for names), prepared when the snapshot is loaded
+    private final Map<String, Ordering> orderings = new ConcurrentHashMap<>();
+    // Popularity permutation, replaced by re-ranking as quotes arrive while requests read the previous one
+    private volatile Ranking ranking;
+    // Resolved localized details, filled on demand; dropped with the snapshot on the next catalog write
+    private final Map<String, LocalizedProduct> localizedCache = new ConcurrentHashMap<>();
+
+    private CatalogSnapshot(long version, String defaultLanguageCode, ColumnarCatalog columns,
+            List<ProductAttribute> attributes) {
+        this.version = version;
+        this.defaultLanguageCode = defaultLanguageCode;
+        this.columns = columns;
+
+        int[] allRows = new int[columns.size()];
+        Map<Long, List<Integer>> rowsByCategory = new HashMap<>();
+        for (int row = 0; row < columns.size(); row++) {
+            allRows[row] = row;
+            rowsByCategory.computeIfAbsent(columns.categoryId(row), key -> new ArrayList<>()).add(row);
+        }
+        Map<Long, ProductRows> byCategory = new HashMap<>();
+        Map<Long, Long> counts = new HashMap<>();
+        rowsByCategory.forEach((categoryId, rows) -> {
+            byCategory.put(categoryId, new ProductRows(columns, rows.stream().mapToInt(Integer::intValue).toArray()));
+            counts.put(categoryId, (long) rows.size());
+        });
+
+        this.activeProducts = new ProductRows(columns, allRows);
+        this.productsByCategory = Collections.unmodifiableMap(byCategory);
+        this.categoryCounts = Collections.unmodifiableMap(counts);
+        this.facets = new FacetIndex(columns, this.activeProducts);
+        this.attributes = new AttributeIndex(attributes, columns);
+        this.attributeRows = attributes;
+    }
+
+    // Build a snapshot from active products and all of their translations
+    public static CatalogSnapshot build(long version, String defaultLanguageCode, List<Product> products,
+            List<ProductTranslation> translations) {
+        return build(version, defaultLanguageCode, products, translations, List.of());
+    }
+
+    // Build a snapshot that also indexes the attributes parsed from the products' technical specs
+    public static CatalogSnapshot build(long version, String defaultLanguageCode, List<Product> products,
+            List<ProductTranslation> translations, List<ProductAttribute> attributes) {
+        Map<Long, List<ProductTranslation>> translationsByProduct = new HashMap<>();
+        for (ProductTranslation translation : translations) {
+            translationsByProduct.computeIfAbsent(translation.getProductId(), key -> new ArrayList<>())
+                    .add(translation);
+        }
+
+        List<Product> copies = new ArrayList<>(products.size());
+        for (Product product : products) {
+            if (Boolean.TRUE.equals(product.getIsActive())) {
+                copies.add(copyOf(product, translationsByProduct.getOrDefault(product.getId(), List.of())));
+            }
+        }
+        copies.sort(Comparator.comparing(Product::getId));
+        return new CatalogSnapshot(version, defaultLanguageCode, new ColumnarCatalog(copies), attributes);
+    }
+
+    // This snapshot with the rows of the changed products replaced: products are the changed products as now
+    // stored (with their translations; inactive or missing ones leave the catalog) and attributes their parsed
+    // specs. Other rows, attributes and sort permutations carry over, so a write costs array copies and a few
+    // binary searches per sort order rather than a reload and a full sort.
+    CatalogSnapshot patch(long nextVersion, Collection<Long> changedIds, List<Product> products,
+            List<ProductAttribute> changedAttributes, ProductPopularity popularity) {
+        Set<Long> replaced = new HashSet<>(changedIds);
+        List<Product> copies = new ArrayList<>();
+        for (Product product : products) {
+            replaced.add(product.getId());
+            if (Boolean.TRUE.equals(product.getIsActive())) {
+                copies.add(copyOf(product, product.getTranslations()));
+            }
+        }
+        copies.sort(Comparator.comparing(Product::getId));
+        List<ProductAttribute> attributes = new ArrayList<>(changedAttributes);
+        for (ProductAttribute attribute : attributeRows) {
+            if (!replaced.contains(attribute.getProductId())) {
+                attributes.add(attribute);
+            }
+        }
+        CatalogSnapshot next = new CatalogSnapshot(nextVersion, defaultLanguageCode,
+                new ColumnarCatalog(columns, copies, replaced), attributes);
+
+        // Kept rows keep their relative order, shifted to their new row numbers; replaced rows are re-inserted
+        int[] rowMap = new int[columns.size()];
+        for (int row = 0, nextRow = 0; row < rowMap.length; row++) {
+            while (nextRow < next.columns.size() && next.columns.id(nextRow) < columns.id(row)) {
+                nextRow++;
+            }
+            rowMap[row] = replaced.contains(columns.id(row)) ? -1 : nextRow;
+        }
+        int[] inserted = copies.stream().mapToInt(copy -> next.columns.rowOf(copy.getId())).toArray();
+        orderings.forEach((key, ordering) -> {
+            ProductSort sort = ProductSort.valueOf(key.contains(":") ? key.substring(0, key.indexOf(':')) : key);
+            if (sort != ProductSort.NAME || next.columns.languageCode(key.substring("NAME:".length())) >= 0
+                    || key.equals("NAME:" + defaultLanguageCode)) {
+                next.orderings.put(key, next.carryOver(ordering, rowMap, inserted,
+                        next.rowComparator(sort, key, popularity)));
+            }
+        });
+        Ranking current = ranking;
+        if (current != null) {
+            // Still marked with the old version, so the background re-ranking picks up any count changes
+            next.ranking = new Ranking(next.carryOver(current.ordering, rowMap, inserted,
+                    next.rowComparator(ProductSort.POPULARITY, null, popularity)), current.popularityVersion);
+        }
+        return next;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getDefaultLanguageCode() {
+        return defaultLanguageCode;
+    }
+
+    public List<Product> getActiveProducts() {
+        return activeProducts;
+    }
+
+    public List<Product> getProductsByCategory(Long categoryId) {
+        List<Product> products = productsByCategory.get(categoryId);
+        return products != null ? products : List.of();
+    }
+
+    public Optional<Product> getProduct(Long id) {
+        int row = id != null ? columns.rowOf(id) : -1;
+        return row >= 0 ? Optional.of(columns.product(row)) : Optional.empty();
+    }
+
+    // Product carrying only the translation for the given language
+    public Optional<Product> getProduct(Long id, String languageCode) {
+        int row = id != null ? columns.rowOf(id) : -1;
+        int code = languageCode != null ? columns.languageCode(languageCode) : -1;
+        if (row < 0 || code < 0 || columns.name(row, code) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(columns.product(row, code));
+    }
+
+    // Localized detail: the requested language, then the default language, then any translation
+    public Optional<LocalizedProduct> getLocalizedProduct(Long id, String languageCode) {
+        int row = id != null ? columns.rowOf(id) : -1;
+        if (row < 0) {
+            return Optional.empty();
+        }
+        String requested = languageCode != null ? languageCode : defaultLanguageCode;
+        if (columns.languageCode(requested) < 0) {
+            // Unknown codes are resolved but not cached, so arbitrary input cannot grow the cache
+            return Optional.of(localize(columns.product(row), requested));
+        }
+        return Optional.of(localizedCache.computeIfAbsent(id + ":" + requested,
+                key -> localize(columns.product(row), requested)));
+    }
+
+    LocalizedProduct localize(Product product, String requested) {
+        ProductTranslation requestedTranslation = null;
+        ProductTranslation defaultTranslation = null;
+        for (ProductTranslation translation : product.getTranslations()) {
+            if (translation.getLanguageCode().equals(requested)) {
+                requestedTranslation = translation;
+            } else if (translation.getLanguageCode().equals(defaultLanguageCode)) {
+                defaultTranslation = translation;
+            }
+        }
+        ProductTranslation resolved = requestedTranslation != null ? requestedTranslation : defaultTranslation;
+        if (resolved == null && !product.getTranslations().isEmpty()) {
+            resolved = product.getTranslations().get(0);
+        }
+        return new LocalizedProduct(product, resolved, requested);
+    }
+
+    // Active product count per category id (categories without products are absent)
+    public Map<Long, Long> getCategoryCounts() {
+        return categoryCounts;
+    }
+
+    // Category and brand bitmaps for filtering with facet counts
+    public FacetIndex getFacets() {
+        return facets;
+    }
+
+    // Sorted indexes over the attributes parsed from technical specs
+    public AttributeIndex getAttributes() {
+        return attributes;
+    }
+
+    public int size() {
+        return activeProducts.size();
+    }
+
+    // Rendered product details held outside the heap, when the catalog is stored off heap
+    public Optional<OffHeapCatalogStore> getOffHeapStore() {
+        return Optional.ofNullable(offHeapStore);
+    }
+
+    void attach(OffHeapCatalogStore store) {
+        this.offHeapStore = store;
+    }
+
+    ColumnarCatalog getColumns() {
+        return columns;
+    }
+
+    // Estimated heap use of the columnar catalog against the same products held as entity objects
+    public MemoryReport getMemoryReport() {
+        return new MemoryReport(columns.size(), columns.translationCount(), columns.estimateBytes(),
+                MemoryEstimate.entityGraph(activeProducts), offHeapStore != null ? offHeapStore.getBytes() : 0);
+    }
+
+    // Page of active products in a ProductSort order (a slice of its permutation)
+    public Page<Product> pageInOrder(Pageable pageable, String languageCode, ProductPopularity popularity) {
+        return slice(listingRows(null, pageable, languageCode, popularity), pageable, columns::product);
+    }
+
+    // Page of active product cards in a ProductSort order, read from the columns
+    public Page<ProductCard> pageCardsInOrder(Pageable pageable, String languageCode, ProductPopularity popularity) {
+        return slice(listingRows(null, pageable, languageCode, popularity), pageable, row -> card(row, languageCode));
+    }
+
+    // Page of one category's active products in a ProductSort order
+    public Page<Product> pageCategoryInOrder(Long categoryId, Pageable pageable, String languageCode,
+            ProductPopularity popularity) {
+        return slice(listingRows(categoryId, pageable, languageCode, popularity), pageable, columns::product);
+    }
+
+    // Page of one category's active product cards in a ProductSort order
+    public Page<ProductCard> pageCategoryCardsInOrder(Long categoryId, Pageable pageable, String languageCode,
+            ProductPopularity popularity) {
+        return slice(listingRows(categoryId, pageable, languageCode, popularity), pageable,
+                row -> card(row, languageCode));
+    }
+
+    // Page of some of the snapshot's products (search or filter matches, unknown ids skipped) in a ProductSort
+    // order, by their rank in its permutation; only the page's products are built
+    public Page<Product> pageInOrder(Collection<Long> productIds, Pageable pageable, String languageCode,
+            ProductPopularity popularity) {
+        return slice(matchRows(productIds, pageable, languageCode, popularity), pageable, columns::product);
+    }
+
+    // Page of cards for some of the snapshot's products in a ProductSort order
+    public Page<ProductCard> pageCardsInOrder(Collection<Long> productIds, Pageable pageable, String languageCode,
+            ProductPopularity popularity) {
+        return slice(matchRows(productIds, pageable, languageCode, popularity), pageable,
+                row -> card(row, languageCode));
+    }
+
+    // Card for an active product, read from the columns (empty when unknown)
+    public Optional<ProductCard> getCard(Long id, String languageCode) {
+        int row = id != null ? columns.rowOf(id) : -1;
+        return row >= 0 ? Optional.of(card(row, languageCode)) : Optional.empty();
+    }
+
+    // Cards for a facet filter's matches from the given offset, ascending id
+    public List<ProductCard> getCards(FacetIndex.Result result, int offset, int limit, String languageCode) {
+        int[] rows = result.rows(offset, limit);
+        List<ProductCard> cards = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            cards.add(card(row, languageCode));
+        }
+        return cards;
+    }
+
+    // Card with the name resolved like localized details: requested, then default, then any language
+    private ProductCard card(int row, String languageCode) {
+        int code = columns.languageCode(languageCode != null ? languageCode : defaultLanguageCode);
+        String name = resolvedName(row, code, columns.languageCode(defaultLanguageCode));
+        return new ProductCard(columns.id(row), columns.brand(row), columns.imageUrl(row), columns.categoryId(row),
+                name);
+    }
+
+    // Rows of the active products (of one category when categoryId is set) in the pageable's ProductSort order
+    private int[] listingRows(Long categoryId, Pageable pageable, String languageCode, ProductPopularity popularity) {
+        Ordering ordering = ordering(ProductSort.of(pageable.getSort()), languageCode, popularity);
+        return categoryId != null ? ordering.rowsInCategory(categoryId) : ordering.rows;
+    }
+
+    // Rows of the given products in the pageable's ProductSort order, by their rank in its permutation
+    private int[] matchRows(Collection<Long> productIds, Pageable pageable, String languageCode,
+            ProductPopularity popularity) {
+        Ordering ordering = ordering(ProductSort.of(pageable.getSort()), languageCode, popularity);
+        return productIds.stream().mapToInt(columns::rowOf).filter(row -> row >= 0)
+                .map(row -> ordering.ranks[row]).sorted().distinct().map(rank -> ordering.rows[rank]).toArray();
+    }
+
+    // Up to size active products (of one category when categoryId is set) after the given product in a
+    // ProductSort order, read backwards when descending. Starts at the top without a product, and at the
+    // position the cursor recorded when that product has left the listing since.
+    public Window<Product> scrollInOrder(ProductSort sort, boolean descending, Long categoryId, String languageCode,
+            Long lastId, int position, int size, ProductPopularity popularity) {
+        Ordering ordering = ordering(sort, languageCode, popularity);
+        int[] rows = categoryId != null ? ordering.rowsInCategory(categoryId) : ordering.rows;
+        int from = 0;
+        if (lastId != null) {
+            int last = indexOf(rows, ordering, columns.rowOf(lastId));
+            from = last >= 0 ? (descending ? rows.length - 1 - last : last) + 1 : Math.min(position, rows.length);
+        }
+        int to = Math.min(from + size, rows.length);
+        int[] window = new int[to - from];
+        for (int i = 0; i < window.length; i++) {
+            window[i] = descending ? rows[rows.length - 1 - from - i] : rows[from + i];
+        }
+        int start = from;
+        return Window.from(new ArrayList<>(new ProductRows(columns, window)),
+                index -> ScrollPosition.offset(start + index), to < rows.length);
+    }
+
+    // Index of a row among rows kept in permutation order, or -1 when it is not one of them
+    private static int indexOf(int[] rows, Ordering ordering, int row) {
+        if (row < 0) {
+            return -1;
+        }
+        int low = 0;
+        int high = rows.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int rank = ordering.ranks[rows[mid]];
+            if (rank == ordering.ranks[row]) {
+                return mid;
+            }
+            if (rank < ordering.ranks[row]) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return -1;
+    }
+
+    // Build every permutation a request can ask for (names in each translated language and the default one),
+    // so listings never sort while a shopper waits
+    void prepareOrderings(ProductPopularity popularity) {
+        for (ProductSort sort : ProductSort.values()) {
+            if (sort == ProductSort.NAME) {
+                ordering(sort, defaultLanguageCode, popularity);
+                columns.languages().forEach(language -> ordering(ProductSort.NAME, language, popularity));
+            } else {
+                ordering(sort, null, popularity);
+            }
+        }
+    }
+
+    // Rank by the current quote counts and swap the new popularity permutation in; returns the
+    // ProductPopularity version it reflects
+    long rankByPopularity(ProductPopularity popularity) {
+        return rank(popularity).popularityVersion;
+    }
+
+    // ProductPopularity version of the popularity permutation, or -1 before it is first ranked
+    long getPopularityVersion() {
+        Ranking current = ranking;
+        return current != null ? current.popularityVersion : -1;
+    }
+
+    private Ranking rank(ProductPopularity popularity) {
+        // Read before the counts, so a quote counted meanwhile leaves the ranking stale rather than marked fresh
+        long version = popularity.getVersion();
+        Ranking ranked = new Ranking(new Ordering(sortedRows(ProductSort.POPULARITY, null, popularity)), version);
+        ranking = ranked;
+        return ranked;
+    }
+
+    private Ordering ordering(ProductSort sort, String languageCode, ProductPopularity popularity) {
+        if (sort == ProductSort.POPULARITY) {
+            // Re-ranked in the background by ProductCatalog; ranked here only when never prepared
+            Ranking current = ranking;
+            return (current != null ? current : rank(popularity)).ordering;
+        }
+        // Languages without translations sort by the default language, so input cannot grow the map
+        String key = sort == ProductSort.NAME
+                ? "NAME:" + (columns.languageCode(languageCode) >= 0 ? languageCode : defaultLanguageCode)
+                : sort.name();
+        return orderings.computeIfAbsent(key, ignored -> new Ordering(sortedRows(sort, key, popularity)));
+    }
+
+    // An ordering of another snapshot carried over: its kept rows (mapped to this snapshot's rows, -1 for
+    // dropped ones) in the same order, with the inserted rows placed by binary search
+    private Ordering carryOver(Ordering previous, int[] rowMap, int[] inserted, Comparator<Integer> comparator) {
+        Comparator<Integer> order = comparator.thenComparing(Comparator.naturalOrder());
+        int[] kept = new int[columns.size() - inserted.length];
+        int size = 0;
+        for (int row : previous.rows) {
+            if (rowMap[row] >= 0) {
+                kept[size++] = rowMap[row];
+            }
+        }
+        Integer[] additions = Arrays.stream(inserted).boxed().sorted(order).toArray(Integer[]::new);
+        int[] rows = new int[columns.size()];
+        int from = 0;
+        int out = 0;
+        for (Integer addition : additions) {
+            int low = from;
+            int high = kept.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (order.compare(kept[mid], addition) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            System.arraycopy(kept, from, rows, out, low - from);
+            out += low - from;
+            rows[out++] = addition;
+            from = low;
+        }
+        System.arraycopy(kept, from, rows, out, kept.length - from);
+        return new Ordering(rows);
+    }
+
+    // The sort's natural order of two rows, reading only those rows (for placing a few rows into an ordering)
+    private Comparator<Integer> rowComparator(ProductSort sort, String key, ProductPopularity popularity) {
+        switch (sort) {
+            case NAME:
+                String language = key.substring("NAME:".length());
+                int code = columns.languageCode(language);
+                int defaultCode = columns.languageCode(defaultLanguageCode);
+                Collator names = Collator.getInstance(Locale.forLanguageTag(language));
+                return Comparator.comparing(row -> resolvedName(row, code, defaultCode),
+                        Comparator.nullsLast(names::compare));
+            case BRAND:
+                Collator brands = Collator.getInstance(Locale.ROOT);
+                return Comparator.comparing(columns::brand, Comparator.nullsLast(brands::compare));
+            case POPULARITY:
+                return (a, b) -> Long.compare(popularity.getQuoteCount(columns.id(b)),
+                        popularity.getQuoteCount(columns.id(a)));
+            default:
+                return columnOrder(sort);
+        }
+    }
+
+    // Orders read straight from the columns
+    private Comparator<Integer> columnOrder(ProductSort sort) {
+        switch (sort) {
+            case NEWEST:
+                return columns.newestFirst();
+            case UPDATED:
+                return columns.recentlyUpdatedFirst();
+            case CATEGORY:
+                return columns.byCategory();
+            default:
+                // Rows are in id order
+                return (a, b) -> 0;
+        }
+    }
+
+    // Name a row shows and sorts by in a language: its own, the default language's, then any translation's
+    private String resolvedName(int row, int code, int defaultCode) {
+        String name = code >= 0 ? columns.name(row, code) : null;
+        if (name == null && defaultCode >= 0) {
+            name = columns.name(row, defaultCode);
+        }
+        return name != null ? name : columns.anyName(row);
+    }
+
+    // Every row in the sort's natural order, ties by id
+    private int[] sortedRows(ProductSort sort, String key, ProductPopularity popularity) {
+        Comparator<Integer> comparator;
+        switch (sort) {
+            case NAME:
+                String language = key.substring("NAME:".length());
+                int code = columns.languageCode(language);
+                int defaultCode = columns.languageCode(defaultLanguageCode);
+                String[] names = new String[columns.size()];
+                for (int row = 0; row < names.length; row++) {
+                    names[row] = resolvedName(row, code, defaultCode);
+                }
+                comparator = collationOrder(names, Locale.forLanguageTag(language));
+                break;
+            case BRAND:
+                String[] brands = new String[columns.size()];
+                for (int row = 0; row < brands.length; row++) {
+                    brands[row] = columns.brand(row);
+                }
+                comparator = collationOrder(brands, Locale.ROOT);
+                break;
+            case POPULARITY:
+                long[] quotes = new long[columns.size()];
+                for (int row = 0; row < quotes.length; row++) {
+                    quotes[row] = popularity.getQuoteCount(columns.id(row));
+                }
+                comparator = (a, b) -> Long.compare(quotes[b], quotes[a]);
+                break;
+            default:
+                comparator = columnOrder(sort);
+        }
+        // Rows are in id order, so the row number breaks ties by id
+        Integer[] rows = new Integer[columns.size()];
+        for (int row = 0; row < rows.length; row++) {
+            rows[row] = row;
+        }
+        Arrays.sort(rows, comparator.thenComparing(Comparator.naturalOrder()));
+        return Arrays.stream(rows).mapToInt(Integer::intValue).toArray();
+    }
+
+    // Locale-aware order of the rows' values, nulls last
+    private static Comparator<Integer> collationOrder(String[] values, Locale locale) {
+        Collator collator = Collator.getInstance(locale);
+        CollationKey[] keys = new CollationKey[values.length];
+        for (int row = 0; row < values.length; row++) {
+            keys[row] = values[row] != null ? collator.getCollationKey(values[row]) : null;
+        }
+        return (a, b) -> keys[a] == null || keys[b] == null
+                ? Boolean.compare(keys[a] == null, keys[b] == null)
+                : keys[a].compareTo(keys[b]);
+    }
+
+    private static boolean isDescending(Pageable pageable) {
+        return pageable.getSort().iterator().next().isDescending();
+    }
+
+    // Page of the rows, read backwards when descending; only the page's rows are built
+    private <T> Page<T> slice(int[] rows, Pageable pageable, IntFunction<T> build) {
+        boolean descending = isDescending(pageable);
+        int total = rows.length;
+        int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), total) : 0;
+        int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), total) : total;
+        List<T> page = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            page.add(build.apply(descending ? rows[total - 1 - i] : rows[i]));
+        }
+        return new PageImpl<>(page, pageable, total);
+    }
+
+    private static Product copyOf(Product source, List<ProductTranslation> translations) {
+        Product copy = copyFields(source);
+        List<ProductTranslation> translationCopies = new ArrayList<>(translations.size());
+        for (ProductTranslation translation : translations) {
+            translationCopies.add(copyOf(translation, copy));
+        }
+        translationCopies.sort(Comparator.comparing(ProductTranslation::getId,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        copy.setTranslations(Collections.unmodifiableList(translationCopies));
+        return copy;
+    }
+
+    private static Product copyFields(Product source) {
+        Product copy = new Product(source.getCategoryId(), source.getBrand(), source.getImageUrl(),
+                source.getTechnicalSpecs(), source.getUsageInfo(), source.getIsActive());
+        copy.setId(source.getId());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        return copy;
+    }
+
+    private static ProductTranslation copyOf(ProductTranslation source, Product owner) {
+        ProductTranslation copy = new ProductTranslation(source.getProductId(), source.getLanguageCode(),
+                source.getName(), source.getDescription());
+        copy.setId(source.getId());
+        copy.setProduct(owner);
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        return copy;
+    }
+
+    /**
+     * Estimated heap bytes of the snapshot's columns next to the entity graph
+     * they replace, and the direct buffer bytes of an off-heap store.
+     */
+    public static final class MemoryReport {
+        private final int products;
+        private final int translations;
+        private final long columnarBytes;
+        private final long entityGraphBytes;
+        private final long offHeapBytes;
+
+        private MemoryReport(int products, int translations, long columnarBytes, long entityGraphBytes,
+                long offHeapBytes) {
+            this.products = products;
+            this.translations = translations;
+            this.columnarBytes = columnarBytes;
+            this.entityGraphBytes = entityGraphBytes;
+            this.offHeapBytes = offHeapBytes;
+        }
+
+        public int getProducts() {
+            return products;
+        }
+
+        public int getTranslations() {
+            return translations;
+        }
+
+        public long getColumnarBytes() {
+            return columnarBytes;
+        }
+
+        public long getEntityGraphBytes() {
+            return entityGraphBytes;
+        }
+
+        // Rendered details in direct buffers (0 unless stored off heap)
+        public long getOffHeapBytes() {
+            return offHeapBytes;
+        }
+
+        // How many times smaller the columns are than the entity graph
+        public double getRatio() {
+            return columnarBytes == 0 ? 0 : (double) entityGraphBytes / columnarBytes;
+        }
+    }
+
+    // One sort order: the rows in order, each row's position in it, and per-category subsequences built on demand
+    private record Ranking(Ordering ordering, long popularityVersion) {
+    }
+
+    private final class Ordering {
+        private final int[] rows;
+        private final int[] ranks;
+        private final Map<Long, int[]> byCategory = new ConcurrentHashMap<>();
+
+        private Ordering(int[] rows) {
+            this.rows = rows;
+            this.ranks = new int[rows.length];
+            for (int rank = 0; rank < rows.length; rank++) {
+                ranks[rows[rank]] = rank;
+            }
+        }
+
+        private int[] rowsInCategory(Long categoryId) {
+            if (!productsByCategory.containsKey(categoryId)) {
+                return new int[0];
+            }
+            return byCategory.computeIfAbsent(categoryId, key -> Arrays.stream(rows)
+                    .filter(row -> Objects.equals(columns.categoryId(row), categoryId)).toArray());
+        }
+    }
+}
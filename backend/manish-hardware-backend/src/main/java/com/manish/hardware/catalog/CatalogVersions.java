@@ -0,0 +1,99 @@
+package com.manish.hardware.catalog;
+
+import com.manish.hardware.catalog.CatalogChangedEvent.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory version counters for catalog resources, used to answer conditional
+ * GETs without touching the database. Every committed change takes the next
+ * value of a global counter and stamps it on its resource (and on the product
+ * it touched). Tags include the boot time, so counters that restart at zero
+ * never collide with tags handed out by a previous process.
+ */
+@Component
+public class CatalogVersions {
+
+    private final long bootEpoch = System.currentTimeMillis();
+    private final AtomicLong global = new AtomicLong();
+    private final Map<Resource, Stamp> resourceStamps = new EnumMap<>(Resource.class);
+    private final Map<Long, Stamp> productStamps = new ConcurrentHashMap<>();
+
+    public CatalogVersions() {
+        for (Resource resource : Resource.values()) {
+            resourceStamps.put(resource, new Stamp(0L, bootEpoch));
+        }
+    }
+
+    // Stamp the changed resource once the write has committed (after the product snapshot was rebuilt)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        Stamp stamp = new Stamp(global.incrementAndGet(), System.currentTimeMillis());
+        synchronized (resourceStamps) {
+            resourceStamps.put(event.getResource(), stamp);
+        }
+        if (event.getProductId() != null) {
+            productStamps.put(event.getProductId(), stamp);
+        }
+    }
+
+    // Stamp popularity once a quote has committed and been counted (search relevance reads live counts)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuoteSubmitted(QuoteSubmittedEvent event) {
+        onCatalogChanged(CatalogChangedEvent.of(Resource.POPULARITY));
+    }
+
+    // Validator for responses built from the given resources
+    public Stamp forResources(Resource... resources) {
+        Stamp combined = new Stamp(0L, bootEpoch);
+        synchronized (resourceStamps) {
+            for (Resource resource : resources) {
+                combined = combined.max(resourceStamps.get(resource));
+            }
+        }
+        return combined;
+    }
+
+    // Validator for a single product (its own writes plus language changes that alter its fallback)
+    public Stamp forProduct(Long productId) {
+        Stamp languages = forResources(Resource.LANGUAGE);
+        Stamp product = productStamps.get(productId);
+        return product != null ? languages.max(product) : languages;
+    }
+
+    // Strong entity tag for a stamp, unique across restarts
+    public String etag(Stamp stamp) {
+        return "\"" + Long.toString(bootEpoch, 36) + "-" + stamp.getVersion() + "\"";
+    }
+
+    /**
+     * Version and last-modified time of a committed change.
+     */
+    public static final class Stamp {
+
+        private final long version;
+        private final long lastModified;
+
+        Stamp(long version, long lastModified) {
+            this.version = version;
+            this.lastModified = lastModified;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        Stamp max(Stamp other) {
+            return other.version > version ? other : this;
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package com.manish.hardware.catalog;
+
+import com.manish.hardware.model.Product;
+import com.manish.hardware.model.ProductTranslation;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only, column-per-field copy of the active products, one row per
+ * product in ascending id order. Ids, category ids and timestamps are
+ * primitive {@code long} columns; brands and language codes are stored once
+ * in a dictionary and referenced by {@code int} code; every other string is
+ * deduplicated, so repeated specs or descriptions share one instance.
+ * Translations are laid out the same way, grouped by product: the
+ * translations of row {@code r} are {@code translationStart[r]} up to
+ * {@code translationStart[r + 1]}.
+ * <p>
+ * {@link Product} and {@link ProductTranslation} objects are built on demand
+ * for the rows a request actually returns and are not retained.
+ */
+final class ColumnarCatalog {
+
+    // Stands for null in the long columns
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final long[] ids;
+    private final long[] categoryIds;
+    private final int[] brandCodes;
+    private final String[] brands;
+    private final String[] imageUrls;
+    private final String[] technicalSpecs;
+    private final String[] usageInfos;
+    private final long[] createdAt;
+    private final long[] updatedAt;
+
+    private final int[] translationStart;
+    private final long[] translationIds;
+    private final int[] translationLanguages;
+    private final String[] languages;
+    private final String[] names;
+    private final String[] descriptions;
+    private final long[] translationCreatedAt;
+    private final long[] translationUpdatedAt;
+
+    // Products must be sorted by id, each with its translations sorted
+    ColumnarCatalog(List<Product> products) {
+        this(null, products, Set.of());
+    }
+
+    // The previous rows, less those of the replaced ids, merged with the products (sorted by id, each with its
+    // translations sorted; their ids must be among the replaced ones). Kept rows are copied column by column,
+    // so no product is rebuilt for them.
+    ColumnarCatalog(ColumnarCatalog previous, List<Product> products, Set<Long> replacedIds) {
+        int size = products.size();
+        int translationCount = 0;
+        for (Product product : products) {
+            translationCount += product.getTranslations().size();
+        }
+        int previousSize = previous != null ? previous.size() : 0;
+        for (int row = 0; row < previousSize; row++) {
+            if (!replacedIds.contains(previous.ids[row])) {
+                size++;
+                translationCount += previous.translationStart[row + 1] - previous.translationStart[row];
+            }
+        }
+        Map<String, String> strings = new HashMap<>();
+        Dictionary brandDictionary = new Dictionary();
+        Dictionary languageDictionary = new Dictionary();
+
+        ids = new long[size];
+        categoryIds = new long[size];
+        brandCodes = new int[size];
+        imageUrls = new String[size];
+        technicalSpecs = new String[size];
+        usageInfos = new String[size];
+        createdAt = new long[size];
+        updatedAt = new long[size];
+        translationStart = new int[size + 1];
+        translationIds = new long[translationCount];
+        translationLanguages = new int[translationCount];
+        names = new String[translationCount];
+        descriptions = new String[translationCount];
+        translationCreatedAt = new long[translationCount];
+        translationUpdatedAt = new long[translationCount];
+
+        int t = 0;
+        int kept = 0;
+        int added = 0;
+        for (int row = 0; row < size; row++) {
+            while (kept < previousSize && replacedIds.contains(previous.ids[kept])) {
+                kept++;
+            }
+            translationStart[row] = t;
+            if (added < products.size()
+                    && (kept == previousSize || products.get(added).getId() < previous.ids[kept])) {
+                t = put(row, t, products.get(added++), strings, brandDictionary, languageDictionary);
+            } else {
+                t = copy(row, t, previous, kept++, brandDictionary, languageDictionary);
+            }
+        }
+        translationStart[size] = t;
+        brands = brandDictionary.values();
+        languages = languageDictionary.values();
+    }
+
+    // Fill a row from a product; returns the next translation index
+    private int put(int row, int t, Product product, Map<String, String> strings, Dictionary brandDictionary,
+            Dictionary languageDictionary) {
+        ids[row] = product.getId();
+        categoryIds[row] = product.getCategoryId() != null ? product.getCategoryId() : NONE;
+        brandCodes[row] = brandDictionary.code(product.getBrand());
+        imageUrls[row] = dedupe(strings, product.getImageUrl());
+        technicalSpecs[row] = dedupe(strings, product.getTechnicalSpecs());
+        usageInfos[row] = dedupe(strings, product.getUsageInfo());
+        createdAt[row] = encode(product.getCreatedAt());
+        updatedAt[row] = encode(product.getUpdatedAt());
+        for (ProductTranslation translation : product.getTranslations()) {
+            translationIds[t] = translation.getId() != null ? translation.getId() : NONE;
+            translationLanguages[t] = languageDictionary.code(translation.getLanguageCode());
+            names[t] = dedupe(strings, translation.getName());
+            descriptions[t] = dedupe(strings, translation.getDescription());
+            translationCreatedAt[t] = encode(translation.getCreatedAt());
+            translationUpdatedAt[t] = encode(translation.getUpdatedAt());
+            t++;
+        }
+        return t;
+    }
+
+    // Fill a row from a row of another catalog (its strings are already deduplicated); returns the next
+    // translation index
+    private int copy(int row, int t, ColumnarCatalog from, int fromRow, Dictionary brandDictionary,
+            Dictionary languageDictionary) {
+        ids[row] = from.ids[fromRow];
+        categoryIds[row] = from.categoryIds[fromRow];
+        brandCodes[row] = brandDictionary.code(from.brand(fromRow));
+        imageUrls[row] = from.imageUrls[fromRow];
+        technicalSpecs[row] = from.technicalSpecs[fromRow];
+        usageInfos[row] = from.usageInfos[fromRow];
+        createdAt[row] = from.createdAt[fromRow];
+        updatedAt[row] = from.updatedAt[fromRow];
+        for (int source = from.translationStart[fromRow]; source < from.translationStart[fromRow + 1]; source++) {
+            translationIds[t] = from.translationIds[source];
+            translationLanguages[t] = languageDictionary.code(from.languages[from.translationLanguages[source]]);
+            names[t] = from.names[source];
+            descriptions[t] = from.descriptions[source];
+            translationCreatedAt[t] = from.translationCreatedAt[source];
+            translationUpdatedAt[t] = from.translationUpdatedAt[source];
+            t++;
+        }
+        return t;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    // Row of a product id, or -1
+    int rowOf(long id) {
+        int row = Arrays.binarySearch(ids, id);
+        return row >= 0 ? row : -1;
+    }
+
+    long id(int row) {
+        return ids[row];
+    }
+
+    Long categoryId(int row) {
+        return categoryIds[row] != NONE ? categoryIds[row] : null;
+    }
+
+    String brand(int row) {
+        return brandCodes[row] >= 0 ? brands[brandCodes[row]] : null;
+    }
+
+    String imageUrl(int row) {
+        return imageUrls[row];
+    }
+
+    LocalDateTime createdAt(int row) {
+        return decode(createdAt[row]);
+    }
+
+    LocalDateTime updatedAt(int row) {
+        return decode(updatedAt[row]);
+    }
+
+    // Dictionary code of a language, or -1 if no product has a translation in it
+    int languageCode(String languageCode) {
+        for (int code = 0; code < languages.length; code++) {
+            if (languages[code].equals(languageCode)) {
+                return code;
+            }
+        }
+        return -1;
+    }
+
+    // Language codes with at least one translation
+    List<String> languages() {
+        return List.of(languages);
+    }
+
+    // Name of the row's translation in a language (by dictionary code), or null
+    String name(int row, int languageCode) {
+        for (int t = translationStart[row]; t < translationStart[row + 1]; t++) {
+            if (translationLanguages[t] == languageCode) {
+                return names[t];
+            }
+        }
+        return null;
+    }
+
+    // Name of the row's first translation, or null when it has none
+    String anyName(int row) {
+        return translationStart[row] < translationStart[row + 1] ? names[translationStart[row]] : null;
+    }
+
+    // Detached product with all of its translations
+    Product product(int row) {
+        return product(row, -1);
+    }
+
+    // Detached product carrying only its translation in the language (by dictionary code; -1 keeps all)
+    Product product(int row, int languageCode) {
+        Product product = new Product(categoryId(row), brand(row), imageUrls[row], technicalSpecs[row],
+                usageInfos[row], true);
+        product.setId(ids[row]);
+        product.setCreatedAt(createdAt(row));
+        product.setUpdatedAt(updatedAt(row));
+        List<ProductTranslation> translations = new ArrayList<>(translationStart[row + 1] - translationStart[row]);
+        for (int t = translationStart[row]; t < translationStart[row + 1]; t++) {
+            if (languageCode >= 0 && translationLanguages[t] != languageCode) {
+                continue;
+            }
+            ProductTranslation translation = new ProductTranslation(ids[row], languages[translationLanguages[t]],
+                    names[t], descriptions[t]);
+            translation.setId(translationIds[t] != NONE ? translationIds[t] : null);
+            translation.setProduct(product);
+            translation.setCreatedAt(decode(translationCreatedAt[t]));
+            translation.setUpdatedAt(decode(translationUpdatedAt[t]));
+            translations.add(translation);
+        }
+        product.setTranslations(Collections.unmodifiableList(translations));
+        return product;
+    }
+
+    // Rows by category id, uncategorized rows last
+    Comparator<Integer> byCategory() {
+        return (a, b) -> compareNullsLast(categoryIds[a], categoryIds[b]);
+    }
+
+    // Rows by creation time, newest first, undated rows last
+    Comparator<Integer> newestFirst() {
+        return latestFirst(createdAt);
+    }
+
+    // Rows by last update, most recently updated first, undated rows last
+    Comparator<Integer> recentlyUpdatedFirst() {
+        return latestFirst(updatedAt);
+    }
+
+    private static Comparator<Integer> latestFirst(long[] times) {
+        return (a, b) -> times[a] == NONE || times[b] == NONE
+                ? Boolean.compare(times[a] == NONE, times[b] == NONE)
+                : Long.compare(times[b], times[a]);
+    }
+
+    // Estimated heap bytes of these columns and the distinct strings they reference
+    long estimateBytes() {
+        int translations = translationIds.length;
+        long bytes = MemoryEstimate.object(17);
+        bytes += 4 * MemoryEstimate.longArray(ids.length) + 3 * MemoryEstimate.longArray(translations);
+        bytes += MemoryEstimate.intArray(ids.length) + MemoryEstimate.intArray(ids.length + 1)
+                + MemoryEstimate.intArray(translations);
+        bytes += 3 * MemoryEstimate.referenceArray(ids.length) + 2 * MemoryEstimate.referenceArray(translations);
+        bytes += MemoryEstimate.referenceArray(brands.length) + MemoryEstimate.referenceArray(languages.length);
+        Set<String> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        Collections.addAll(distinct, brands);
+        Collections.addAll(distinct, languages);
+        Collections.addAll(distinct, imageUrls);
+        Collections.addAll(distinct, technicalSpecs);
+        Collections.addAll(distinct, usageInfos);
+        Collections.addAll(distinct, names);
+        Collections.addAll(distinct, descriptions);
+        for (String string : distinct) {
+            bytes += MemoryEstimate.string(string);
+        }
+        return bytes;
+    }
+
+    int translationCount() {
+        return translationIds.length;
+    }
+
+    private static int compareNullsLast(long a, long b) {
+        if (a == NONE || b == NONE) {
+            return Boolean.compare(a == NONE, b == NONE);
+        }
+        return Long.compare(a, b);
+    }
+
+    private static String dedupe(Map<String, String> strings, String value) {
+        return value == null ? null : strings.computeIfAbsent(value, key -> key);
+    }
+
+    // Nanoseconds since the epoch, reading the local date-time as if it were UTC (lossless until 2262)
+    private static long encode(LocalDateTime value) {
+        if (value == null) {
+            return NONE;
+        }
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + value.getNano();
+    }
+
+    private static LocalDateTime decode(long value) {
+        if (value == NONE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(value, 1_000_000_000L),
+                (int) Math.floorMod(value, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    // Assigns each distinct string a code in order of first appearance (null is -1)
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        private int code(String value) {
+            if (value == null) {
+                return -1;
+            }
+            return codes.computeIfAbsent(value, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+
+        private String[] values() {
+            return values.toArray(new String[0]);
+        }
+    }
+}
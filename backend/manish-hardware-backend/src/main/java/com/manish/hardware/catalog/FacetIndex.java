@@ -0,0 +1,138 @@
+package com.manish.hardware.catalog;
+
+import com.manish.hardware.model.Product;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bitmap indexes over the products of a {@link CatalogSnapshot}. Bit i stands
+ * for the snapshot's i-th active product (ascending id), so every bitmap
+ * takes one bit per product at most. Filters are answered with OR within a
+ * facet and AND across facets, and facet counts are bitmap cardinalities.
+ * The snapshot only holds active products, so the active flag needs no
+ * bitmap of its own: every bit is an active product.
+ */
+public final class FacetIndex {
+
+    private final List<Product> products;
+    private final BitSet all;
+    private final Map<Long, BitSet> byCategory = new HashMap<>();
+    private final Map<String, BitSet> byBrand = new HashMap<>();
+
+    // Built from the columns; products is the same rows as a list, read only for result pages
+    FacetIndex(ColumnarCatalog columns, List<Product> products) {
+        this.products = products;
+        this.all = new BitSet(columns.size());
+        all.set(0, columns.size());
+        for (int position = 0; position < columns.size(); position++) {
+            Long categoryId = columns.categoryId(position);
+            String brand = columns.brand(position);
+            if (categoryId != null) {
+                byCategory.computeIfAbsent(categoryId, key -> new BitSet()).set(position);
+            }
+            if (brand != null && !brand.isBlank()) {
+                byBrand.computeIfAbsent(brand, key -> new BitSet()).set(position);
+            }
+        }
+    }
+
+    // Products in any of the categories and of any of the brands (null or empty means no filter on that facet)
+    public Result filter(Collection<Long> categoryIds, Collection<String> brands) {
+        BitSet categoryMask = union(byCategory, categoryIds);
+        BitSet brandMask = union(byBrand, brands);
+        BitSet matches = (BitSet) categoryMask.clone();
+        matches.and(brandMask);
+        // Each facet is counted under the other facet's filter only, so selecting a brand keeps its siblings visible
+        return new Result(matches, counts(byCategory, brandMask), counts(byBrand, categoryMask));
+    }
+
+    private <K> BitSet union(Map<K, BitSet> bitmaps, Collection<K> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return all;
+        }
+        BitSet union = new BitSet(products.size());
+        for (K key : keys) {
+            BitSet bitmap = bitmaps.get(key);
+            if (bitmap != null) {
+                union.or(bitmap);
+            }
+        }
+        return union;
+    }
+
+    // Non-zero counts of each value within the mask, largest first
+    private static <K extends Comparable<K>> Map<K, Long> counts(Map<K, BitSet> bitmaps, BitSet mask) {
+        List<Map.Entry<K, Long>> counts = new ArrayList<>();
+        for (Map.Entry<K, BitSet> entry : bitmaps.entrySet()) {
+            if (entry.getValue().intersects(mask)) {
+                BitSet intersection = (BitSet) entry.getValue().clone();
+                intersection.and(mask);
+                counts.add(Map.entry(entry.getKey(), (long) intersection.cardinality()));
+            }
+        }
+        counts.sort(Map.Entry.<K, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        Map<K, Long> sorted = new LinkedHashMap<>();
+        for (Map.Entry<K, Long> entry : counts) {
+            sorted.put(entry.getKey(), entry.getValue());
+        }
+        return Collections.unmodifiableMap(sorted);
+    }
+
+    /**
+     * Matching products of a filter and the facet counts around it.
+     */
+    public final class Result {
+        private final BitSet matches;
+        private final Map<Long, Long> categoryCounts;
+        private final Map<String, Long> brandCounts;
+
+        private Result(BitSet matches, Map<Long, Long> categoryCounts, Map<String, Long> brandCounts) {
+            this.matches = matches;
+            this.categoryCounts = categoryCounts;
+            this.brandCounts = brandCounts;
+        }
+
+        public int getTotal() {
+            return matches.cardinality();
+        }
+
+        // Matching products from the given offset, ascending id
+        public List<Product> getProducts(int offset, int limit) {
+            int[] rows = rows(offset, limit);
+            List<Product> page = new ArrayList<>(rows.length);
+            for (int row : rows) {
+                page.add(products.get(row));
+            }
+            return page;
+        }
+
+        // Snapshot rows of the matching products from the given offset, ascending id
+        int[] rows(int offset, int limit) {
+            int[] page = new int[Math.max(0, Math.min(limit, matches.cardinality() - offset))];
+            int size = 0;
+            int skipped = 0;
+            for (int position = matches.nextSetBit(0); position >= 0 && size < page.length;
+                    position = matches.nextSetBit(position + 1)) {
+                if (skipped++ >= offset) {
+                    page[size++] = position;
+                }
+            }
+            return page;
+        }
+
+        public Map<Long, Long> getCategoryCounts() {
+            return categoryCounts;
+        }
+
+        public Map<String, Long> getBrandCounts() {
+            return brandCounts;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.manish.hardware.catalog;
+
+import com.manish.hardware.model.Product;
+import com.manish.hardware.model.ProductTranslation;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Heap size estimates for a 64-bit JVM with compressed references (the
+ * default below 32 GB): 12-byte object headers, 16-byte array headers,
+ * 4-byte references, 8-byte alignment, and compact strings (one byte per
+ * character unless a character needs two).
+ */
+final class MemoryEstimate {
+
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    // Boxed Long, LocalDateTime with its LocalDate and LocalTime, ArrayList
+    private static final long BOXED_LONG = 16;
+    private static final long LOCAL_DATE_TIME = 24 + 24 + 24;
+    private static final long ARRAY_LIST = 24;
+
+    private MemoryEstimate() {
+    }
+
+    // Object with the given number of reference or int fields
+    static long object(int fields) {
+        return align(OBJECT_HEADER + (long) fields * REFERENCE);
+    }
+
+    static long longArray(int length) {
+        return align(ARRAY_HEADER + 8L * length);
+    }
+
+    static long intArray(int length) {
+        return align(ARRAY_HEADER + 4L * length);
+    }
+
+    static long referenceArray(int length) {
+        return align(ARRAY_HEADER + (long) REFERENCE * length);
+    }
+
+    // String object plus its byte array; 0 for null
+    static long string(String value) {
+        if (value == null) {
+            return 0;
+        }
+        boolean latin1 = value.chars().allMatch(c -> c < 256);
+        return align(24) + align(ARRAY_HEADER + (long) value.length() * (latin1 ? 1 : 2));
+    }
+
+    // The same products held as entity objects, the way Hibernate loads them: every row owns its boxed ids,
+    // timestamps and strings (brands and language codes included), and a list of translation entities
+    static long entityGraph(Collection<Product> products) {
+        long bytes = 0;
+        for (Product product : products) {
+            bytes += object(10) + boxedLong(product.getId()) + boxedLong(product.getCategoryId());
+            bytes += string(product.getBrand()) + string(product.getImageUrl()) + string(product.getTechnicalSpecs())
+                    + string(product.getUsageInfo());
+            bytes += dateTime(product.getCreatedAt()) + dateTime(product.getUpdatedAt());
+            bytes += ARRAY_LIST + referenceArray(product.getTranslations().size());
+            for (ProductTranslation translation : product.getTranslations()) {
+                bytes += object(8) + boxedLong(translation.getId()) + boxedLong(translation.getProductId());
+                bytes += string(translation.getLanguageCode()) + string(translation.getName())
+                        + string(translation.getDescription());
+                bytes += dateTime(translation.getCreatedAt()) + dateTime(translation.getUpdatedAt());
+            }
+        }
+        return bytes;
+    }
+
+    // Values -128 to 127 come from the Long cache
+    private static long boxedLong(Long value) {
+        return value == null || (value >= -128 && value <= 127) ? 0 : BOXED_LONG;
+    }
+
+    private static long dateTime(LocalDateTime value) {
+        return value == null ? 0 : LOCAL_DATE_TIME;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
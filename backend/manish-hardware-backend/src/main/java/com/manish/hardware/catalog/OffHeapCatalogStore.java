@@ -0,0 +1,217 @@
+package com.manish.hardware.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The JSON of every product detail in a {@link CatalogSnapshot}, rendered
+ * into direct {@link ByteBuffer}s outside the Java heap. Each product has one
+ * slot for its full detail (all translations) and one per language for its
+ * localized detail. The heap index is three {@code int} arrays addressed by
+ * snapshot row and slot, so the bytes of a detail are found without a map
+ * lookup or any object per product, and are copied to the response as they
+ * are. This is in addition to the snapshot, not instead of it: lists, search
+ * and filters still read the columnar snapshot on the heap.
+ * <p>
+ * Buffers are append-only and shared by the stores of successive snapshots.
+ * A write re-renders only the changed products ({@link #update}) and appends
+ * them; the superseded bytes stay in place for readers of older stores until
+ * they outweigh the live ones, when the next store is built into fresh
+ * buffers and the old ones are released with the last store using them.
+ */
+public final class OffHeapCatalogStore {
+
+    private final CatalogSnapshot snapshot;
+    private final Arena arena;
+    private final int slotsPerRow;
+    private final int[] chunkOf;
+    private final int[] positionOf;
+    private final int[] lengths;
+    private final long bytes;
+
+    private OffHeapCatalogStore(CatalogSnapshot snapshot, Arena arena, int slotsPerRow, int[] chunkOf,
+            int[] positionOf, int[] lengths, long bytes) {
+        this.snapshot = snapshot;
+        this.arena = arena;
+        this.slotsPerRow = slotsPerRow;
+        this.chunkOf = chunkOf;
+        this.positionOf = positionOf;
+        this.lengths = lengths;
+        this.bytes = bytes;
+    }
+
+    // Render every product of the snapshot into fresh buffers, with the mapper used for responses
+    public static OffHeapCatalogStore build(CatalogSnapshot snapshot, ObjectMapper objectMapper, int chunkBytes) {
+        return render(snapshot, null, new Arena(chunkBytes), List.of(), objectMapper);
+    }
+
+    // Store for the next snapshot that renders only the changed (and new) products and reuses the bytes of the
+    // rest; empty when languages changed or superseded bytes outweigh live ones, so a full build is due
+    public Optional<OffHeapCatalogStore> update(CatalogSnapshot next, Collection<Long> changedProductIds,
+            ObjectMapper objectMapper) {
+        if (!next.getColumns().languages().equals(snapshot.getColumns().languages())
+                || !Objects.equals(next.getDefaultLanguageCode(), snapshot.getDefaultLanguageCode())
+                || arena.used() > 2 * bytes + arena.chunkBytes) {
+            return Optional.empty();
+        }
+        return Optional.of(render(next, this, arena, changedProductIds, objectMapper));
+    }
+
+    private static OffHeapCatalogStore render(CatalogSnapshot snapshot, OffHeapCatalogStore previous, Arena arena,
+            Collection<Long> changedProductIds, ObjectMapper objectMapper) {
+        ColumnarCatalog columns = snapshot.getColumns();
+        List<String> languages = columns.languages();
+        int slotsPerRow = 1 + languages.size();
+        int slots = Math.multiplyExact(columns.size(), slotsPerRow);
+        int[] chunkOf = new int[slots];
+        int[] positionOf = new int[slots];
+        int[] lengths = new int[slots];
+        long bytes = 0;
+        try {
+            for (int row = 0; row < columns.size(); row++) {
+                long id = columns.id(row);
+                int previousRow = previous != null && !changedProductIds.contains(id)
+                        ? previous.snapshot.getColumns().rowOf(id) : -1;
+                for (int slot = 0; slot < slotsPerRow; slot++) {
+                    int index = row * slotsPerRow + slot;
+                    if (previousRow >= 0) {
+                        int from = previousRow * slotsPerRow + slot;
+                        chunkOf[index] = previous.chunkOf[from];
+                        positionOf[index] = previous.positionOf[from];
+                        lengths[index] = previous.lengths[from];
+                    } else {
+                        Object detail = slot == 0 ? columns.product(row)
+                                : snapshot.localize(columns.product(row), languages.get(slot - 1));
+                        byte[] json = objectMapper.writeValueAsBytes(detail);
+                        long at = arena.append(json);
+                        chunkOf[index] = (int) (at >>> 32);
+                        positionOf[index] = (int) at;
+                        lengths[index] = json.length;
+                    }
+                    bytes += lengths[index];
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render catalog v" + snapshot.getVersion(), e);
+        }
+        return new OffHeapCatalogStore(snapshot, arena, slotsPerRow, chunkOf, positionOf, lengths, bytes);
+    }
+
+    // JSON of a product with all of its translations
+    public Optional<Resource> getProductJson(Long id) {
+        int row = id != null ? snapshot.getColumns().rowOf(id) : -1;
+        return row >= 0 ? Optional.of(resource(row * slotsPerRow)) : Optional.empty();
+    }
+
+    // JSON of a localized product detail; empty for an unknown product or a language no product is translated into
+    // (the snapshot still resolves those)
+    public Optional<Resource> getLocalizedProductJson(Long id, String languageCode) {
+        ColumnarCatalog columns = snapshot.getColumns();
+        int row = id != null ? columns.rowOf(id) : -1;
+        int code = columns.languageCode(languageCode != null ? languageCode : snapshot.getDefaultLanguageCode());
+        if (row < 0 || code < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(resource(row * slotsPerRow + 1 + code));
+    }
+
+    // Bytes of rendered JSON this store serves
+    public long getBytes() {
+        return bytes;
+    }
+
+    // Bytes written to the shared buffers, including superseded details
+    public long getUsedBytes() {
+        return arena.used();
+    }
+
+    public int getBufferCount() {
+        return arena.chunks.size();
+    }
+
+    private Resource resource(int index) {
+        return new BufferResource(arena.chunks.get(chunkOf[index]).slice(positionOf[index], lengths[index]));
+    }
+
+    // Append-only direct buffers; written by one catalog refresh at a time, read by any number of requests
+    private static final class Arena {
+        private final int chunkBytes;
+        private final List<ByteBuffer> chunks = new CopyOnWriteArrayList<>();
+        private int position;
+        private long used;
+
+        private Arena(int chunkBytes) {
+            this.chunkBytes = chunkBytes;
+        }
+
+        // Copy the bytes in with an absolute put (buffer positions are never moved) and return
+        // the chunk index in the high and the offset in the low 32 bits
+        private synchronized long append(byte[] json) {
+            ByteBuffer chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+            if (chunk == null || chunk.capacity() - position < json.length) {
+                chunk = ByteBuffer.allocateDirect(Math.max(chunkBytes, json.length));
+                chunks.add(chunk);
+                position = 0;
+            }
+            chunk.put(position, json);
+            long at = ((long) (chunks.size() - 1) << 32) | position;
+            position += json.length;
+            used += json.length;
+            return at;
+        }
+
+        private synchronized long used() {
+            return used;
+        }
+    }
+
+    // Read-only view of one detail; every stream reads its own duplicate of the buffer
+    private static final class BufferResource extends AbstractResource {
+        private final ByteBuffer json;
+
+        private BufferResource(ByteBuffer json) {
+            this.json = json;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            ByteBuffer buffer = json.duplicate();
+            return new InputStream() {
+                @Override
+                public int read() {
+                    return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+                }
+
+                @Override
+                public int read(byte[] target, int offset, int length) {
+                    if (!buffer.hasRemaining()) {
+                        return -1;
+                    }
+                    int count = Math.min(length, buffer.remaining());
+                    buffer.get(target, offset, count);
+                    return count;
+                }
+            };
+        }
+
+        @Override
+        public long contentLength() {
+            return json.remaining();
+        }
+
+        @Override
+        public String getDescription() {
+            return "Off-heap product JSON (" + json.remaining() + " bytes)";
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.manish.hardware.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.manish.hardware.catalog.CatalogChangedEvent.Resource;
+import com.manish.hardware.config.CatalogConfig;
+import com.manish.hardware.config.SyncConfig;
+import com.manish.hardware.model.CatalogChange;
+import com.manish.hardware.repository.CatalogChangeRepository;
+import com.manish.hardware.repository.ProductAttributeRepository;
+import com.manish.hardware.repository.ProductRepository;
+import com.manish.hardware.repository.ProductTranslationRepository;
+import com.manish.hardware.service.SupportedLanguageService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link CatalogSnapshot}. The snapshot is loaded on first
+ * use and replaced after every committed product write, so readers always see
+ * a consistent catalog without going to the database. A write loads only the
+ * changed products and patches them into a copy of the current snapshot;
+ * writes that commit while a patch is being built are folded into the next
+ * one. Language changes and catalog-wide writes reload everything. Writes
+ * made on other nodes arrive through {@link CatalogChangePoller}. With
+ * {@code app.catalog.storage=off-heap} each snapshot also gets an
+ * {@link OffHeapCatalogStore} of its rendered product details, carried over
+ * from the previous snapshot with only the changed products re-rendered.
+ * Every sort permutation is built with the snapshot; the popularity one is
+ * re-ranked in the background as quotes commit, at most once per
+ * {@code app.catalog.popularity-refresh-ms}.
+ */
+@Component
+public class ProductCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductCatalog.class);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductTranslationRepository translationRepository;
+
+    @Autowired
+    private ProductAttributeRepository attributeRepository;
+
+    @Autowired
+    private SupportedLanguageService supportedLanguageService;
+
+    @Autowired
+    private CatalogChangeRepository catalogChangeRepository;
+
+    @Autowired
+    private CatalogConfig catalogConfig;
+
+    @Autowired
+    private SyncConfig syncConfig;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductPopularity productPopularity;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    // Newest settled change-log id when the snapshot was first loaded, where the poller starts replaying
+    private volatile Long loadedChangeId;
+    // Products written since the last patch, applied by whichever writer refreshes first
+    private final Set<Long> pendingProductIds = ConcurrentHashMap.newKeySet();
+    // Open trackers, told about every refresh before it is swapped in
+    private final Set<SnapshotChanges> trackers = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService ranker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "popularity-rank");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rankingPending = new AtomicBoolean();
+    private volatile long lastRankedAt;
+
+    // Get the current snapshot, loading it on first access
+    public CatalogSnapshot current() {
+        CatalogSnapshot current = snapshot.get();
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot.get();
+                if (current == null) {
+                    // Read before the catalog, so every change the load might miss is after it
+                    loadedChangeId = catalogChangeRepository.findFirstByChangedAtBeforeOrderByIdDesc(
+                            LocalDateTime.now().minus(Duration.ofMillis(syncConfig.getCommitGraceMs())))
+                            .map(CatalogChange::getId).orElse(0L);
+                    current = load();
+                    snapshot.set(current);
+                }
+            }
+        }
+        return current;
+    }
+
+    // Rebuild the snapshot once a product, translation or language write has committed
+    // (runs before other catalog listeners so they never observe a stale snapshot)
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.affectsProducts() && !event.isRemote()) {
+            refresh(event.getProductId() != null ? Set.of(event.getProductId()) : null);
+        }
+    }
+
+    // Re-rank by popularity once a quote has committed (after ProductPopularity counted it)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuoteSubmitted(QuoteSubmittedEvent event) {
+        schedulePopularityRanking();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ranker.shutdownNow();
+    }
+
+    // Change-log id the first loaded snapshot is current up to, or empty before anything was loaded
+    Optional<Long> getLoadedChangeId() {
+        return Optional.ofNullable(loadedChangeId);
+    }
+
+    // Start recording the products every refresh changes, until stopTracking (locked like refreshes, so every
+    // snapshot swapped in after this returns is recorded)
+    public synchronized SnapshotChanges trackChanges() {
+        SnapshotChanges changes = new SnapshotChanges();
+        trackers.add(changes);
+        return changes;
+    }
+
+    public void stopTracking(SnapshotChanges changes) {
+        trackers.remove(changes);
+    }
+
+    // Rebuild the snapshot from the database and swap it in
+    public CatalogSnapshot refresh() {
+        return refresh(null);
+    }
+
+    // Rebuild the snapshot, knowing only the given products changed (null when unknown)
+    public CatalogSnapshot refresh(Collection<Long> changedProductIds) {
+        if (changedProductIds == null) {
+            synchronized (this) {
+                // Cleared before loading: the reload covers everything committed so far
+                pendingProductIds.clear();
+                CatalogSnapshot rebuilt = load(snapshot.get(), null);
+                trackers.forEach(changes -> changes.record(null));
+                snapshot.set(rebuilt);
+                return rebuilt;
+            }
+        }
+        pendingProductIds.addAll(changedProductIds);
+        synchronized (this) {
+            Set<Long> changed = new HashSet<>(pendingProductIds);
+            if (changed.isEmpty()) {
+                // Patched in by a writer that refreshed while this one waited
+                return snapshot.get();
+            }
+            pendingProductIds.removeAll(changed);
+            CatalogSnapshot rebuilt = load(snapshot.get(), changed);
+            trackers.forEach(changes -> changes.record(changed));
+            snapshot.set(rebuilt);
+            return rebuilt;
+        }
+    }
+
+    private CatalogSnapshot load() {
+        return load(null, null);
+    }
+
+    // Queue one re-ranking, no sooner than the refresh interval after the last; quotes arriving while it waits
+    // are folded into it and requests keep the previous ranking meanwhile
+    private void schedulePopularityRanking() {
+        if (rankingPending.compareAndSet(false, true)) {
+            long delay = lastRankedAt + catalogConfig.getPopularityRefreshMs() - System.currentTimeMillis();
+            ranker.schedule(() -> {
+                rankingPending.set(false);
+                rankByPopularity();
+            }, Math.max(0, delay), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void rankByPopularity() {
+        lastRankedAt = System.currentTimeMillis();
+        try {
+            CatalogSnapshot current = snapshot.get();
+            if (current == null || current.getPopularityVersion() == productPopularity.getVersion()) {
+                return;
+            }
+            current.rankByPopularity(productPopularity);
+            // Popularity-sorted listings changed, so their entity tags must too
+            eventPublisher.publishEvent(CatalogChangedEvent.of(Resource.POPULARITY));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to re-rank products by popularity", e);
+        }
+    }
+
+    private CatalogSnapshot load(CatalogSnapshot previous, Collection<Long> changedProductIds) {
+        long startedAt = System.nanoTime();
+        String defaultLanguageCode = supportedLanguageService.getDefaultLanguageCode();
+        CatalogSnapshot loaded;
+        if (previous != null && changedProductIds != null
+                && Objects.equals(defaultLanguageCode, previous.getDefaultLanguageCode())) {
+            loaded = previous.patch(versions.incrementAndGet(), changedProductIds,
+                    productRepository.findAllWithTranslationsByIdIn(changedProductIds),
+                    attributeRepository.findByProductIdIn(changedProductIds), productPopularity);
+        } else {
+            loaded = CatalogSnapshot.build(versions.incrementAndGet(), defaultLanguageCode,
+                    productRepository.findByIsActiveTrue(), translationRepository.findByActiveProduct(),
+                    attributeRepository.findAll());
+        }
+        if (catalogConfig.getStorage() == CatalogConfig.Storage.OFF_HEAP) {
+            OffHeapCatalogStore store = previous != null && changedProductIds != null
+                    ? previous.getOffHeapStore()
+                            .flatMap(current -> current.update(loaded, changedProductIds, objectMapper))
+                            .orElse(null)
+                    : null;
+            loaded.attach(store != null ? store
+                    : OffHeapCatalogStore.build(loaded, objectMapper, catalogConfig.getOffHeapChunkBytes()));
+        }
+        loaded.prepareOrderings(productPopularity);
+        logger.debug("Loaded catalog snapshot v{} with {} products in {} ms", loaded.getVersion(), loaded.size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return loaded;
+    }
+}
@@ -0,0 +1,125 @@
+package com.manish.hardware.catalog;
+
+import com.manish.hardware.repository.QuoteRequestRepository;
+import com.manish.hardware.repository.QuoteRequestRepository.ProductQuoteCount;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * How often each product has been asked for in a quote request. Counts are
+ * loaded with one grouped query on first use and then adjusted as quote
+ * requests are submitted, moved and deleted. Every
+ * {@code app.catalog.popularity-reconcile-ms} the grouped query runs again,
+ * picking up quotes committed on other nodes.
+ */
+@Component
+public class ProductPopularity {
+
+    @Autowired
+    private QuoteRequestRepository quoteRequestRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private volatile Map<Long, Long> quoteCounts;
+    private final AtomicLong version = new AtomicLong();
+
+    // Number of quote requests for a product
+    public long getQuoteCount(Long productId) {
+        return counts().getOrDefault(productId, 0L);
+    }
+
+    // Count a quote once its transaction has committed (before listeners that re-rank or re-tag on it)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onQuoteSubmitted(QuoteSubmittedEvent event) {
+        recordQuote(event.getProductId(), event.getPreviousProductId());
+    }
+
+    // Count a committed quote for productId that no longer asks for previousProductId (either may be null)
+    public void recordQuote(Long productId, Long previousProductId) {
+        if (Objects.equals(productId, previousProductId)) {
+            return;
+        }
+        Map<Long, Long> counts = quoteCounts;
+        if (counts == null) {
+            synchronized (this) {
+                if (quoteCounts == null) {
+                    // Loaded after the quote committed, so the loaded count already includes it
+                    refresh();
+                    return;
+                }
+                counts = quoteCounts;
+            }
+        }
+        if (productId != null) {
+            counts.merge(productId, 1L, Long::sum);
+        }
+        if (previousProductId != null) {
+            counts.computeIfPresent(previousProductId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+        version.incrementAndGet();
+    }
+
+    // Re-read the counts, so quotes written on other nodes are counted, and re-rank if any changed
+    @Scheduled(fixedDelayString = "${app.catalog.popularity-reconcile-ms:60000}",
+            initialDelayString = "${app.catalog.popularity-reconcile-ms:60000}")
+    public void reconcile() {
+        synchronized (this) {
+            if (quoteCounts == null) {
+                // Not loaded yet; first use reads them
+                return;
+            }
+            Map<Long, Long> loaded = load();
+            if (loaded.equals(quoteCounts)) {
+                return;
+            }
+            quoteCounts = loaded;
+            version.incrementAndGet();
+        }
+        eventPublisher.publishEvent(new QuoteSubmittedEvent(null));
+    }
+
+    // Incremented whenever any count changes (lets cached rankings notice)
+    public long getVersion() {
+        return version.get();
+    }
+
+    // Reload all counts from the database
+    public synchronized void refresh() {
+        quoteCounts = load();
+        version.incrementAndGet();
+    }
+
+    private Map<Long, Long> load() {
+        Map<Long, Long> loaded = new ConcurrentHashMap<>();
+        for (ProductQuoteCount count : quoteRequestRepository.countQuotesByProduct()) {
+            loaded.put(count.getProductId(), count.getQuoteCount());
+        }
+        return loaded;
+    }
+
+    private Map<Long, Long> counts() {
+        Map<Long, Long> counts = quoteCounts;
+        if (counts == null) {
+            synchronized (this) {
+                if (quoteCounts == null) {
+                    refresh();
+                }
+                counts = quoteCounts;
+            }
+        }
+        return counts;
+    }
+}
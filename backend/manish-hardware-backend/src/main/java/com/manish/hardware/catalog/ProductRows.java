@@ -0,0 +1,32 @@
+package com.manish.hardware.catalog;
+
+import com.manish.hardware.model.Product;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list view over rows of a {@link ColumnarCatalog}. Each
+ * {@link #get(int)} builds a fresh detached {@link Product}, so only the
+ * products a caller actually reads are ever materialized.
+ */
+final class ProductRows extends AbstractList<Product> implements RandomAccess {
+
+    private final ColumnarCatalog columns;
+    private final int[] rows;
+
+    ProductRows(ColumnarCatalog columns, int[] rows) {
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    @Override
+    public Product get(int index) {
+        return columns.product(rows[index]);
+    }
+
+    @Override
+    public int size() {
+        return rows.length;
+    }
+}
@@ -0,0 +1,85 @@
+package com.manish.hardware.catalog;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The sort orders product listings support. Each is kept by the
+ * {@link CatalogSnapshot} as a precomputed permutation of its rows, so a
+ * sorted page is a slice of an array. The natural direction is the one
+ * shoppers expect (names A to Z, newest, latest updated and most quoted
+ * first); a descending request reverses it. The entity property names older
+ * clients sort by are accepted as aliases.
+ */
+public enum ProductSort {
+    ID("id"),
+    NAME("name"),
+    BRAND("brand"),
+    NEWEST("newest"),
+    UPDATED("updated"),
+    CATEGORY("category"),
+    POPULARITY("popularity");
+
+    // Property sort keys of older clients and the order each means; createdAt and updatedAt ascending were
+    // oldest first, the reverse of NEWEST and UPDATED
+    private static final Map<String, ProductSort> PROPERTIES = Map.of(
+            "createdAt", NEWEST, "updatedAt", UPDATED, "categoryId", CATEGORY);
+
+    private final String key;
+
+    ProductSort(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    // As a Sort, so the order travels in a Pageable
+    public Sort toSort(boolean descending) {
+        return Sort.by(descending ? Sort.Direction.DESC : Sort.Direction.ASC, key);
+    }
+
+    // The sort order named by a sortBy request parameter
+    public static ProductSort from(String key) {
+        for (ProductSort sort : values()) {
+            if (sort.key.equalsIgnoreCase(key)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sortBy '" + key + "', use one of "
+                + Stream.concat(Arrays.stream(values()).map(ProductSort::getKey), PROPERTIES.keySet().stream().sorted())
+                        .collect(Collectors.joining(", ")));
+    }
+
+    // The order named by sortBy and sortDir request parameters, with property aliases mapped onto their sort
+    public static Sort parse(String sortBy, String sortDir) {
+        boolean descending = sortDir.equalsIgnoreCase("desc");
+        ProductSort alias = PROPERTIES.get(sortBy);
+        if (alias != null) {
+            return alias.toSort(alias == NEWEST || alias == UPDATED ? !descending : descending);
+        }
+        return from(sortBy).toSort(descending);
+    }
+
+    // The sort order a Sort built by parse stands for (a single order on one of the keys)
+    public static ProductSort of(Sort sort) {
+        Iterator<Sort.Order> orders = sort.iterator();
+        if (orders.hasNext()) {
+            String property = orders.next().getProperty();
+            if (!orders.hasNext()) {
+                for (ProductSort value : values()) {
+                    if (value.key.equals(property)) {
+                        return value;
+                    }
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + sort);
+    }
+}
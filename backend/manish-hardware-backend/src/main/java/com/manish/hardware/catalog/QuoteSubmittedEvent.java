@@ -0,0 +1,32 @@
+package com.manish.hardware.catalog;
+
+/**
+ * Published when a customer submits a quote request, when one is moved to
+ * another product (the old product loses it) or deleted (only the old product
+ * is set), and with neither set once popularity has been reconciled with the
+ * database. Popularity counts react only once the surrounding transaction has
+ * committed, so a quote that rolls back is never counted.
+ */
+public class QuoteSubmittedEvent {
+
+    private final Long productId;
+    private final Long previousProductId;
+
+    public QuoteSubmittedEvent(Long productId) {
+        this(productId, null);
+    }
+
+    public QuoteSubmittedEvent(Long productId, Long previousProductId) {
+        this.productId = productId;
+        this.previousProductId = previousProductId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    // Product the quote no longer asks for, or null
+    public Long getPreviousProductId() {
+        return previousProductId;
+    }
+}
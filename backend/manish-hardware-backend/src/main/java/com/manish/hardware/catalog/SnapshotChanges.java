@@ -0,0 +1,34 @@
+package com.manish.hardware.catalog;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Products refreshed into the catalog snapshot since the tracker was opened
+ * with {@link ProductCatalog#trackChanges()}. Ids are recorded before the
+ * refresh that carries them is swapped in, so every change a snapshot read
+ * after {@link #drain()} could hold has been drained by then or by an earlier
+ * call. A search index built beside the catalog replays them to catch up.
+ */
+public final class SnapshotChanges {
+
+    private Set<Long> productIds = new HashSet<>();
+    private boolean reloaded;
+
+    synchronized void record(Collection<Long> changedProductIds) {
+        if (changedProductIds == null) {
+            reloaded = true;
+        } else {
+            productIds.addAll(changedProductIds);
+        }
+    }
+
+    // Products recorded since the last drain, or null when the whole catalog was reloaded meanwhile
+    public synchronized Set<Long> drain() {
+        Set<Long> drained = reloaded ? null : productIds;
+        productIds = new HashSet<>();
+        reloaded = false;
+        return drained;
+    }
+}
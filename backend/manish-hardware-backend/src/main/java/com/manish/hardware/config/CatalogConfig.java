@@ -0,0 +1,53 @@
+package com.manish.hardware.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.catalog")
+public class CatalogConfig {
+
+    public enum Storage { HEAP, OFF_HEAP }
+
+    // OFF_HEAP also keeps the rendered product details in direct buffers, served to GETs as bytes
+    private Storage storage = Storage.HEAP;
+    // Size of each direct buffer; a detail larger than this gets a buffer of its own
+    private int offHeapChunkBytes = 64 * 1024 * 1024;
+    // Least time between re-rankings of the popularity sort as quotes arrive
+    private long popularityRefreshMs = 10_000;
+    // How often quote counts are re-read, picking up quotes written on other nodes
+    private long popularityReconcileMs = 60_000;
+
+    // Getters and setters
+    public Storage getStorage() {
+        return storage;
+    }
+
+    public void setStorage(Storage storage) {
+        this.storage = storage;
+    }
+
+    public int getOffHeapChunkBytes() {
+        return offHeapChunkBytes;
+    }
+
+    public void setOffHeapChunkBytes(int offHeapChunkBytes) {
+        this.offHeapChunkBytes = offHeapChunkBytes;
+    }
+
+    public long getPopularityRefreshMs() {
+        return popularityRefreshMs;
+    }
+
+    public void setPopularityRefreshMs(long popularityRefreshMs) {
+        this.popularityRefreshMs = popularityRefreshMs;
+    }
+
+    public long getPopularityReconcileMs() {
+        return popularityReconcileMs;
+    }
+
+    public void setPopularityReconcileMs(long popularityReconcileMs) {
+        this.popularityReconcileMs = popularityReconcileMs;
+    }
+}
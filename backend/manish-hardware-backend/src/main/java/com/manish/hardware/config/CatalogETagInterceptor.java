@@ -0,0 +1,103 @@
+package com.manish.hardware.config;
+
+import com.manish.hardware.catalog.CatalogChangedEvent.Resource;
+import com.manish.hardware.catalog.CatalogVersions;
+import com.manish.hardware.search.SearchAnalyticsService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Adds ETag and Last-Modified validators to catalog GETs and answers matching
+ * If-None-Match / If-Modified-Since requests with 304 before the controller
+ * (and therefore the repository) is reached. Searches answered this way are
+ * still counted in search analytics.
+ */
+public class CatalogETagInterceptor implements HandlerInterceptor {
+
+    private static final Pattern PRODUCT_PATH = Pattern.compile("^/api/v1/products/(\\d+)(/.*)?$");
+
+    private final CatalogVersions catalogVersions;
+    private final SearchAnalyticsService searchAnalyticsService;
+
+    public CatalogETagInterceptor(CatalogVersions catalogVersions, SearchAnalyticsService searchAnalyticsService) {
+        this.catalogVersions = catalogVersions;
+        this.searchAnalyticsService = searchAnalyticsService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        long startedAt = System.nanoTime();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        // The stamp is read before the handler runs, so a tag is never newer than the body it describes
+        CatalogVersions.Stamp stamp = stampFor(path, request);
+        if (stamp == null) {
+            return true;
+        }
+        response.setHeader("Cache-Control", "no-cache");
+        if (!new ServletWebRequest(request, response)
+                .checkNotModified(catalogVersions.etag(stamp), stamp.getLastModified())) {
+            return true;
+        }
+        if (path.equals("/api/v1/products/search")) {
+            recordSearch(request, startedAt);
+        }
+        return false;
+    }
+
+    // Count a revalidated search the controller never sees (requests it would reject are skipped)
+    private void recordSearch(HttpServletRequest request, long startedAt) {
+        String query = request.getParameter("q");
+        if (searchAnalyticsService == null || query == null) {
+            return;
+        }
+        try {
+            String categoryId = request.getParameter("categoryId");
+            String page = request.getParameter("page");
+            String lang = request.getParameter("lang");
+            searchAnalyticsService.recordNotModified(query, lang != null ? lang : "en",
+                    categoryId != null ? Long.valueOf(categoryId) : null, page != null ? Integer.parseInt(page) : 0,
+                    System.nanoTime() - startedAt);
+        } catch (NumberFormatException e) {
+            // Not a search the controller would have answered
+        }
+    }
+
+    private CatalogVersions.Stamp stampFor(String path, HttpServletRequest request) {
+        Matcher product = PRODUCT_PATH.matcher(path);
+        if (product.matches()) {
+            return catalogVersions.forProduct(Long.valueOf(product.group(1)));
+        }
+        if (path.startsWith("/api/v1/products/search")) {
+            // Relevance weighs quote counts
+            return catalogVersions.forResources(Resource.PRODUCT, Resource.LANGUAGE, Resource.SEARCH,
+                    Resource.POPULARITY);
+        }
+        if (path.startsWith("/api/v1/products")) {
+            return "popularity".equalsIgnoreCase(request.getParameter("sortBy"))
+                    ? catalogVersions.forResources(Resource.PRODUCT, Resource.LANGUAGE, Resource.POPULARITY)
+                    : catalogVersions.forResources(Resource.PRODUCT, Resource.LANGUAGE);
+        }
+        if (path.startsWith("/api/v1/categories")) {
+            // Category listings can embed product counts
+            return catalogVersions.forResources(Resource.CATEGORY, Resource.PRODUCT);
+        }
+        if (path.startsWith("/api/v1/banners")) {
+            return catalogVersions.forResources(Resource.BANNER);
+        }
+        if (path.startsWith("/api/v1/config")) {
+            return catalogVersions.forResources(Resource.CONFIG);
+        }
+        if (path.startsWith("/api/v1/languages")) {
+            return catalogVersions.forResources(Resource.LANGUAGE);
+        }
+        return null;
+    }
+}
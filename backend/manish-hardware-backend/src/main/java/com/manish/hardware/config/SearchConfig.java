@@ -0,0 +1,157 @@
+package com.manish.hardware.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.search")
+public class SearchConfig {
+    // BM25 term-frequency saturation and length normalization
+    private double k1 = 1.2;
+    private double b = 0.75;
+    // Per-field weights: a hit in the name counts more than one in the description
+    private double nameWeight = 3.0;
+    private double descriptionWeight = 1.0;
+    private double brandWeight = 2.0;
+    // Score added per log(1 + quote requests) of a product
+    private double popularityBoost = 0.5;
+    // Most suggestions kept per autocomplete prefix
+    private int suggestionLimit = 10;
+    // Delay before suggestions are reweighted after quote counts change, so a burst of quotes rebuilds once
+    private long suggestionRebuildDelayMs = 60000;
+    // Local file the search index is saved to for fast restarts (empty disables persistence)
+    private String indexPath = "";
+    // Delay before changes are written to the index file, so bursts of writes are saved once
+    private long persistDelayMs = 30000;
+    // Most search results kept in the result cache (0 disables it)
+    private int cacheSize = 1000;
+    // Products read from the database per batch during a full reindex
+    private int reindexBatchSize = 500;
+    // Counters per heavy-hitters sketch in search analytics (memory stays fixed at this many queries)
+    private int analyticsCapacity = 200;
+    // Top queries kept per list in each analytics rollup
+    private int analyticsTopLimit = 20;
+    // Interval between analytics rollups written to search_rollups
+    private long analyticsFlushMs = 300000;
+
+    // Getters and setters
+    public double getK1() {
+        return k1;
+    }
+
+    public void setK1(double k1) {
+        this.k1 = k1;
+    }
+
+    public double getB() {
+        return b;
+    }
+
+    public void setB(double b) {
+        this.b = b;
+    }
+
+    public double getNameWeight() {
+        return nameWeight;
+    }
+
+    public void setNameWeight(double nameWeight) {
+        this.nameWeight = nameWeight;
+    }
+
+    public double getDescriptionWeight() {
+        return descriptionWeight;
+    }
+
+    public void setDescriptionWeight(double descriptionWeight) {
+        this.descriptionWeight = descriptionWeight;
+    }
+
+    public double getBrandWeight() {
+        return brandWeight;
+    }
+
+    public void setBrandWeight(double brandWeight) {
+        this.brandWeight = brandWeight;
+    }
+
+    public double getPopularityBoost() {
+        return popularityBoost;
+    }
+
+    public void setPopularityBoost(double popularityBoost) {
+        this.popularityBoost = popularityBoost;
+    }
+
+    public int getSuggestionLimit() {
+        return suggestionLimit;
+    }
+
+    public void setSuggestionLimit(int suggestionLimit) {
+        this.suggestionLimit = suggestionLimit;
+    }
+
+    public long getSuggestionRebuildDelayMs() {
+        return suggestionRebuildDelayMs;
+    }
+
+    public void setSuggestionRebuildDelayMs(long suggestionRebuildDelayMs) {
+        this.suggestionRebuildDelayMs = suggestionRebuildDelayMs;
+    }
+
+    public String getIndexPath() {
+        return indexPath;
+    }
+
+    public void setIndexPath(String indexPath) {
+        this.indexPath = indexPath;
+    }
+
+    public long getPersistDelayMs() {
+        return persistDelayMs;
+    }
+
+    public void setPersistDelayMs(long persistDelayMs) {
+        this.persistDelayMs = persistDelayMs;
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    public int getReindexBatchSize() {
+        return reindexBatchSize;
+    }
+
+    public void setReindexBatchSize(int reindexBatchSize) {
+        this.reindexBatchSize = reindexBatchSize;
+    }
+
+    public int getAnalyticsCapacity() {
+        return analyticsCapacity;
+    }
+
+    public void setAnalyticsCapacity(int analyticsCapacity) {
+        this.analyticsCapacity = analyticsCapacity;
+    }
+
+    public int getAnalyticsTopLimit() {
+        return analyticsTopLimit;
+    }
+
+    public void setAnalyticsTopLimit(int analyticsTopLimit) {
+        this.analyticsTopLimit = analyticsTopLimit;
+    }
+
+    public long getAnalyticsFlushMs() {
+        return analyticsFlushMs;
+    }
+
+    public void setAnalyticsFlushMs(long analyticsFlushMs) {
+        this.analyticsFlushMs = analyticsFlushMs;
+    }
+}
@@ -82,6 +82,8 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, "/api/v1/languages/**").permitAll()
                 // Templates - fully public
                 .requestMatchers(HttpMethod.GET, "/api/v1/templates/**").permitAll()
+                // Offline catalog sync - public
+                .requestMatchers(HttpMethod.GET, "/api/v1/sync").permitAll()
                 // Quotes - public submission
                 .requestMatchers(HttpMethod.POST, "/api/v1/quotes").permitAll()
                 // Everything else requires authentication
@@ -99,7 +101,9 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOriginPatterns(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Accept"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Accept",
+                "If-None-Match", "If-Modified-Since"));
+        configuration.setExposedHeaders(Arrays.asList("ETag", "Last-Modified", "X-Corrected-Query"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -0,0 +1,51 @@
+package com.manish.hardware.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.sync")
+public class SyncConfig {
+    // Changes younger than this are held back, so a transaction that took a lower
+    // cursor but committed later is never skipped by a client
+    private long commitGraceMs = 2000;
+    private int maxBatchSize = 1000;
+    // How often each node reads the change log for writes committed on other nodes
+    private long changePollMs = 5000;
+    // Changes older than this are compacted to the latest row per entity; clients whose cursor
+    // predates the window get a full copy instead of a delta
+    private long changeRetentionMs = 30L * 24 * 60 * 60 * 1000;
+
+    // Getters and setters
+    public long getCommitGraceMs() {
+        return commitGraceMs;
+    }
+
+    public void setCommitGraceMs(long commitGraceMs) {
+        this.commitGraceMs = commitGraceMs;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public long getChangePollMs() {
+        return changePollMs;
+    }
+
+    public void setChangePollMs(long changePollMs) {
+        this.changePollMs = changePollMs;
+    }
+
+    public long getChangeRetentionMs() {
+        return changeRetentionMs;
+    }
+
+    public void setChangeRetentionMs(long changeRetentionMs) {
+        this.changeRetentionMs = changeRetentionMs;
+    }
+}
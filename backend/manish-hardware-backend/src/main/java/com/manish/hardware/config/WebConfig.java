@@ -0,0 +1,31 @@
+package com.manish.hardware.config;
+
+import com.manish.hardware.catalog.CatalogVersions;
+import com.manish.hardware.search.SearchAnalyticsService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    // Optional so @WebMvcTest slices, which do not load the catalog beans, can still start
+    @Autowired
+    private ObjectProvider<CatalogVersions> catalogVersions;
+
+    @Autowired
+    private ObjectProvider<SearchAnalyticsService> searchAnalyticsService;
+
+    // Conditional GET support for the public catalog endpoints
+    // (not suggestions: they are rebuilt in the background, so may lag the catalog version)
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        catalogVersions.ifAvailable(versions -> registry.addInterceptor(
+                new CatalogETagInterceptor(versions, searchAnalyticsService.getIfAvailable()))
+                .addPathPatterns("/api/v1/products/**", "/api/v1/categories/**", "/api/v1/banners/**",
+                        "/api/v1/config/**", "/api/v1/languages/**")
+                .excludePathPatterns("/api/v1/products/suggest"));
+    }
+}
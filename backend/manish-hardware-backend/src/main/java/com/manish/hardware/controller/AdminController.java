@@ -1,6 +1,9 @@
 package com.manish.hardware.controller;
 
+import com.manish.hardware.search.ProductSearchService;
+import com.manish.hardware.search.SearchAnalyticsService;
 import com.manish.hardware.service.CategoryService;
+import com.manish.hardware.service.ProductAttributeService;
 import com.manish.hardware.service.ProductService;
 import com.manish.hardware.service.QuoteRequestService;
 import com.manish.hardware.service.BannerService;
@@ -31,6 +34,15 @@ public class AdminController {
     @Autowired
     private BannerService bannerService;
 
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private SearchAnalyticsService searchAnalyticsService;
+
+    @Autowired
+    private ProductAttributeService productAttributeService;
+
     @GetMapping("/dashboard")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> getDashboardStats() {
@@ -82,4 +94,57 @@ public class AdminController {
 
         return ResponseEntity.ok(stats);
     }
+
+    @GetMapping("/search/cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getSearchCacheStats() {
+        return ResponseEntity.ok(productSearchService.getCacheStats());
+    }
+
+    @PostMapping("/search/reindex")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> startSearchReindex() {
+        if (!productSearchService.startReindex()) {
+            return ResponseEntity.status(409).body(productSearchService.getReindexStatus());
+        }
+        return ResponseEntity.accepted().body(productSearchService.getReindexStatus());
+    }
+
+    @GetMapping("/search/reindex")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getSearchReindexStatus() {
+        return ResponseEntity.ok(productSearchService.getReindexStatus());
+    }
+
+    // Search and suggest traffic since the last rollup: top queries, zero-result queries, latency percentiles
+    @GetMapping("/search/analytics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getSearchAnalytics(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchAnalyticsService.getCurrentStats(limit));
+    }
+
+    // Saved analytics rollups of the last hours, newest first
+    @GetMapping("/search/analytics/rollups")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getSearchAnalyticsRollups(
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchAnalyticsService.getRollups(hours, limit));
+    }
+
+    // Re-parse every product's technical specs into attributes (after parser changes or for rows written before it)
+    @PostMapping("/products/attributes/reparse")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> reparseProductAttributes() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("attributes", productAttributeService.reparseAll());
+        return ResponseEntity.ok(result);
+    }
+
+    // Estimated heap use of the in-memory catalog against the equivalent entity graph
+    @GetMapping("/catalog/memory")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getCatalogMemory() {
+        return ResponseEntity.ok(productService.getCatalogMemoryReport());
+    }
 }
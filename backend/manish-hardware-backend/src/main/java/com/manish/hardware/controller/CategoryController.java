@@ -1,12 +1,16 @@
 package com.manish.hardware.controller;
 
+import com.manish.hardware.dto.CategoryDtos.CategoryWithCount;
 import com.manish.hardware.model.Category;
 import com.manish.hardware.service.CategoryService;
+import com.manish.hardware.service.ProductService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -17,11 +21,18 @@ public class CategoryController {
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private ProductService productService;
+
     // Public endpoints - no authentication required
 
+    // includeCounts=true embeds the active product count of each category
     @GetMapping
-    public ResponseEntity<List<Category>> getAllCategories() {
+    public ResponseEntity<?> getAllCategories(@RequestParam(defaultValue = "false") boolean includeCounts) {
         List<Category> categories = categoryService.getAllActiveCategories();
+        if (includeCounts) {
+            return ResponseEntity.ok(withCounts(categories));
+        }
         return ResponseEntity.ok(categories);
     }
 
@@ -63,8 +74,20 @@ public class CategoryController {
 
     // Get all active categories ordered by sort order
     @GetMapping("/ordered")
-    public ResponseEntity<List<Category>> getAllCategoriesOrdered() {
+    public ResponseEntity<?> getAllCategoriesOrdered(@RequestParam(defaultValue = "false") boolean includeCounts) {
         List<Category> categories = categoryService.getAllActiveCategoriesOrdered();
+        if (includeCounts) {
+            return ResponseEntity.ok(withCounts(categories));
+        }
         return ResponseEntity.ok(categories);
     }
+
+    private List<CategoryWithCount> withCounts(List<Category> categories) {
+        Map<Long, Long> counts = productService.getProductCountsByCategory();
+        List<CategoryWithCount> result = new ArrayList<>(categories.size());
+        for (Category category : categories) {
+            result.add(new CategoryWithCount(category, counts.getOrDefault(category.getId(), 0L)));
+        }
+        return result;
+    }
 }
\ No newline at end of file
@@ -1,17 +1,32 @@
 package com.manish.hardware.controller;
 
+import com.manish.hardware.catalog.ProductSort;
+import com.manish.hardware.dto.PageDtos.SearchPage;
+import com.manish.hardware.dto.PageDtos.SlicePage;
+import com.manish.hardware.dto.ProductDtos.AttributeSummary;
+import com.manish.hardware.dto.ProductDtos.LocalizedProduct;
+import com.manish.hardware.dto.ProductDtos.ProductCard;
+import com.manish.hardware.dto.ProductDtos.Suggestion;
 import com.manish.hardware.model.Product;
 import com.manish.hardware.model.ProductTranslation;
+import com.manish.hardware.search.SearchAnalyticsService;
+import com.manish.hardware.search.SearchAnalyticsService.Endpoint;
 import com.manish.hardware.service.ProductService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -22,44 +37,108 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
-    // Get all products with pagination
+    @Autowired
+    private SearchAnalyticsService searchAnalyticsService;
+
+    // Get all products with pagination (pagination=offset|slice|cursor, view=full|card)
     @GetMapping
-    public ResponseEntity<Page<Product>> getAllProducts(
+    public ResponseEntity<?> getAllProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "full") String view,
+            @RequestParam(defaultValue = "en") String lang) {
+
+        if (isCursorMode(pagination, after)) {
+            try {
+                return ResponseEntity.ok(productService.getAllActiveProductsAfter(after, size, sortBy, sortDir, lang));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        }
 
-        Sort sort = sortDir.equalsIgnoreCase("desc")
-                ? Sort.by(sortBy).descending()
-                : Sort.by(sortBy).ascending();
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Pageable pageable;
+        try {
+            pageable = PageRequest.of(page, size, sortFor(sortBy, sortDir));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        if (isCardView(view)) {
+            Page<ProductCard> cards = productService.getActiveProductCards(lang, pageable);
+            return ResponseEntity.ok(isSliceMode(pagination) ? SlicePage.of(cards) : cards);
+        }
+        if (isSliceMode(pagination)) {
+            return ResponseEntity.ok(SlicePage.of(productService.getAllActiveProductsSlice(pageable)));
+        }
 
         Page<Product> products = productService.getAllActiveProducts(pageable);
         return ResponseEntity.ok(products);
     }
 
-    // Get products by category with pagination
+    // Get products by category with pagination (pagination=offset|slice|cursor, view=full|card)
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<Page<Product>> getProductsByCategory(
+    public ResponseEntity<?> getProductsByCategory(
             @PathVariable Long categoryId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "full") String view,
+            @RequestParam(defaultValue = "en") String lang) {
 
-        Sort sort = sortDir.equalsIgnoreCase("desc")
-                ? Sort.by(sortBy).descending()
-                : Sort.by(sortBy).ascending();
-        Pageable pageable = PageRequest.of(page, size, sort);
+        if (isCursorMode(pagination, after)) {
+            try {
+                return ResponseEntity.ok(
+                        productService.getProductsByCategoryAfter(categoryId, after, size, sortBy, sortDir, lang));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        }
+
+        Pageable pageable;
+        try {
+            pageable = PageRequest.of(page, size, sortFor(sortBy, sortDir));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        if (isCardView(view)) {
+            Page<ProductCard> cards = productService.getProductCardsByCategory(categoryId, lang, pageable);
+            return ResponseEntity.ok(isSliceMode(pagination) ? SlicePage.of(cards) : cards);
+        }
+        if (isSliceMode(pagination)) {
+            return ResponseEntity.ok(SlicePage.of(productService.getProductsByCategorySlice(categoryId, pageable)));
+        }
 
         Page<Product> products = productService.getProductsByCategory(categoryId, pageable);
         return ResponseEntity.ok(products);
     }
 
-    // Get product by ID
+    // Get several products by ID in one call (ids=1,2,3; lang narrows translations when available)
+    @GetMapping("/batch")
+    public ResponseEntity<?> getProductsByIds(
+            @RequestParam List<Long> ids,
+            @RequestParam(required = false) String lang) {
+        try {
+            return ResponseEntity.ok(productService.getProductsByIds(ids, lang));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Get product by ID (bytes straight from the off-heap store when the catalog is kept there)
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
+    public ResponseEntity<?> getProductById(@PathVariable Long id) {
+        Optional<Resource> json = productService.getStoredProductJson(id);
+        if (json.isPresent()) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json.get());
+        }
         Optional<Product> product = productService.getProductByIdWithTranslations(id);
         return product.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -75,15 +154,112 @@ public class ProductController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    // Search products
+    // Get localized product detail (falls back to the default language when lang has no translation)
+    @GetMapping("/{id}/localized")
+    public ResponseEntity<?> getLocalizedProduct(
+            @PathVariable Long id,
+            @RequestParam(required = false) String lang) {
+        Optional<Resource> json = productService.getStoredLocalizedProductJson(id, lang);
+        if (json.isPresent()) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json.get());
+        }
+        return productService.getLocalizedProduct(id, lang)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Autocomplete suggestions (product names and brands) for a typed prefix, most popular first
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Suggestion>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "en") String lang,
+            @RequestParam(defaultValue = "10") int limit) {
+        long startedAt = System.nanoTime();
+        List<Suggestion> suggestions = productService.suggest(prefix, lang, limit);
+        searchAnalyticsService.record(Endpoint.SUGGEST, prefix, lang, suggestions.isEmpty(),
+                System.nanoTime() - startedAt);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    // Filter product cards by categories and brands (repeat a parameter to select several), with facet counts
+    @GetMapping("/facets")
+    public ResponseEntity<?> getFacets(
+            @RequestParam(required = false) List<Long> categoryId,
+            @RequestParam(required = false) List<String> brand,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "en") String lang) {
+        if (page < 0 || size < 1) {
+            return ResponseEntity.badRequest().body(Map.of("error", "page must be >= 0 and size >= 1"));
+        }
+        return ResponseEntity.ok(productService.getFacetPage(categoryId, brand, lang, page, size));
+    }
+
+    // Attributes parsed from technical specs (numeric value ranges, text values) for building filters
+    @GetMapping("/attributes")
+    public ResponseEntity<List<AttributeSummary>> getAttributes() {
+        return ResponseEntity.ok(productService.getAttributeSummaries());
+    }
+
+    // Filter product cards by spec attributes: where=diameter_mm:8..12&where=grade:opc 53 (all must hold)
+    @GetMapping("/attributes/filter")
+    public ResponseEntity<?> filterByAttributes(
+            @RequestParam List<String> where,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "en") String lang) {
+        try {
+            return ResponseEntity.ok(productService.getProductCardsByAttributes(where, lang,
+                    PageRequest.of(page, size, sortFor(sortBy, sortDir))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Search products, best matches first (pagination=slice skips the total count, view=card returns product cards)
     @GetMapping("/search")
-    public ResponseEntity<Page<Product>> searchProducts(
+    public ResponseEntity<?> searchProducts(
             @RequestParam String q,
             @RequestParam(required = false) Long categoryId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "relevance") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "offset") String pagination,
+            @RequestParam(defaultValue = "full") String view,
+            @RequestParam(defaultValue = "en") String lang) {
+        long startedAt = System.nanoTime();
+
+        // Relevance ranking is the unsorted order; any other supported sortBy orders all matches
+        Pageable pageable;
+        try {
+            pageable = sortBy.equalsIgnoreCase("relevance")
+                    ? PageRequest.of(page, size)
+                    : PageRequest.of(page, size, sortFor(sortBy, sortDir));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        if (isCardView(view)) {
+            if (isSliceMode(pagination)) {
+                Slice<ProductCard> cards = productService.searchProductCardsSlice(q, categoryId, lang, pageable);
+                recordSearch(q, lang, startedAt, cards);
+                return withCorrectedQuery(cards).body(SlicePage.of(cards));
+            }
+            Page<ProductCard> cards = productService.searchProductCards(q, categoryId, lang, pageable);
+            recordSearch(q, lang, startedAt, cards);
+            return withCorrectedQuery(cards).body(cards);
+        }
+        if (isSliceMode(pagination)) {
+            Slice<Product> products = categoryId != null
+                    ? productService.searchProductsSlice(q, categoryId, pageable)
+                    : productService.searchProductsSlice(q, pageable);
+            recordSearch(q, lang, startedAt, products);
+            return withCorrectedQuery(products).body(SlicePage.of(products));
+        }
 
-        Pageable pageable = PageRequest.of(page, size);
         Page<Product> products;
 
         if (categoryId != null) {
@@ -91,8 +267,9 @@ public class ProductController {
         } else {
             products = productService.searchProducts(q, pageable);
         }
+        recordSearch(q, lang, startedAt, products);
 
-        return ResponseEntity.ok(products);
+        return withCorrectedQuery(products).body(products);
     }
 
     // Get translations for a product
@@ -180,6 +357,12 @@ public class ProductController {
         return ResponseEntity.ok(exists);
     }
 
+    // Count products for every category (categoryId -> count)
+    @GetMapping("/count/category")
+    public ResponseEntity<Map<Long, Long>> countProductsByCategory() {
+        return ResponseEntity.ok(productService.getProductCountsByCategory());
+    }
+
     // Count products in category
     @GetMapping("/count/category/{categoryId}")
     public ResponseEntity<Long> countProductsInCategory(@PathVariable Long categoryId) {
@@ -196,4 +379,37 @@ public class ProductController {
         }
         return ResponseEntity.notFound().build();
     }
+
+    private boolean isCursorMode(String pagination, String after) {
+        return after != null || pagination.equalsIgnoreCase("cursor");
+    }
+
+    // 200 response that tells the client, via X-Corrected-Query, when results are for a spelling-corrected query
+    private ResponseEntity.BodyBuilder withCorrectedQuery(Slice<?> results) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (results instanceof SearchPage<?> searchPage && searchPage.getCorrectedQuery() != null) {
+            response.header("X-Corrected-Query",
+                    URLEncoder.encode(searchPage.getCorrectedQuery(), StandardCharsets.UTF_8));
+        }
+        return response;
+    }
+
+    // Count the search in analytics (a zero-result search is one whose first page is empty)
+    private void recordSearch(String q, String lang, long startedAt, Slice<?> results) {
+        searchAnalyticsService.record(Endpoint.SEARCH, q, lang, results.getNumber() == 0 && !results.hasContent(),
+                System.nanoTime() - startedAt);
+    }
+
+    // One of the catalog's sort orders (or a property alias such as createdAt); sortDir=desc reverses it
+    private Sort sortFor(String sortBy, String sortDir) {
+        return ProductSort.parse(sortBy, sortDir);
+    }
+
+    private boolean isSliceMode(String pagination) {
+        return pagination.equalsIgnoreCase("slice");
+    }
+
+    private boolean isCardView(String view) {
+        return view.equalsIgnoreCase("card");
+    }
 }
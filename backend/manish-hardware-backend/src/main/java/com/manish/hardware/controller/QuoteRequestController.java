@@ -1,5 +1,6 @@
 package com.manish.hardware.controller;
 
+import com.manish.hardware.dto.PageDtos.SlicePage;
 import com.manish.hardware.model.QuoteRequest;
 import com.manish.hardware.model.QuoteRequest.QuoteStatus;
 import com.manish.hardware.service.QuoteRequestService;
@@ -75,14 +76,19 @@ public class QuoteRequestController {
         return ResponseEntity.ok(quotes);
     }
 
-    // Search quote requests (admin endpoint)
+    // Search quote requests (admin endpoint, pagination=slice skips the total count)
     @GetMapping("/search")
-    public ResponseEntity<Page<QuoteRequest>> searchQuoteRequests(
+    public ResponseEntity<?> searchQuoteRequests(
             @RequestParam String q,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "offset") String pagination) {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        if (pagination.equalsIgnoreCase("slice")) {
+            return ResponseEntity.ok(SlicePage.of(quoteRequestService.searchQuoteRequestsSlice(q, pageable)));
+        }
+
         Page<QuoteRequest> quotes = quoteRequestService.searchQuoteRequests(q, pageable);
         return ResponseEntity.ok(quotes);
     }
@@ -0,0 +1,32 @@
+package com.manish.hardware.controller;
+
+import com.manish.hardware.service.SyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/sync")
+@CrossOrigin(origins = "*")
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    // Offline catalog sync: full copy without a cursor, otherwise the changes since it (public endpoint)
+    @GetMapping
+    public ResponseEntity<?> sync(
+            @RequestParam(required = false) Long since,
+            @RequestParam(defaultValue = "500") int limit) {
+        try {
+            if (since == null) {
+                return ResponseEntity.ok(syncService.getFullCatalog());
+            }
+            return ResponseEntity.ok(syncService.getChangesSince(since, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.manish.hardware.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.manish.hardware.model.Category;
+
+public class CategoryDtos {
+
+    // Category with its active product count (serialized as the category fields plus productCount)
+    public static class CategoryWithCount {
+        @JsonUnwrapped
+        private Category category;
+        private long productCount;
+
+        public CategoryWithCount() {
+        }
+
+        public CategoryWithCount(Category category, long productCount) {
+            this.category = category;
+            this.productCount = productCount;
+        }
+
+        public Category getCategory() {
+            return category;
+        }
+
+        public void setCategory(Category category) {
+            this.category = category;
+        }
+
+        public long getProductCount() {
+            return productCount;
+        }
+
+        public void setProductCount(long productCount) {
+            this.productCount = productCount;
+        }
+    }
+}
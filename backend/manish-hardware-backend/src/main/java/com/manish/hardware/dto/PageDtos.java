@@ -0,0 +1,128 @@
+package com.manish.hardware.dto;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public class PageDtos {
+
+    // Cursor page DTO (keyset pagination, no total count)
+    public static class CursorPage<T> {
+        private List<T> content;
+        private int size;
+        private boolean hasNext;
+        private String nextCursor;
+
+        public CursorPage() {
+        }
+
+        public CursorPage(List<T> content, int size, boolean hasNext, String nextCursor) {
+            this.content = content;
+            this.size = size;
+            this.hasNext = hasNext;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<T> getContent() {
+            return content;
+        }
+
+        public void setContent(List<T> content) {
+            this.content = content;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public void setSize(int size) {
+            this.size = size;
+        }
+
+        public boolean isHasNext() {
+            return hasNext;
+        }
+
+        public void setHasNext(boolean hasNext) {
+            this.hasNext = hasNext;
+        }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
+
+        public void setNextCursor(String nextCursor) {
+            this.nextCursor = nextCursor;
+        }
+    }
+
+    // Slice page DTO (offset pagination without a total count)
+    public static class SlicePage<T> {
+        private List<T> content;
+        private int page;
+        private int size;
+        private boolean hasNext;
+
+        public SlicePage() {
+        }
+
+        public SlicePage(List<T> content, int page, int size, boolean hasNext) {
+            this.content = content;
+            this.page = page;
+            this.size = size;
+            this.hasNext = hasNext;
+        }
+
+        public static <T> SlicePage<T> of(Slice<T> slice) {
+            return new SlicePage<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+        }
+
+        public List<T> getContent() {
+            return content;
+        }
+
+        public void setContent(List<T> content) {
+            this.content = content;
+        }
+
+        public int getPage() {
+            return page;
+        }
+
+        public void setPage(int page) {
+            this.page = page;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public void setSize(int size) {
+            this.size = size;
+        }
+
+        public boolean isHasNext() {
+            return hasNext;
+        }
+
+        public void setHasNext(boolean hasNext) {
+            this.hasNext = hasNext;
+        }
+    }
+
+    // Search result page that also reports the spelling-corrected query it was answered for, if any
+    public static class SearchPage<T> extends PageImpl<T> {
+        private final String correctedQuery;
+
+        public SearchPage(List<T> content, Pageable pageable, long total, String correctedQuery) {
+            super(content, pageable, total);
+            this.correctedQuery = correctedQuery;
+        }
+
+        public String getCorrectedQuery() {
+            return correctedQuery;
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package com.manish.hardware.dto;
+
+import com.manish.hardware.model.Product;
+import com.manish.hardware.model.ProductTranslation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class ProductDtos {
+
+    // Product card DTO (list and search screens; no specs, usage info or translation list)
+    public static class ProductCard {
+        private Long id;
+        private String brand;
+        private String imageUrl;
+        private Long categoryId;
+        private String name;
+
+        public ProductCard() {
+        }
+
+        public ProductCard(Long id, String brand, String imageUrl, Long categoryId, String name) {
+            this.id = id;
+            this.brand = brand;
+            this.imageUrl = imageUrl;
+            this.categoryId = categoryId;
+            this.name = name;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getBrand() {
+            return brand;
+        }
+
+        public void setBrand(String brand) {
+            this.brand = brand;
+        }
+
+        public String getImageUrl() {
+            return imageUrl;
+        }
+
+        public void setImageUrl(String imageUrl) {
+            this.imageUrl = imageUrl;
+        }
+
+        public Long getCategoryId() {
+            return categoryId;
+        }
+
+        public void setCategoryId(Long categoryId) {
+            this.categoryId = categoryId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    // Batch lookup response DTO (products in request order plus ids that were not found)
+    public static class ProductBatch {
+        private List<Product> products;
+        private List<Long> missingIds;
+
+        public ProductBatch() {
+        }
+
+        public ProductBatch(List<Product> products, List<Long> missingIds) {
+            this.products = products;
+            this.missingIds = missingIds;
+        }
+
+        public List<Product> getProducts() {
+            return products;
+        }
+
+        public void setProducts(List<Product> products) {
+            this.products = products;
+        }
+
+        public List<Long> getMissingIds() {
+            return missingIds;
+        }
+
+        public void setMissingIds(List<Long> missingIds) {
+            this.missingIds = missingIds;
+        }
+    }
+
+    // Autocomplete suggestion DTO (a product name or a brand; productId only when one product has that name)
+    public static class Suggestion {
+        private String text;
+        private String type;
+        private Long productId;
+
+        public Suggestion() {
+        }
+
+        public Suggestion(String text, String type, Long productId) {
+            this.text = text;
+            this.type = type;
+            this.productId = productId;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public void setText(String text) {
+            this.text = text;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        public Long getProductId() {
+            return productId;
+        }
+
+        public void setProductId(Long productId) {
+            this.productId = productId;
+        }
+    }
+
+    // Filtered product cards with live facet counts (each facet counted under the other facets' filters)
+    public static class FacetPage {
+        private List<ProductCard> content;
+        private int page;
+        private int size;
+        private long totalElements;
+        private Map<Long, Long> categories;
+        private Map<String, Long> brands;
+
+        public FacetPage() {
+        }
+
+        public FacetPage(List<ProductCard> content, int page, int size, long totalElements,
+                Map<Long, Long> categories, Map<String, Long> brands) {
+            this.content = content;
+            this.page = page;
+            this.size = size;
+            this.totalElements = totalElements;
+            this.categories = categories;
+            this.brands = brands;
+        }
+
+        public List<ProductCard> getContent() {
+            return content;
+        }
+
+        public void setContent(List<ProductCard> content) {
+            this.content = content;
+        }
+
+        public int getPage() {
+            return page;
+        }
+
+        public void setPage(int page) {
+            this.page = page;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public void setSize(int size) {
+            this.size = size;
+        }
+
+        public long getTotalElements() {
+            return totalElements;
+        }
+
+        public void setTotalElements(long totalElements) {
+            this.totalElements = totalElements;
+        }
+
+        public Map<Long, Long> getCategories() {
+            return categories;
+        }
+
+        public void setCategories(Map<Long, Long> categories) {
+            this.categories = categories;
+        }
+
+        public Map<String, Long> getBrands() {
+            return brands;
+        }
+
+        public void setBrands(Map<String, Long> brands) {
+            this.brands = brands;
+        }
+    }
+
+    // Attribute parsed from technical specs: value range for numbers, known values for text
+    public static class AttributeSummary {
+        private String name;
+        private String type;
+        private int products;
+        private Double min;
+        private Double max;
+        private List<String> values;
+
+        public AttributeSummary() {
+        }
+
+        public AttributeSummary(String name, String type, int products, Double min, Double max,
+                List<String> values) {
+            this.name = name;
+            this.type = type;
+            this.products = products;
+            this.min = min;
+            this.max = max;
+            this.values = values;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        public int getProducts() {
+            return products;
+        }
+
+        public void setProducts(int products) {
+            this.products = products;
+        }
+
+        public Double getMin() {
+            return min;
+        }
+
+        public void setMin(Double min) {
+            this.min = min;
+        }
+
+        public Double getMax() {
+            return max;
+        }
+
+        public void setMax(Double max) {
+            this.max = max;
+        }
+
+        public List<String> getValues() {
+            return values;
+        }
+
+        public void setValues(List<String> values) {
+            this.values = values;
+        }
+    }
+
+    // Localized product detail DTO (one resolved translation, flattened)
+    public static class LocalizedProduct {
+        private Long id;
+        private Long categoryId;
+        private String brand;
+        private String imageUrl;
+        private String technicalSpecs;
+        private String usageInfo;
+        private String requestedLanguageCode;
+        private String languageCode;
+        private boolean fallback;
+        private String name;
+        private String description;
+        private LocalDateTime updatedAt;
+
+        public LocalizedProduct() {
+        }
+
+        public LocalizedProduct(Product product, ProductTranslation translation, String requestedLanguageCode) {
+            this.id = product.getId();
+            this.categoryId = product.getCategoryId();
+            this.brand = product.getBrand();
+            this.imageUrl = product.getImageUrl();
+            this.technicalSpecs = product.getTechnicalSpecs();
+            this.usageInfo = product.getUsageInfo();
+            this.requestedLanguageCode = requestedLanguageCode;
+            this.updatedAt = product.getUpdatedAt();
+            if (translation != null) {
+                this.languageCode = translation.getLanguageCode();
+                this.name = translation.getName();
+                this.description = translation.getDescription();
+            }
+            this.fallback = languageCode == null || !languageCode.equals(requestedLanguageCode);
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public Long getCategoryId() {
+            return categoryId;
+        }
+
+        public void setCategoryId(Long categoryId) {
+            this.categoryId = categoryId;
+        }
+
+        public String getBrand() {
+            return brand;
+        }
+
+        public void setBrand(String brand) {
+            this.brand = brand;
+        }
+
+        public String getImageUrl() {
+            return imageUrl;
+        }
+
+        public void setImageUrl(String imageUrl) {
+            this.imageUrl = imageUrl;
+        }
+
+        public String getTechnicalSpecs() {
+            return technicalSpecs;
+        }
+
+        public void setTechnicalSpecs(String technicalSpecs) {
+            this.technicalSpecs = technicalSpecs;
+        }
+
+        public String getUsageInfo() {
+            return usageInfo;
+        }
+
+        public void setUsageInfo(String usageInfo) {
+            this.usageInfo = usageInfo;
+        }
+
+        public String getRequestedLanguageCode() {
+            return requestedLanguageCode;
+        }
+
+        public void setRequestedLanguageCode(String requestedLanguageCode) {
+            this.requestedLanguageCode = requestedLanguageCode;
+        }
+
+        public String getLanguageCode() {
+            return languageCode;
+        }
+
+        public void setLanguageCode(String languageCode) {
+            this.languageCode = languageCode;
+        }
+
+        public boolean isFallback() {
+            return fallback;
+        }
+
+        public void setFallback(boolean fallback) {
+            this.fallback = fallback;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        public LocalDateTime getUpdatedAt() {
+            return updatedAt;
+        }
+
+        public void setUpdatedAt(LocalDateTime updatedAt) {
+            this.updatedAt = updatedAt;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.manish.hardware.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SearchDtos {
+
+    // Query seen by the analytics sketch: count is an upper bound, count - error a lower bound
+    public static class QueryCount {
+        private String query;
+        private long count;
+        private long error;
+
+        public QueryCount() {
+        }
+
+        public QueryCount(String query, long count, long error) {
+            this.query = query;
+            this.count = count;
+            this.error = error;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        public void setQuery(String query) {
+            this.query = query;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public long getError() {
+            return error;
+        }
+
+        public void setError(long error) {
+            this.error = error;
+        }
+    }
+
+    // Search traffic of one endpoint over a period: volume, zero-result share, latency and top queries
+    public static class EndpointStats {
+        private String endpoint;
+        private LocalDateTime periodStart;
+        private LocalDateTime periodEnd;
+        private long totalQueries;
+        private long zeroResultQueries;
+        private long p50Micros;
+        private long p95Micros;
+        private long p99Micros;
+        private long maxMicros;
+        private List<QueryCount> topQueries = new ArrayList<>();
+        private List<QueryCount> zeroResultTopQueries = new ArrayList<>();
+
+        public EndpointStats() {
+        }
+
+        public EndpointStats(String endpoint, LocalDateTime periodStart, LocalDateTime periodEnd, long totalQueries,
+                long zeroResultQueries, long p50Micros, long p95Micros, long p99Micros, long maxMicros) {
+            this.endpoint = endpoint;
+            this.periodStart = periodStart;
+            this.periodEnd = periodEnd;
+            this.totalQueries = totalQueries;
+            this.zeroResultQueries = zeroResultQueries;
+            this.p50Micros = p50Micros;
+            this.p95Micros = p95Micros;
+            this.p99Micros = p99Micros;
+            this.maxMicros = maxMicros;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public void setEndpoint(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        public LocalDateTime getPeriodStart() {
+            return periodStart;
+        }
+
+        public void setPeriodStart(LocalDateTime periodStart) {
+            this.periodStart = periodStart;
+        }
+
+        public LocalDateTime getPeriodEnd() {
+            return periodEnd;
+        }
+
+        public void setPeriodEnd(LocalDateTime periodEnd) {
+            this.periodEnd = periodEnd;
+        }
+
+        public long getTotalQueries() {
+            return totalQueries;
+        }
+
+        public void setTotalQueries(long totalQueries) {
+            this.totalQueries = totalQueries;
+        }
+
+        public long getZeroResultQueries() {
+            return zeroResultQueries;
+        }
+
+        public void setZeroResultQueries(long zeroResultQueries) {
+            this.zeroResultQueries = zeroResultQueries;
+        }
+
+        public long getP50Micros() {
+            return p50Micros;
+        }
+
+        public void setP50Micros(long p50Micros) {
+            this.p50Micros = p50Micros;
+        }
+
+        public long getP95Micros() {
+            return p95Micros;
+        }
+
+        public void setP95Micros(long p95Micros) {
+            this.p95Micros = p95Micros;
+        }
+
+        public long getP99Micros() {
+            return p99Micros;
+        }
+
+        public void setP99Micros(long p99Micros) {
+            this.p99Micros = p99Micros;
+        }
+
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+
+        public void setMaxMicros(long maxMicros) {
+            this.maxMicros = maxMicros;
+        }
+
+        public List<QueryCount> getTopQueries() {
+            return topQueries;
+        }
+
+        public void setTopQueries(List<QueryCount> topQueries) {
+            this.topQueries = topQueries;
+        }
+
+        public List<QueryCount> getZeroResultTopQueries() {
+            return zeroResultTopQueries;
+        }
+
+        public void setZeroResultTopQueries(List<QueryCount> zeroResultTopQueries) {
+            this.zeroResultTopQueries = zeroResultTopQueries;
+        }
+    }
+}
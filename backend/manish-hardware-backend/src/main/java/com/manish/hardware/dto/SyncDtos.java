@@ -0,0 +1,127 @@
+package com.manish.hardware.dto;
+
+import com.manish.hardware.model.Banner;
+import com.manish.hardware.model.Category;
+import com.manish.hardware.model.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SyncDtos {
+
+    // Catalog rows changed since a cursor (or the whole catalog when full is true)
+    public static class SyncResponse {
+        private long cursor;
+        private boolean full;
+        private boolean hasMore;
+        private List<Product> products = new ArrayList<>();
+        private List<Category> categories = new ArrayList<>();
+        private List<Banner> banners = new ArrayList<>();
+        private List<Tombstone> tombstones = new ArrayList<>();
+
+        public SyncResponse() {
+        }
+
+        public SyncResponse(long cursor, boolean full, boolean hasMore) {
+            this.cursor = cursor;
+            this.full = full;
+            this.hasMore = hasMore;
+        }
+
+        public long getCursor() {
+            return cursor;
+        }
+
+        public void setCursor(long cursor) {
+            this.cursor = cursor;
+        }
+
+        public boolean isFull() {
+            return full;
+        }
+
+        public void setFull(boolean full) {
+            this.full = full;
+        }
+
+        public boolean isHasMore() {
+            return hasMore;
+        }
+
+        public void setHasMore(boolean hasMore) {
+            this.hasMore = hasMore;
+        }
+
+        public List<Product> getProducts() {
+            return products;
+        }
+
+        public void setProducts(List<Product> products) {
+            this.products = products;
+        }
+
+        public List<Category> getCategories() {
+            return categories;
+        }
+
+        public void setCategories(List<Category> categories) {
+            this.categories = categories;
+        }
+
+        public List<Banner> getBanners() {
+            return banners;
+        }
+
+        public void setBanners(List<Banner> banners) {
+            this.banners = banners;
+        }
+
+        public List<Tombstone> getTombstones() {
+            return tombstones;
+        }
+
+        public void setTombstones(List<Tombstone> tombstones) {
+            this.tombstones = tombstones;
+        }
+    }
+
+    // Row the client must drop: deactivated ("inactive") or removed ("deleted")
+    public static class Tombstone {
+        private String type;
+        private Long id;
+        private String reason;
+
+        public Tombstone() {
+        }
+
+        public Tombstone(String type, Long id, String reason) {
+            this.type = type;
+            this.id = id;
+            this.reason = reason;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public void setReason(String reason) {
+            this.reason = reason;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.manish.hardware.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "product_attributes")
+public class ProductAttribute {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    // Normalized key with the unit as suffix, e.g. diameter_mm
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    // Set for numeric attributes
+    @Column(name = "numeric_value")
+    private Double numericValue;
+
+    // Set for text attributes (lower case)
+    @Column(name = "text_value")
+    private String textValue;
+
+    // Constructors
+    public ProductAttribute() {
+    }
+
+    public ProductAttribute(Long productId, String name, Double numericValue, String textValue) {
+        this.productId = productId;
+        this.name = name;
+        this.numericValue = numericValue;
+        this.textValue = textValue;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Double getNumericValue() {
+        return numericValue;
+    }
+
+    public void setNumericValue(Double numericValue) {
+        this.numericValue = numericValue;
+    }
+
+    public String getTextValue() {
+        return textValue;
+    }
+
+    public void setTextValue(String textValue) {
+        this.textValue = textValue;
+    }
+}
@@ -0,0 +1,140 @@
+package com.manish.hardware.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "search_rollups")
+public class SearchRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Endpoint the queries went to: SEARCH or SUGGEST
+    @Column(nullable = false, length = 20)
+    private String endpoint;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDateTime periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDateTime periodEnd;
+
+    @Column(name = "total_queries", nullable = false)
+    private Long totalQueries;
+
+    @Column(name = "zero_result_queries", nullable = false)
+    private Long zeroResultQueries;
+
+    // Latency percentiles in microseconds
+    @Column(name = "p50_micros", nullable = false)
+    private Long p50Micros;
+
+    @Column(name = "p95_micros", nullable = false)
+    private Long p95Micros;
+
+    @Column(name = "p99_micros", nullable = false)
+    private Long p99Micros;
+
+    @Column(name = "max_micros", nullable = false)
+    private Long maxMicros;
+
+    // Constructors
+    public SearchRollup() {
+    }
+
+    public SearchRollup(String endpoint, LocalDateTime periodStart, LocalDateTime periodEnd, Long totalQueries,
+            Long zeroResultQueries, Long p50Micros, Long p95Micros, Long p99Micros, Long maxMicros) {
+        this.endpoint = endpoint;
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.totalQueries = totalQueries;
+        this.zeroResultQueries = zeroResultQueries;
+        this.p50Micros = p50Micros;
+        this.p95Micros = p95Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public LocalDateTime getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDateTime periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public LocalDateTime getPeriodEnd() {
+        return periodEnd;
+    }
+
+    public void setPeriodEnd(LocalDateTime periodEnd) {
+        this.periodEnd = periodEnd;
+    }
+
+    public Long getTotalQueries() {
+        return totalQueries;
+    }
+
+    public void setTotalQueries(Long totalQueries) {
+        this.totalQueries = totalQueries;
+    }
+
+    public Long getZeroResultQueries() {
+        return zeroResultQueries;
+    }
+
+    public void setZeroResultQueries(Long zeroResultQueries) {
+        this.zeroResultQueries = zeroResultQueries;
+    }
+
+    public Long getP50Micros() {
+        return p50Micros;
+    }
+
+    public void setP50Micros(Long p50Micros) {
+        this.p50Micros = p50Micros;
+    }
+
+    public Long getP95Micros() {
+        return p95Micros;
+    }
+
+    public void setP95Micros(Long p95Micros) {
+        this.p95Micros = p95Micros;
+    }
+
+    public Long getP99Micros() {
+        return p99Micros;
+    }
+
+    public void setP99Micros(Long p99Micros) {
+        this.p99Micros = p99Micros;
+    }
+
+    public Long getMaxMicros() {
+        return maxMicros;
+    }
+
+    public void setMaxMicros(Long maxMicros) {
+        this.maxMicros = maxMicros;
+    }
+}
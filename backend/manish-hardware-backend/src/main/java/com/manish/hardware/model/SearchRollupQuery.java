@@ -0,0 +1,91 @@
+package com.manish.hardware.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "search_rollup_queries")
+public class SearchRollupQuery {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_id", nullable = false)
+    private Long rollupId;
+
+    // Normalized query text
+    @Column(name = "query_text", nullable = false, length = 100)
+    private String queryText;
+
+    // True for the zero-result list, false for the top-queries list
+    @Column(name = "zero_results", nullable = false)
+    private Boolean zeroResults;
+
+    // Upper bound of the times the query was seen; count minus error is a lower bound
+    @Column(name = "query_count", nullable = false)
+    private Long count;
+
+    @Column(name = "count_error", nullable = false)
+    private Long error;
+
+    // Constructors
+    public SearchRollupQuery() {
+    }
+
+    public SearchRollupQuery(Long rollupId, String queryText, Boolean zeroResults, Long count, Long error) {
+        this.rollupId = rollupId;
+        this.queryText = queryText;
+        this.zeroResults = zeroResults;
+        this.count = count;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getRollupId() {
+        return rollupId;
+    }
+
+    public void setRollupId(Long rollupId) {
+        this.rollupId = rollupId;
+    }
+
+    public String getQueryText() {
+        return queryText;
+    }
+
+    public void setQueryText(String queryText) {
+        this.queryText = queryText;
+    }
+
+    public Boolean getZeroResults() {
+        return zeroResults;
+    }
+
+    public void setZeroResults(Boolean zeroResults) {
+        this.zeroResults = zeroResults;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    public Long getError() {
+        return error;
+    }
+
+    public void setError(Long error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,38 @@
+package com.manish.hardware.repository;
+
+import com.manish.hardware.model.CatalogChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CatalogChangeRepository extends JpaRepository<CatalogChange, Long> {
+
+    // Find settled changes after a cursor, oldest first
+    List<CatalogChange> findByIdGreaterThanAndChangedAtBeforeOrderByIdAsc(Long id, LocalDateTime before, Limit limit);
+
+    // Find the newest settled change (cursor for a full sync)
+    Optional<CatalogChange> findFirstByChangedAtBeforeOrderByIdDesc(LocalDateTime before);
+
+    // Find the newest change of all
+    Optional<CatalogChange> findFirstByOrderByIdDesc();
+
+    // Whether any change after the cursor is older than the retention window (the client must resync fully)
+    boolean existsByIdGreaterThanAndChangedAtBefore(Long id, LocalDateTime before);
+
+    // Find changes older than the window that a later change to the same entity supersedes
+    @Query("SELECT c.id FROM CatalogChange c WHERE c.changedAt < :before AND EXISTS ("
+            + "SELECT n.id FROM CatalogChange n WHERE n.resourceType = c.resourceType "
+            + "AND n.entityId = c.entityId AND n.id > c.id) ORDER BY c.id")
+    List<Long> findSupersededIdsBefore(@Param("before") LocalDateTime before, Limit limit);
+
+    // Find the ids of entities of one type changed after a cursor
+    @Query("SELECT DISTINCT c.entityId FROM CatalogChange c WHERE c.resourceType = :resourceType AND c.id > :id")
+    List<Long> findEntityIdsChangedAfter(@Param("resourceType") String resourceType, @Param("id") Long id);
+}
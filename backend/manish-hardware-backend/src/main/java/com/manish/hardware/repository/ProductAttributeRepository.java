@@ -0,0 +1,18 @@
+package com.manish.hardware.repository;
+
+import com.manish.hardware.model.ProductAttribute;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProductAttributeRepository extends JpaRepository<ProductAttribute, Long> {
+
+    // Delete all attributes of a product
+    void deleteByProductId(Long productId);
+
+    // Find the attributes of some products (patching the catalog snapshot after a write)
+    List<ProductAttribute> findByProductIdIn(Collection<Long> productIds);
+}
@@ -1,13 +1,18 @@
 package com.manish.hardware.repository;
 
 import com.manish.hardware.model.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,16 +25,30 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     // Find all active products with pagination
     Page<Product> findByIsActiveTrue(Pageable pageable);
 
+    // Keyset scroll over active products (no OFFSET, no count)
+    Window<Product> findByIsActiveTrue(ScrollPosition position, Sort sort, Limit limit);
+
     // Find products by category
     List<Product> findByCategoryIdAndIsActiveTrue(Long categoryId);
 
     // Find products by category with pagination
     Page<Product> findByCategoryIdAndIsActiveTrue(Long categoryId, Pageable pageable);
 
+    // Keyset scroll over active products in a category (no OFFSET, no count)
+    Window<Product> findByCategoryIdAndIsActiveTrue(Long categoryId, ScrollPosition position, Sort sort, Limit limit);
+
     // Find product by id with translations
     @Query("SELECT p FROM Product p LEFT JOIN FETCH p.translations WHERE p.id = :id AND p.isActive = true")
     Optional<Product> findByIdWithTranslations(@Param("id") Long id);
 
+    // Find products with their translations in one query (batch load for a page of results)
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.translations WHERE p.id IN :ids")
+    List<Product> findAllWithTranslationsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Find all active products with their translations in one query (full sync)
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.translations WHERE p.isActive = true ORDER BY p.id")
+    List<Product> findAllActiveWithTranslations();
+
     // Find product by id and language code
     @Query("SELECT p FROM Product p LEFT JOIN FETCH p.translations t WHERE p.id = :id AND p.isActive = true AND t.languageCode = :languageCode")
     Optional<Product> findByIdAndLanguageCode(@Param("id") Long id, @Param("languageCode") String languageCode);
@@ -2,6 +2,7 @@ package com.manish.hardware.repository;
 
 import com.manish.hardware.model.ProductTranslation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,6 +14,11 @@ public interface ProductTranslationRepository extends JpaRepository<ProductTrans
     // Find all translations for a product
     List<ProductTranslation> findByProductId(Long productId);
 
+    // Find the translations of active products
+    @Query("SELECT t FROM ProductTranslation t "
+            + "WHERE t.productId IN (SELECT p.id FROM Product p WHERE p.isActive = true)")
+    List<ProductTranslation> findByActiveProduct();
+
     // Find translation by product and language
     Optional<ProductTranslation> findByProductIdAndLanguageCode(Long productId, String languageCode);
 
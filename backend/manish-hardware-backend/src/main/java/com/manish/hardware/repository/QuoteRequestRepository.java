@@ -4,6 +4,7 @@ import com.manish.hardware.model.QuoteRequest;
 import com.manish.hardware.model.QuoteRequest.QuoteStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -48,6 +49,10 @@ public interface QuoteRequestRepository extends JpaRepository<QuoteRequest, Long
     // Count all quotes
     long count();
 
+    // Count quotes per product (popularity signal for search ranking)
+    @Query("SELECT q.productId AS productId, COUNT(q) AS quoteCount FROM QuoteRequest q WHERE q.productId IS NOT NULL GROUP BY q.productId")
+    List<ProductQuoteCount> countQuotesByProduct();
+
     // Find recent quotes
     List<QuoteRequest> findTop10ByOrderByCreatedAtDesc();
 
@@ -55,10 +60,21 @@ public interface QuoteRequestRepository extends JpaRepository<QuoteRequest, Long
     @Query("SELECT q FROM QuoteRequest q WHERE LOWER(q.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR q.phone LIKE CONCAT('%', :searchTerm, '%')")
     Page<QuoteRequest> searchByNameOrPhone(@Param("searchTerm") String searchTerm, Pageable pageable);
 
+    // Search by name or phone as a slice (no count query)
+    @Query("SELECT q FROM QuoteRequest q WHERE LOWER(q.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR q.phone LIKE CONCAT('%', :searchTerm, '%')")
+    Slice<QuoteRequest> searchSliceByNameOrPhone(@Param("searchTerm") String searchTerm, Pageable pageable);
+
     // Find by status and date range
     @Query("SELECT q FROM QuoteRequest q WHERE q.status = :status AND q.createdAt BETWEEN :startDate AND :endDate")
     List<QuoteRequest> findByStatusAndDateRange(
             @Param("status") QuoteStatus status,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
+
+    // Quote count of one product
+    interface ProductQuoteCount {
+        Long getProductId();
+
+        long getQuoteCount();
+    }
 }
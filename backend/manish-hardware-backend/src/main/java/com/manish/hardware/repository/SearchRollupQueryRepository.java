@@ -0,0 +1,15 @@
+package com.manish.hardware.repository;
+
+import com.manish.hardware.model.SearchRollupQuery;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SearchRollupQueryRepository extends JpaRepository<SearchRollupQuery, Long> {
+
+    // Find the queries of several rollups, most frequent first
+    List<SearchRollupQuery> findByRollupIdInOrderByCountDesc(Collection<Long> rollupIds);
+}
@@ -0,0 +1,15 @@
+package com.manish.hardware.repository;
+
+import com.manish.hardware.model.SearchRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SearchRollupRepository extends JpaRepository<SearchRollup, Long> {
+
+    // Find rollups whose period started after a time, newest first
+    List<SearchRollup> findByPeriodStartAfterOrderByPeriodStartDesc(LocalDateTime after);
+}
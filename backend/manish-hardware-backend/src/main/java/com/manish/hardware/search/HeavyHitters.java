@@ -0,0 +1,147 @@
+package com.manish.hardware.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Space-Saving sketch of the most frequent strings in a stream, using a fixed
+ * number of counters however many distinct strings arrive. A string without a
+ * counter takes over the smallest one and inherits its count as its error, so
+ * every reported count is an upper bound and count minus error a lower bound;
+ * any string seen more than total / capacity times is guaranteed a counter.
+ * Counters sit in buckets of equal count kept in ascending order (the
+ * Stream-Summary layout), so both an increment and finding the smallest
+ * counter take constant time. Not thread-safe.
+ */
+final class HeavyHitters {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    // Bucket with the lowest count; buckets link upwards in ascending count order
+    private Bucket smallest;
+    private long total;
+
+    HeavyHitters(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.counters = new HashMap<>(this.capacity * 2);
+    }
+
+    void offer(String item) {
+        total++;
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            increment(counter);
+            return;
+        }
+        if (counters.size() < capacity) {
+            // A new count of one is never above the smallest bucket
+            if (smallest == null || smallest.count != 1) {
+                smallest = new Bucket(1, null, smallest);
+            }
+            add(new Counter(item, 0), smallest);
+            return;
+        }
+        // Any counter of the smallest bucket is evicted; the newcomer inherits its count as error
+        Counter evicted = smallest.counters.iterator().next();
+        counters.remove(evicted.item);
+        Counter replacement = new Counter(item, evicted.count);
+        Bucket bucket = evicted.bucket;
+        bucket.counters.remove(evicted);
+        add(replacement, bucket);
+        increment(replacement);
+    }
+
+    // Move a counter to the bucket one above its own, creating that bucket if needed
+    private void increment(Counter counter) {
+        Bucket bucket = counter.bucket;
+        long count = bucket.count + 1;
+        Bucket target = bucket.next;
+        if (target == null || target.count != count) {
+            target = new Bucket(count, bucket, target);
+        }
+        bucket.counters.remove(counter);
+        add(counter, target);
+        if (bucket.counters.isEmpty()) {
+            unlink(bucket);
+        }
+    }
+
+    private void add(Counter counter, Bucket bucket) {
+        counter.bucket = bucket;
+        counter.count = bucket.count;
+        bucket.counters.add(counter);
+        counters.put(counter.item, counter);
+    }
+
+    private void unlink(Bucket bucket) {
+        if (bucket.previous != null) {
+            bucket.previous.next = bucket.next;
+        } else {
+            smallest = bucket.next;
+        }
+        if (bucket.next != null) {
+            bucket.next.previous = bucket.previous;
+        }
+    }
+
+    // Up to limit tracked strings, highest count first
+    List<Counter> top(int limit) {
+        List<Counter> sorted = new ArrayList<>(counters.values());
+        sorted.sort(Comparator.comparingLong(Counter::getCount).reversed().thenComparing(Counter::getItem));
+        return sorted.subList(0, Math.min(Math.max(0, limit), sorted.size()));
+    }
+
+    // Strings offered so far, tracked or not
+    long total() {
+        return total;
+    }
+
+    // Counters sharing one count
+    private static final class Bucket {
+        private final long count;
+        private final Set<Counter> counters = new LinkedHashSet<>();
+        private Bucket previous;
+        private Bucket next;
+
+        private Bucket(long count, Bucket previous, Bucket next) {
+            this.count = count;
+            this.previous = previous;
+            this.next = next;
+            if (previous != null) {
+                previous.next = this;
+            }
+            if (next != null) {
+                next.previous = this;
+            }
+        }
+    }
+
+    static final class Counter {
+        private final String item;
+        private final long error;
+        private long count;
+        private Bucket bucket;
+
+        private Counter(String item, long error) {
+            this.item = item;
+            this.error = error;
+        }
+
+        String getItem() {
+            return item;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        long getError() {
+            return error;
+        }
+    }
+}
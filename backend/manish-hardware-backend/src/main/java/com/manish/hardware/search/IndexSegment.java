@@ -0,0 +1,190 @@
+package com.manish.hardware.search;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * On-disk copy of a {@link SearchIndex}, so a restarted node can skip
+ * tokenizing the catalog. Layout: magic, format version, the catalog change
+ * cursor the index is current up to, the rule text it was built with, the
+ * encoded index, and a CRC32 of everything before it. Numbers are varints and
+ * postings refer to documents by position, which keeps the file compact. The
+ * file is written to a temporary sibling and atomically moved into place, and
+ * read back through a memory mapping.
+ */
+final class IndexSegment {
+
+    private static final int MAGIC = 0x4D485349;
+    private static final int FORMAT_VERSION = 1;
+
+    private IndexSegment() {
+    }
+
+    // Write the index with the change cursor it is current up to, replacing any previous segment
+    static long save(SearchIndex index, long cursor, Path path) throws IOException {
+        Writer out = new Writer();
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(cursor);
+        out.writeNullableString(index.getRules().getSynonymSource());
+        out.writeNullableString(index.getRules().getUnitSource());
+        index.encode(out);
+        CRC32 crc = new CRC32();
+        crc.update(out.buffer(), 0, out.size());
+        out.writeLong(crc.getValue());
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporary, out.toByteArray());
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        return out.size();
+    }
+
+    // Read a segment built with the given rules; empty if there is none, it is damaged or the rules differ
+    static Optional<Loaded> load(Path path, SearchRules rules) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (mapped.capacity() < 8 + Long.BYTES || mapped.getInt(0) != MAGIC || mapped.getInt(4) != FORMAT_VERSION) {
+            return Optional.empty();
+        }
+        int bodyLength = mapped.capacity() - Long.BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(mapped.slice(0, bodyLength));
+        if (crc.getValue() != mapped.getLong(bodyLength)) {
+            return Optional.empty();
+        }
+
+        Reader in = new Reader(mapped.slice(8, bodyLength - 8));
+        long cursor = in.readLong();
+        if (!rules.hasSource(in.readNullableString(), in.readNullableString())) {
+            return Optional.empty();
+        }
+        return Optional.of(new Loaded(SearchIndex.decode(in, rules), cursor));
+    }
+
+    /**
+     * A decoded segment and the change cursor it is current up to.
+     */
+    static final class Loaded {
+        private final SearchIndex index;
+        private final long cursor;
+
+        private Loaded(SearchIndex index, long cursor) {
+            this.index = index;
+            this.cursor = cursor;
+        }
+
+        SearchIndex getIndex() {
+            return index;
+        }
+
+        long getCursor() {
+            return cursor;
+        }
+    }
+
+    static final class Writer extends ByteArrayOutputStream {
+
+        private Writer() {
+            super(1 << 16);
+        }
+
+        void writeInt(int value) {
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                write(value >>> shift);
+            }
+        }
+
+        void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        // Unsigned LEB128: seven bits per byte, high bit set on all but the last
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+
+        void writeNullableString(String value) {
+            write(value != null ? 1 : 0);
+            if (value != null) {
+                writeString(value);
+            }
+        }
+
+        private byte[] buffer() {
+            return buf;
+        }
+    }
+
+    static final class Reader {
+        private final ByteBuffer buffer;
+
+        private Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        long readLong() {
+            return buffer.getLong();
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte next = buffer.get();
+                value |= (long) (next & 0x7F) << shift;
+                if (next >= 0) {
+                    return value;
+                }
+            }
+        }
+
+        int readVarInt() {
+            return Math.toIntExact(readVarLong());
+        }
+
+        byte readByte() {
+            return buffer.get();
+        }
+
+        String readString() {
+            byte[] bytes = new byte[readVarInt()];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        String readNullableString() {
+            return buffer.get() != 0 ? readString() : null;
+        }
+    }
+}
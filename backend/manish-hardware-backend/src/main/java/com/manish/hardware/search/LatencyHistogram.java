@@ -0,0 +1,67 @@
+package com.manish.hardware.search;
+
+/**
+ * Fixed-size latency histogram in microseconds. Values below 8 get a bucket
+ * each; above that every power of two is split into 8 equal buckets, so a
+ * reported percentile is at most 12.5% above the true value. Latencies past
+ * 2^40 microseconds share the last bucket. Not thread-safe.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 8;
+    private static final int SUB_BITS = 3;
+    private static final int MAX_EXPONENT = 40;
+
+    private final long[] counts = new long[SUB_BUCKETS + (MAX_EXPONENT - SUB_BITS + 1) * SUB_BUCKETS];
+    private long count;
+    private long maxMicros;
+
+    void record(long elapsedNanos) {
+        long micros = Math.max(0, elapsedNanos / 1_000);
+        counts[bucket(micros)]++;
+        count++;
+        maxMicros = Math.max(maxMicros, micros);
+    }
+
+    // Smallest bucket bound with at least the given share (0 to 1) of values at or below it; 0 when empty
+    long percentileMicros(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(upperBound(bucket), maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+
+    long count() {
+        return count;
+    }
+
+    long maxMicros() {
+        return maxMicros;
+    }
+
+    private static int bucket(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_EXPONENT);
+        int sub = (int) (micros >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (exponent - SUB_BITS) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BITS;
+        int sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << (exponent - SUB_BITS)) - 1;
+    }
+}
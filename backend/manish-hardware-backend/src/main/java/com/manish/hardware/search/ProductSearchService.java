@@ -0,0 +1,533 @@
+package com.manish.hardware.search;
+
+import com.manish.hardware.catalog.CatalogChangedEvent;
+import com.manish.hardware.catalog.CatalogChangedEvent.Resource;
+import com.manish.hardware.catalog.CatalogSnapshot;
+import com.manish.hardware.catalog.ProductCatalog;
+import com.manish.hardware.catalog.ProductPopularity;
+import com.manish.hardware.catalog.SnapshotChanges;
+import com.manish.hardware.config.SearchConfig;
+import com.manish.hardware.config.SyncConfig;
+import com.manish.hardware.model.CatalogChange;
+import com.manish.hardware.model.Product;
+import com.manish.hardware.repository.CatalogChangeRepository;
+import com.manish.hardware.repository.ProductRepository;
+import com.manish.hardware.service.AppConfigService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves product search from an in-memory {@link SearchIndex}. The index is
+ * built from the catalog snapshot on first use and then kept current one
+ * product at a time as catalog writes commit. When the synonym or unit rules
+ * in app config change, a new index is built with them on a background thread
+ * and swapped in; searches keep using the old one until then.
+ * <p>
+ * With {@code app.search.index-path} set, the index is also saved to an
+ * {@link IndexSegment} file shortly after it changes and on shutdown. A
+ * restarted node loads that file at startup and re-indexes only the products
+ * in {@code catalog_changes} after the segment's cursor, instead of
+ * tokenizing the whole catalog again.
+ * <p>
+ * Results are cached by normalized query, language, category and page depth,
+ * tagged with a version that moves on every index write and index swap
+ * (and, for relevance rankings, on every quote count change).
+ * <p>
+ * Admins can rebuild the whole index from the database after bulk edits. The
+ * new index is filled in batches on the background thread while searches keep
+ * using the old one; products written meanwhile are replayed into it, its
+ * document count is checked against the catalog, and only then is it swapped in.
+ */
+@Service
+public class ProductSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchService.class);
+
+    // App config keys holding the search rules (see SearchRules for the format)
+    public static final String SYNONYMS_KEY = "search.synonyms";
+    public static final String UNITS_KEY = "search.units";
+
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    @Autowired
+    private ProductPopularity productPopularity;
+
+    @Autowired
+    private SearchConfig searchConfig;
+
+    @Autowired
+    private AppConfigService appConfigService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CatalogChangeRepository catalogChangeRepository;
+
+    @Autowired
+    private SyncConfig syncConfig;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean persistPending = new AtomicBoolean();
+    // Moves on after every change to the index contents (cached results from before are stale)
+    private final AtomicLong indexVersion = new AtomicLong();
+
+    private volatile SearchIndex index;
+    private SearchResultCache cache;
+    // Products refreshed into the catalog while a reindex runs (null when none does), replayed before the swap
+    private SnapshotChanges reindexChanges;
+    private volatile ReindexStatus reindexStatus = ReindexStatus.idle();
+
+    @PostConstruct
+    public void init() {
+        cache = new SearchResultCache(searchConfig.getCacheSize());
+    }
+
+    // Ids of active products matching every query token, optionally within a category
+    public List<Long> search(String query, String languageCode, Long categoryId) {
+        // Read before the index, so a result computed from a newer index is at worst cached as stale
+        long version = indexVersion.get();
+        SearchIndex current = current();
+        List<String> tokens = tokens(current, query, languageCode);
+        if (tokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return cache.get(cacheKey("search", tokens, languageCode, categoryId, 0), version,
+                () -> List.copyOf(current.search(tokens, categoryId)));
+    }
+
+    // Best limit matches by relevance (BM25 plus quote popularity), retrying with corrected spelling on no match
+    public SearchIndex.RankedHits rank(String query, String languageCode, Long categoryId, int limit) {
+        // Quote counts weigh in on relevance, so their version is part of a ranking's
+        long version = indexVersion.get() + productPopularity.getVersion();
+        SearchIndex current = current();
+        List<String> tokens = tokens(current, query, languageCode);
+        if (tokens.isEmpty()) {
+            return new SearchIndex.RankedHits(new ArrayList<>(), 0);
+        }
+        return cache.get(cacheKey("rank", tokens, languageCode, categoryId, limit), version,
+                () -> rank(current, tokens, categoryId, limit));
+    }
+
+    // Hit-rate counters of the result cache
+    public SearchResultCache.Stats getCacheStats() {
+        return cache.getStats();
+    }
+
+    private SearchIndex.RankedHits rank(SearchIndex current, List<String> tokens, Long categoryId, int limit) {
+        SearchIndex.RankedHits hits = current.rank(tokens, categoryId, limit, searchConfig,
+                productId -> productPopularity.getQuoteCount(productId));
+        if (hits.getTotal() > 0) {
+            return hits;
+        }
+        List<String> corrected = current.correct(tokens);
+        if (corrected.equals(tokens)) {
+            return hits;
+        }
+        SearchIndex.RankedHits correctedHits = current.rank(corrected, categoryId, limit, searchConfig,
+                productId -> productPopularity.getQuoteCount(productId));
+        return new SearchIndex.RankedHits(correctedHits.getIds(), correctedHits.getTotal(),
+                String.join(" ", corrected));
+    }
+
+    // Re-index the changed product (runs right after the catalog snapshot has been rebuilt)
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public synchronized void onCatalogChanged(CatalogChangedEvent event) {
+        SearchIndex current = index;
+        if (current != null && event.getResource() == Resource.CONFIG) {
+            rebuilder.execute(this::reloadRules);
+            return;
+        }
+        Long productId = event.getProductId();
+        if (current == null || productId == null) {
+            return;
+        }
+        productCatalog.current().getProduct(productId)
+                .ifPresentOrElse(current::index, () -> current.remove(productId));
+        indexVersion.incrementAndGet();
+        schedulePersist();
+    }
+
+    // Start a full rebuild from the database in the background; false if one is already running
+    public synchronized boolean startReindex() {
+        if (reindexStatus.isRunning()) {
+            return false;
+        }
+        reindexStatus = ReindexStatus.started(productRepository.countByIsActiveTrue());
+        reindexChanges = productCatalog.trackChanges();
+        try {
+            rebuilder.execute(this::reindex);
+        } catch (RejectedExecutionException e) {
+            productCatalog.stopTracking(reindexChanges);
+            reindexChanges = null;
+            reindexStatus = reindexStatus.failed("Search service is shutting down");
+            return false;
+        }
+        return true;
+    }
+
+    // Progress of the running reindex, or the outcome of the last one
+    public ReindexStatus getReindexStatus() {
+        return reindexStatus;
+    }
+
+    // Load the saved index right after startup so the first search does not wait for it
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (indexPath() != null) {
+            rebuilder.execute(this::current);
+        }
+    }
+
+    // Save pending changes before the node goes away, so its next start replays as little as possible
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+        if (persistPending.get()) {
+            persist();
+        }
+    }
+
+    SearchIndex current() {
+        SearchIndex current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    SearchRules rules = loadRules();
+                    CatalogSnapshot snapshot = productCatalog.current();
+                    current = restore(snapshot, rules);
+                    if (current == null) {
+                        current = build(snapshot, rules);
+                        schedulePersist();
+                    }
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Rebuild the index off the request path if the rules changed, then replay the products refreshed during the
+    // build into it and swap it in
+    private void reloadRules() {
+        SnapshotChanges changes = productCatalog.trackChanges();
+        try {
+            SearchRules rules = loadRules();
+            if (rules == index.getRules()) {
+                return;
+            }
+            SearchIndex rebuilt = build(productCatalog.current(), rules);
+            synchronized (this) {
+                // Read before draining: every change this snapshot holds was recorded before it was swapped in
+                CatalogSnapshot snapshot = productCatalog.current();
+                index = catchUp(rebuilt, changes.drain(), snapshot);
+                indexVersion.incrementAndGet();
+                schedulePersist();
+            }
+            // Search results changed without a product write; move their validators on
+            eventPublisher.publishEvent(CatalogChangedEvent.of(Resource.SEARCH));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to rebuild search index with new rules", e);
+        } finally {
+            productCatalog.stopTracking(changes);
+        }
+    }
+
+    // Fill a new index batch by batch (keyset scroll, translations fetched per batch), verify it and swap it in
+    private void reindex() {
+        try {
+            SearchIndex rebuilt = SearchIndex.build(List.of(), loadRules());
+            int batchSize = Math.max(1, searchConfig.getReindexBatchSize());
+            ScrollPosition position = ScrollPosition.keyset();
+            long indexed = 0;
+            while (true) {
+                Window<Product> window = productRepository.findByIsActiveTrue(position, Sort.by("id"),
+                        Limit.of(batchSize));
+                if (window.isEmpty()) {
+                    break;
+                }
+                List<Long> ids = window.map(Product::getId).toList();
+                for (Product product : productRepository.findAllWithTranslationsByIdIn(ids)) {
+                    rebuilt.index(product);
+                }
+                indexed += ids.size();
+                reindexStatus = reindexStatus.progressed(indexed);
+                if (!window.hasNext()) {
+                    break;
+                }
+                position = window.positionAt(window.size() - 1);
+            }
+            swapReindexed(rebuilt);
+        } catch (RuntimeException e) {
+            logger.warn("Search reindex failed; keeping the current index", e);
+            synchronized (this) {
+                productCatalog.stopTracking(reindexChanges);
+                reindexChanges = null;
+                reindexStatus = reindexStatus.failed(e.getMessage());
+            }
+        }
+    }
+
+    // Replay the products refreshed meanwhile, check the document count against that catalog and swap it in
+    private void swapReindexed(SearchIndex rebuilt) {
+        int expected;
+        synchronized (this) {
+            // Read before draining: every change this snapshot holds was recorded before it was swapped in
+            CatalogSnapshot snapshot = productCatalog.current();
+            rebuilt = catchUp(rebuilt, reindexChanges.drain(), snapshot);
+            productCatalog.stopTracking(reindexChanges);
+            reindexChanges = null;
+            expected = snapshot.getActiveProducts().size();
+            if (rebuilt.size() == expected) {
+                index = rebuilt;
+                indexVersion.incrementAndGet();
+                reindexStatus = reindexStatus.completed(rebuilt.size());
+                schedulePersist();
+            } else {
+                reindexStatus = reindexStatus.failed("Indexed " + rebuilt.size() + " products but the catalog has "
+                        + expected + "; keeping the current index");
+            }
+        }
+        if (rebuilt.size() != expected) {
+            logger.warn("Search reindex count mismatch: {}", reindexStatus.getMessage());
+            return;
+        }
+        logger.info("Reindexed {} products in {} ms", rebuilt.size(), reindexStatus.getDurationMs());
+        eventPublisher.publishEvent(CatalogChangedEvent.of(Resource.SEARCH));
+    }
+
+    // The index with the given products re-read from the snapshot (refreshes that land later reach it through
+    // onCatalogChanged once swapped in), or built from the snapshot when the whole catalog was reloaded
+    private SearchIndex catchUp(SearchIndex rebuilt, Set<Long> changedProductIds, CatalogSnapshot snapshot) {
+        if (changedProductIds == null) {
+            return build(snapshot, rebuilt.getRules());
+        }
+        for (Long productId : changedProductIds) {
+            snapshot.getProduct(productId).ifPresentOrElse(rebuilt::index, () -> rebuilt.remove(productId));
+        }
+        return rebuilt;
+    }
+
+    // Saved index with the products changed since it was written re-indexed, or null to build from scratch
+    private SearchIndex restore(CatalogSnapshot snapshot, SearchRules rules) {
+        Path path = indexPath();
+        if (path == null) {
+            return null;
+        }
+        long startedAt = System.nanoTime();
+        try {
+            Optional<IndexSegment.Loaded> segment = IndexSegment.load(path, rules);
+            if (segment.isEmpty()) {
+                logger.info("No usable search index segment at {}; building from the catalog", path);
+                return null;
+            }
+            long latest = catalogChangeRepository.findFirstByOrderByIdDesc().map(CatalogChange::getId).orElse(0L);
+            if (segment.get().getCursor() > latest) {
+                logger.info("Search index segment at {} is ahead of the change log; building from the catalog", path);
+                return null;
+            }
+            SearchIndex restored = segment.get().getIndex();
+            List<Long> changed = catalogChangeRepository.findEntityIdsChangedAfter(Resource.PRODUCT.name(),
+                    segment.get().getCursor());
+            for (Long productId : changed) {
+                snapshot.getProduct(productId).ifPresentOrElse(restored::index, () -> restored.remove(productId));
+            }
+            if (!changed.isEmpty()) {
+                schedulePersist();
+            }
+            logger.info("Loaded search index segment with {} products and replayed {} changes in {} ms",
+                    restored.size(), changed.size(), (System.nanoTime() - startedAt) / 1_000_000);
+            return restored;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to load search index segment from {}; building from the catalog", path, e);
+            return null;
+        }
+    }
+
+    // Save the index once the persist delay has passed; later changes within it are saved together
+    private void schedulePersist() {
+        if (indexPath() != null && persistPending.compareAndSet(false, true)) {
+            try {
+                rebuilder.schedule(this::persist, searchConfig.getPersistDelayMs(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; shutdown() saves whatever is pending
+            }
+        }
+    }
+
+    private void persist() {
+        persistPending.set(false);
+        SearchIndex current = index;
+        if (current == null) {
+            return;
+        }
+        try {
+            // The cursor is read first, so changes committed during the save are replayed again on load
+            LocalDateTime settledBefore = LocalDateTime.now().minus(Duration.ofMillis(syncConfig.getCommitGraceMs()));
+            long cursor = catalogChangeRepository.findFirstByChangedAtBeforeOrderByIdDesc(settledBefore)
+                    .map(CatalogChange::getId).orElse(0L);
+            long startedAt = System.nanoTime();
+            long bytes = IndexSegment.save(current, cursor, indexPath());
+            logger.debug("Saved search index segment ({} bytes, cursor {}) in {} ms", bytes, cursor,
+                    (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to save search index segment to {}", indexPath(), e);
+        }
+    }
+
+    private Path indexPath() {
+        String path = searchConfig.getIndexPath();
+        return path == null || path.isBlank() ? null : Path.of(path);
+    }
+
+    private SearchRules loadRules() {
+        Map<String, String> values = appConfigService.getConfigsAsMap(List.of(SYNONYMS_KEY, UNITS_KEY));
+        SearchIndex current = index;
+        if (current != null && current.getRules().hasSource(values.get(SYNONYMS_KEY), values.get(UNITS_KEY))) {
+            return current.getRules();
+        }
+        return SearchRules.compile(values.get(SYNONYMS_KEY), values.get(UNITS_KEY));
+    }
+
+    private SearchIndex build(CatalogSnapshot snapshot, SearchRules rules) {
+        long startedAt = System.nanoTime();
+        SearchIndex built = SearchIndex.build(snapshot.getActiveProducts(), rules);
+        logger.debug("Built search index with {} products, {} terms and {} rules in {} ms", built.size(),
+                built.termCount(), rules.ruleCount(), (System.nanoTime() - startedAt) / 1_000_000);
+        return built;
+    }
+
+    // Versions only grow, so their sum changes whenever either does
+    private static String cacheKey(String kind, List<String> tokens, String languageCode, Long categoryId,
+            int limit) {
+        return kind + '|' + languageCode + '|' + categoryId + '|' + limit + '|' + String.join(" ", tokens);
+    }
+
+    private static List<String> tokens(SearchIndex index, String query, String languageCode) {
+        return index.getRules().normalize(SearchTokenizer.forQuery(query, languageCode).tokenize(query));
+    }
+
+    /**
+     * State of the admin-triggered reindex: counts are active products expected
+     * (read when it started) and indexed so far; duration runs until it finishes.
+     */
+    public static class ReindexStatus {
+        public enum State { IDLE, RUNNING, COMPLETED, FAILED }
+
+        private final State state;
+        private final long expected;
+        private final long indexed;
+        private final LocalDateTime startedAt;
+        private final long startedNanos;
+        private final long durationMs;
+        private final String message;
+
+        private ReindexStatus(State state, long expected, long indexed, LocalDateTime startedAt, long startedNanos,
+                long durationMs, String message) {
+            this.state = state;
+            this.expected = expected;
+            this.indexed = indexed;
+            this.startedAt = startedAt;
+            this.startedNanos = startedNanos;
+            this.durationMs = durationMs;
+            this.message = message;
+        }
+
+        static ReindexStatus idle() {
+            return new ReindexStatus(State.IDLE, 0, 0, null, 0, 0, null);
+        }
+
+        static ReindexStatus started(long expected) {
+            return new ReindexStatus(State.RUNNING, expected, 0, LocalDateTime.now(), System.nanoTime(), 0, null);
+        }
+
+        ReindexStatus progressed(long indexed) {
+            return new ReindexStatus(state, expected, indexed, startedAt, startedNanos, elapsedMs(), null);
+        }
+
+        ReindexStatus completed(long indexed) {
+            return new ReindexStatus(State.COMPLETED, expected, indexed, startedAt, startedNanos, elapsedMs(), null);
+        }
+
+        ReindexStatus failed(String message) {
+            return new ReindexStatus(State.FAILED, expected, indexed, startedAt, startedNanos, elapsedMs(), message);
+        }
+
+        private long elapsedMs() {
+            return (System.nanoTime() - startedNanos) / 1_000_000;
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        public boolean isRunning() {
+            return state == State.RUNNING;
+        }
+
+        public long getExpected() {
+            return expected;
+        }
+
+        public long getIndexed() {
+            return indexed;
+        }
+
+        // Share of expected products indexed so far, 0 to 100
+        public int getPercent() {
+            return expected == 0 ? (state == State.COMPLETED ? 100 : 0) : (int) Math.min(100, indexed * 100 / expected);
+        }
+
+        public LocalDateTime getStartedAt() {
+            return startedAt;
+        }
+
+        public long getDurationMs() {
+            return isRunning() ? elapsedMs() : durationMs;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
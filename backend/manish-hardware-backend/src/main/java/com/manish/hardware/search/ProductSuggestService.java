@@ -0,0 +1,261 @@
+package com.manish.hardware.search;
+
+import com.manish.hardware.catalog.CatalogChangedEvent;
+import com.manish.hardware.catalog.CatalogSnapshot;
+import com.manish.hardware.catalog.ProductCatalog;
+import com.manish.hardware.catalog.ProductPopularity;
+import com.manish.hardware.catalog.QuoteSubmittedEvent;
+import com.manish.hardware.config.SearchConfig;
+import com.manish.hardware.dto.ProductDtos.Suggestion;
+import com.manish.hardware.model.Product;
+import com.manish.hardware.model.ProductTranslation;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Autocomplete over product names and brands. One {@link SuggestionTrie} per
+ * language is built from the catalog snapshot, weighted by quote popularity,
+ * and matches the typed prefix against the start of any word. When the
+ * catalog version moves on, a replacement is built on a background thread and
+ * swapped in; until then the previous tries keep answering. Quote count changes
+ * only reweight suggestions, so that rebuild is debounced.
+ */
+@Service
+public class ProductSuggestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSuggestService.class);
+
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    @Autowired
+    private ProductPopularity productPopularity;
+
+    @Autowired
+    private SearchConfig searchConfig;
+
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "suggestion-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final AtomicBoolean reweightPending = new AtomicBoolean();
+
+    private volatile Suggestions suggestions;
+
+    // Best suggestions for a typed prefix, heaviest first
+    public List<Suggestion> suggest(String prefix, String languageCode, int limit) {
+        List<String> tokens = SearchTokenizer.forQuery(prefix, languageCode).tokenize(prefix);
+        List<Suggestion> result = new ArrayList<>();
+        if (tokens.isEmpty() || limit <= 0) {
+            return result;
+        }
+        Suggestions current = current();
+        if (current.version != productCatalog.current().getVersion()) {
+            scheduleRebuild();
+        } else if (current.popularityVersion != productPopularity.getVersion()) {
+            scheduleReweight();
+        }
+        LanguageSuggestions language = current.forLanguage(languageCode);
+        for (int entry : language.trie.lookup(String.join(" ", tokens), limit)) {
+            result.add(language.entries.get(entry));
+        }
+        return result;
+    }
+
+    // Rebuild in the background once a product, translation or language write has committed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.affectsProducts() && suggestions != null) {
+            scheduleRebuild();
+        }
+    }
+
+    // Reweight by quote counts once a burst of quotes has settled
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuoteSubmitted(QuoteSubmittedEvent event) {
+        if (suggestions != null) {
+            scheduleReweight();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    private Suggestions current() {
+        Suggestions current = suggestions;
+        if (current == null) {
+            synchronized (this) {
+                current = suggestions;
+                if (current == null) {
+                    current = build(productCatalog.current());
+                    suggestions = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Queue one rebuild; requests arriving while it waits are folded into it
+    private void scheduleRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildPending.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    // Queue one delayed rebuild for changed quote counts; quotes arriving while it waits are folded into it
+    private void scheduleReweight() {
+        if (reweightPending.compareAndSet(false, true)) {
+            rebuilder.schedule(() -> {
+                reweightPending.set(false);
+                rebuild();
+            }, searchConfig.getSuggestionRebuildDelayMs(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void rebuild() {
+        try {
+            CatalogSnapshot snapshot = productCatalog.current();
+            Suggestions current = suggestions;
+            if (current != null && current.version == snapshot.getVersion()
+                    && current.popularityVersion == productPopularity.getVersion()) {
+                return;
+            }
+            Suggestions rebuilt = build(snapshot);
+            synchronized (this) {
+                if (suggestions == null || suggestions.version <= rebuilt.version) {
+                    suggestions = rebuilt;
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to rebuild product suggestions", e);
+        }
+    }
+
+    private Suggestions build(CatalogSnapshot snapshot) {
+        long startedAt = System.nanoTime();
+        // Read before the counts, so a quote landing mid-build leaves the result stale rather than missed
+        long popularityVersion = productPopularity.getVersion();
+        Map<String, Map<String, Weighted>> namesByLanguage = new TreeMap<>();
+        Map<String, Weighted> brands = new TreeMap<>();
+        for (Product product : snapshot.getActiveProducts()) {
+            double weight = 1 + productPopularity.getQuoteCount(product.getId());
+            for (ProductTranslation translation : product.getTranslations()) {
+                if (translation.getName() != null && !translation.getName().isBlank()) {
+                    namesByLanguage.computeIfAbsent(translation.getLanguageCode(), key -> new TreeMap<>())
+                            .computeIfAbsent(translation.getName().trim(), key -> new Weighted())
+                            .add(product.getId(), weight);
+                }
+            }
+            if (product.getBrand() != null && !product.getBrand().isBlank()) {
+                brands.computeIfAbsent(product.getBrand().trim(), key -> new Weighted()).add(product.getId(), weight);
+            }
+        }
+
+        Map<String, LanguageSuggestions> byLanguage = new HashMap<>();
+        int nodes = 0;
+        for (Map.Entry<String, Map<String, Weighted>> names : namesByLanguage.entrySet()) {
+            LanguageSuggestions language = new LanguageSuggestions(names.getKey(), names.getValue(), brands,
+                    searchConfig.getSuggestionLimit());
+            byLanguage.put(names.getKey(), language);
+            nodes += language.trie.nodeCount();
+        }
+        Suggestions built = new Suggestions(snapshot.getVersion(), popularityVersion,
+                snapshot.getDefaultLanguageCode(), byLanguage,
+                new LanguageSuggestions(null, Map.of(), brands, searchConfig.getSuggestionLimit()));
+        logger.debug("Built suggestions for catalog v{} ({} languages, {} trie nodes) in {} ms", built.version,
+                byLanguage.size(), nodes, (System.nanoTime() - startedAt) / 1_000_000);
+        return built;
+    }
+
+    // Summed popularity of the products sharing a name or brand
+    private static final class Weighted {
+        private double weight;
+        private int products;
+        private Long productId;
+
+        private void add(Long id, double productWeight) {
+            weight += productWeight;
+            products++;
+            productId = id;
+        }
+    }
+
+    private static final class LanguageSuggestions {
+        private final SuggestionTrie trie;
+        private final List<Suggestion> entries = new ArrayList<>();
+
+        private LanguageSuggestions(String languageCode, Map<String, Weighted> names, Map<String, Weighted> brands,
+                int topK) {
+            SuggestionTrie.Builder builder = new SuggestionTrie.Builder(topK);
+            SearchTokenizer nameTokenizer = SearchTokenizer.forLanguage(languageCode);
+            for (Map.Entry<String, Weighted> name : names.entrySet()) {
+                Weighted weighted = name.getValue();
+                add(builder, nameTokenizer, new Suggestion(name.getKey(), "product",
+                        weighted.products == 1 ? weighted.productId : null), weighted.weight);
+            }
+            SearchTokenizer brandTokenizer = SearchTokenizer.forLanguage(null);
+            for (Map.Entry<String, Weighted> brand : brands.entrySet()) {
+                add(builder, brandTokenizer, new Suggestion(brand.getKey(), "brand", null), brand.getValue().weight);
+            }
+            trie = builder.build();
+        }
+
+        // Key the suggestion by every word suffix, so "cem" also finds "Portland Cement"
+        private void add(SuggestionTrie.Builder builder, SearchTokenizer tokenizer, Suggestion suggestion,
+                double weight) {
+            int entry = builder.add(suggestion.getText(), weight);
+            entries.add(suggestion);
+            List<String> tokens = tokenizer.tokenize(suggestion.getText());
+            for (int i = 0; i < tokens.size(); i++) {
+                builder.key(entry, String.join(" ", tokens.subList(i, tokens.size())));
+            }
+        }
+    }
+
+    private static final class Suggestions {
+        private final long version;
+        private final long popularityVersion;
+        private final String defaultLanguageCode;
+        private final Map<String, LanguageSuggestions> byLanguage;
+        private final LanguageSuggestions brandsOnly;
+
+        private Suggestions(long version, long popularityVersion, String defaultLanguageCode,
+                Map<String, LanguageSuggestions> byLanguage, LanguageSuggestions brandsOnly) {
+            this.version = version;
+            this.popularityVersion = popularityVersion;
+            this.defaultLanguageCode = defaultLanguageCode;
+            this.byLanguage = byLanguage;
+            this.brandsOnly = brandsOnly;
+        }
+
+        // Requested language, else the default language, else brands alone
+        private LanguageSuggestions forLanguage(String languageCode) {
+            LanguageSuggestions language = languageCode != null ? byLanguage.get(languageCode) : null;
+            if (language == null) {
+                language = byLanguage.get(defaultLanguageCode);
+            }
+            return language != null ? language : brandsOnly;
+        }
+    }
+}
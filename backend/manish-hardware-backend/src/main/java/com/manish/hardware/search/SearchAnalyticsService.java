@@ -0,0 +1,199 @@
+package com.manish.hardware.search;
+
+import com.manish.hardware.config.SearchConfig;
+import com.manish.hardware.dto.SearchDtos.EndpointStats;
+import com.manish.hardware.dto.SearchDtos.QueryCount;
+import com.manish.hardware.model.SearchRollup;
+import com.manish.hardware.model.SearchRollupQuery;
+import com.manish.hardware.repository.SearchRollupQueryRepository;
+import com.manish.hardware.repository.SearchRollupRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregates search and suggest traffic in memory: a heavy-hitters sketch of
+ * the most frequent queries, another of the most frequent queries that found
+ * nothing, and a latency histogram, per endpoint. Memory is fixed by
+ * {@code app.search.analytics-capacity} however many distinct queries
+ * arrive. Every {@code app.search.analytics-flush-ms} the current window is
+ * written to {@code search_rollups} and a new one started.
+ */
+@Service
+public class SearchAnalyticsService {
+
+    public enum Endpoint { SEARCH, SUGGEST }
+
+    // Longest normalized query kept (longer ones are cut)
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    @Autowired
+    private SearchConfig searchConfig;
+
+    @Autowired
+    private SearchRollupRepository searchRollupRepository;
+
+    @Autowired
+    private SearchRollupQueryRepository searchRollupQueryRepository;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    private final Map<Endpoint, Window> windows = new EnumMap<>(Endpoint.class);
+
+    @PostConstruct
+    public void init() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            windows.put(endpoint, new Window(searchConfig.getAnalyticsCapacity()));
+        }
+    }
+
+    // Record one call: the query as typed, whether it found nothing and how long it took
+    public void record(Endpoint endpoint, String query, String languageCode, boolean zeroResults, long elapsedNanos) {
+        String normalized = normalize(query, languageCode);
+        Window window = windows.get(endpoint);
+        synchronized (window) {
+            window.record(normalized, zeroResults, elapsedNanos);
+        }
+    }
+
+    // Record a search answered 304 Not Modified before the controller ran; whether it found nothing is
+    // looked up in the search index, whose result cache normally holds the answer the client was sent
+    public void recordNotModified(String query, String languageCode, Long categoryId, int page,
+            long elapsedNanos) {
+        boolean zeroResults = page == 0
+                && productSearchService.rank(query, languageCode, categoryId, 1).getTotal() == 0;
+        record(Endpoint.SEARCH, query, languageCode, zeroResults, elapsedNanos);
+    }
+
+    // Stats of the window in progress (since the last rollup), per endpoint
+    public List<EndpointStats> getCurrentStats(int limit) {
+        List<EndpointStats> stats = new ArrayList<>();
+        for (Map.Entry<Endpoint, Window> entry : windows.entrySet()) {
+            synchronized (entry.getValue()) {
+                stats.add(entry.getValue().toStats(entry.getKey(), LocalDateTime.now(), limit));
+            }
+        }
+        return stats;
+    }
+
+    // Close the current window of every endpoint and save those that saw traffic
+    @Scheduled(fixedDelayString = "${app.search.analytics-flush-ms:300000}",
+            initialDelayString = "${app.search.analytics-flush-ms:300000}")
+    @Transactional
+    public void flush() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<Endpoint, Window> entry : windows.entrySet()) {
+            EndpointStats stats;
+            synchronized (entry.getValue()) {
+                stats = entry.getValue().toStats(entry.getKey(), now, searchConfig.getAnalyticsTopLimit());
+                entry.getValue().reset(now);
+            }
+            if (stats.getTotalQueries() > 0) {
+                save(stats);
+            }
+        }
+    }
+
+    // Saved rollups of the last hours, newest first, with up to limit queries per list
+    public List<EndpointStats> getRollups(int hours, int limit) {
+        List<SearchRollup> rollups = searchRollupRepository
+                .findByPeriodStartAfterOrderByPeriodStartDesc(LocalDateTime.now().minusHours(hours));
+        Map<Long, EndpointStats> byId = new HashMap<>();
+        List<EndpointStats> stats = new ArrayList<>();
+        for (SearchRollup rollup : rollups) {
+            EndpointStats rolled = new EndpointStats(rollup.getEndpoint(), rollup.getPeriodStart(),
+                    rollup.getPeriodEnd(), rollup.getTotalQueries(), rollup.getZeroResultQueries(),
+                    rollup.getP50Micros(), rollup.getP95Micros(), rollup.getP99Micros(), rollup.getMaxMicros());
+            byId.put(rollup.getId(), rolled);
+            stats.add(rolled);
+        }
+        if (byId.isEmpty()) {
+            return stats;
+        }
+        for (SearchRollupQuery query : searchRollupQueryRepository.findByRollupIdInOrderByCountDesc(byId.keySet())) {
+            EndpointStats rolled = byId.get(query.getRollupId());
+            List<QueryCount> list = query.getZeroResults() ? rolled.getZeroResultTopQueries() : rolled.getTopQueries();
+            if (list.size() < limit) {
+                list.add(new QueryCount(query.getQueryText(), query.getCount(), query.getError()));
+            }
+        }
+        return stats;
+    }
+
+    private void save(EndpointStats stats) {
+        SearchRollup rollup = searchRollupRepository.save(new SearchRollup(stats.getEndpoint(),
+                stats.getPeriodStart(), stats.getPeriodEnd(), stats.getTotalQueries(), stats.getZeroResultQueries(),
+                stats.getP50Micros(), stats.getP95Micros(), stats.getP99Micros(), stats.getMaxMicros()));
+        List<SearchRollupQuery> queries = new ArrayList<>();
+        for (QueryCount query : stats.getTopQueries()) {
+            queries.add(new SearchRollupQuery(rollup.getId(), query.getQuery(), false, query.getCount(),
+                    query.getError()));
+        }
+        for (QueryCount query : stats.getZeroResultTopQueries()) {
+            queries.add(new SearchRollupQuery(rollup.getId(), query.getQuery(), true, query.getCount(),
+                    query.getError()));
+        }
+        searchRollupQueryRepository.saveAll(queries);
+    }
+
+    // Same normalization as the search itself, so "Cement " and "cement" count as one query
+    private static String normalize(String query, String languageCode) {
+        if (query == null) {
+            return "";
+        }
+        String normalized = String.join(" ", SearchTokenizer.forQuery(query, languageCode).tokenize(query));
+        return normalized.length() > MAX_QUERY_LENGTH ? normalized.substring(0, MAX_QUERY_LENGTH) : normalized;
+    }
+
+    private static final class Window {
+        private final int capacity;
+        private LocalDateTime startedAt = LocalDateTime.now();
+        private HeavyHitters queries;
+        private HeavyHitters zeroResultQueries;
+        private LatencyHistogram latencies;
+
+        private Window(int capacity) {
+            this.capacity = capacity;
+            reset(startedAt);
+        }
+
+        private void record(String query, boolean zeroResults, long elapsedNanos) {
+            queries.offer(query);
+            if (zeroResults) {
+                zeroResultQueries.offer(query);
+            }
+            latencies.record(elapsedNanos);
+        }
+
+        private EndpointStats toStats(Endpoint endpoint, LocalDateTime now, int limit) {
+            EndpointStats stats = new EndpointStats(endpoint.name(), startedAt, now, queries.total(),
+                    zeroResultQueries.total(), latencies.percentileMicros(0.50), latencies.percentileMicros(0.95),
+                    latencies.percentileMicros(0.99), latencies.maxMicros());
+            for (HeavyHitters.Counter counter : queries.top(limit)) {
+                stats.getTopQueries().add(new QueryCount(counter.getItem(), counter.getCount(), counter.getError()));
+            }
+            for (HeavyHitters.Counter counter : zeroResultQueries.top(limit)) {
+                stats.getZeroResultTopQueries()
+                        .add(new QueryCount(counter.getItem(), counter.getCount(), counter.getError()));
+            }
+            return stats;
+        }
+
+        private void reset(LocalDateTime now) {
+            startedAt = now;
+            queries = new HeavyHitters(capacity);
+            zeroResultQueries = new HeavyHitters(capacity);
+            latencies = new LatencyHistogram();
+        }
+    }
+}
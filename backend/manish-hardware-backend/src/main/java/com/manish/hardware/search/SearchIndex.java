@@ -0,0 +1,497 @@
+package com.manish.hardware.search;
+
+import com.manish.hardware.config.SearchConfig;
+import com.manish.hardware.model.Product;
+import com.manish.hardware.model.ProductTranslation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Inverted index over product translation names, descriptions and brands.
+ * Terms are kept sorted so a query token matches every term it is a prefix
+ * of; all query tokens must match (AND). Products are re-indexed one at a
+ * time as they change, under a write lock that readers only briefly wait on.
+ * Ranked queries score matches with field-weighted BM25 and keep only the
+ * best {@code limit} in a bounded heap. Name terms also feed a spelling
+ * dictionary used to correct tokens that match nothing. Terms from
+ * Devanagari-language translations are also reachable through their
+ * {@link Transliteration} key, so "dhalaan" finds "ढलान" without a second
+ * set of postings. Product text passes through the index's {@link SearchRules}
+ * (units, then synonym expansion); queries must be normalized with the same rules.
+ */
+public class SearchIndex {
+
+    // Indexed product fields (postings keep a term frequency per field)
+    public enum Field {
+        NAME, DESCRIPTION, BRAND
+    }
+
+    private final NavigableMap<String, Map<Long, int[]>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final long[] totalFieldLengths = new long[Field.values().length];
+    // Number of products using each term in a name (the spelling vocabulary)
+    private final Map<String, Integer> nameFrequencies = new HashMap<>();
+    private final SpellingDictionary dictionary = new SpellingDictionary();
+    // Phonetic key to the Devanagari-language terms that share it
+    private final Map<String, Set<String>> transliterations = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final SearchRules rules;
+
+    private SearchIndex(SearchRules rules) {
+        this.rules = rules;
+    }
+
+    // Build an index over the given products
+    public static SearchIndex build(Collection<Product> products) {
+        return build(products, SearchRules.none());
+    }
+
+    // Build an index over the given products, applying synonym and unit rules
+    public static SearchIndex build(Collection<Product> products, SearchRules rules) {
+        SearchIndex index = new SearchIndex(rules);
+        for (Product product : products) {
+            index.index(product);
+        }
+        return index;
+    }
+
+    // Add or replace a product
+    public void index(Product product) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        int[] fieldLengths = new int[Field.values().length];
+        Map<String, String> phoneticKeys = new HashMap<>();
+        for (ProductTranslation translation : product.getTranslations()) {
+            SearchTokenizer tokenizer = SearchTokenizer.forLanguage(translation.getLanguageCode());
+            List<String> nameTokens = rules.normalize(tokenizer.tokenize(translation.getName()));
+            List<String> descriptionTokens = rules.normalize(tokenizer.tokenize(translation.getDescription()));
+            count(frequencies, fieldLengths, nameTokens, Field.NAME);
+            count(frequencies, fieldLengths, descriptionTokens, Field.DESCRIPTION);
+            if (tokenizer.forDevanagari()) {
+                addPhoneticKeys(phoneticKeys, nameTokens);
+                addPhoneticKeys(phoneticKeys, descriptionTokens);
+            }
+        }
+        List<String> brandTokens = rules.normalize(SearchTokenizer.forLanguage(null).tokenize(product.getBrand()));
+        count(frequencies, fieldLengths, brandTokens, Field.BRAND);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(product.getId());
+            for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), key -> new HashMap<>()).put(product.getId(), entry.getValue());
+                if (entry.getValue()[Field.NAME.ordinal()] > 0) {
+                    nameFrequencies.merge(entry.getKey(), 1, Integer::sum);
+                    dictionary.add(entry.getKey());
+                }
+            }
+            for (Map.Entry<String, String> phoneticKey : phoneticKeys.entrySet()) {
+                transliterations.computeIfAbsent(phoneticKey.getValue(), key -> new HashSet<>())
+                        .add(phoneticKey.getKey());
+            }
+            documents.put(product.getId(), new Document(product.getCategoryId(), frequencies.keySet(), fieldLengths));
+            for (int field = 0; field < fieldLengths.length; field++) {
+                totalFieldLengths[field] += fieldLengths[field];
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Drop a product from the index
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ids of products matching every token (as a term prefix or transliteration), ascending, optionally by category
+    public List<Long> search(List<String> tokens, Long categoryId) {
+        lock.readLock().lock();
+        try {
+            Set<Long> matches = null;
+            for (String token : new LinkedHashSet<>(tokens)) {
+                Set<Long> tokenMatches = new HashSet<>();
+                for (Map<Long, int[]> termPostings : matching(token)) {
+                    tokenMatches.addAll(termPostings.keySet());
+                }
+                if (matches == null) {
+                    matches = tokenMatches;
+                } else {
+                    matches.retainAll(tokenMatches);
+                }
+                if (matches.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+            List<Long> result = new ArrayList<>();
+            if (matches == null) {
+                return result;
+            }
+            for (Long id : matches) {
+                if (categoryId == null || categoryId.equals(documents.get(id).categoryId)) {
+                    result.add(id);
+                }
+            }
+            result.sort(null);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best matches for every token by BM25 score plus popularity boost, with the total number of matches
+    public RankedHits rank(List<String> tokens, Long categoryId, int limit, SearchConfig config,
+            ToDoubleFunction<Long> popularity) {
+        double[] weights = {config.getNameWeight(), config.getDescriptionWeight(), config.getBrandWeight()};
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return new RankedHits(new ArrayList<>(), 0);
+            }
+            double[] averageLengths = new double[totalFieldLengths.length];
+            for (int field = 0; field < averageLengths.length; field++) {
+                averageLengths[field] = Math.max(1.0, (double) totalFieldLengths[field] / documentCount);
+            }
+
+            Map<Long, Double> scores = null;
+            for (String token : new LinkedHashSet<>(tokens)) {
+                // A token scores as its best-matching expansion, so a short prefix is not counted many times
+                Map<Long, Double> tokenScores = new HashMap<>();
+                for (Map<Long, int[]> termPostings : matching(token)) {
+                    double idf = Math.log(1 + (documentCount - termPostings.size() + 0.5)
+                            / (termPostings.size() + 0.5));
+                    for (Map.Entry<Long, int[]> posting : termPostings.entrySet()) {
+                        Document document = documents.get(posting.getKey());
+                        if (categoryId != null && !categoryId.equals(document.categoryId)) {
+                            continue;
+                        }
+                        double frequency = 0;
+                        for (int field = 0; field < weights.length; field++) {
+                            int termFrequency = posting.getValue()[field];
+                            if (termFrequency > 0) {
+                                frequency += weights[field] * termFrequency / (1 - config.getB()
+                                        + config.getB() * document.fieldLengths[field] / averageLengths[field]);
+                            }
+                        }
+                        double score = idf * frequency / (config.getK1() + frequency);
+                        tokenScores.merge(posting.getKey(), score, Math::max);
+                    }
+                }
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return new RankedHits(new ArrayList<>(), 0);
+                }
+            }
+            if (scores == null) {
+                return new RankedHits(new ArrayList<>(), 0);
+            }
+
+            // Min-heap of the best hits seen so far; the weakest is evicted once the heap is full
+            int capacity = Math.max(1, Math.min(limit, scores.size()));
+            PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>(capacity,
+                    (left, right) -> left.getValue().equals(right.getValue())
+                            ? Long.compare(right.getKey(), left.getKey())
+                            : Double.compare(left.getValue(), right.getValue()));
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                double boosted = entry.getValue()
+                        + config.getPopularityBoost() * Math.log1p(popularity.applyAsDouble(entry.getKey()));
+                best.offer(Map.entry(entry.getKey(), boosted));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            Long[] ranked = new Long[best.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = best.poll().getKey();
+            }
+            return new RankedHits(List.of(ranked), scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Replace tokens that match no term with the closest name term, where one exists
+    public List<String> correct(List<String> tokens) {
+        lock.readLock().lock();
+        try {
+            List<String> corrected = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                if (hasPrefix(token) || !transliterated(token).isEmpty()) {
+                    corrected.add(token);
+                } else {
+                    corrected.add(dictionary.correct(token, term -> nameFrequencies.getOrDefault(term, 0))
+                            .orElse(token));
+                }
+            }
+            return corrected;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Rules product text was indexed with (queries must be normalized with the same rules)
+    public SearchRules getRules() {
+        return rules;
+    }
+
+    // Write the index for a segment file: documents in map order, then terms in order with their postings
+    void encode(IndexSegment.Writer out) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> positions = new HashMap<>(documents.size() * 2);
+            out.writeVarLong(documents.size());
+            for (Map.Entry<Long, Document> entry : documents.entrySet()) {
+                positions.put(entry.getKey(), positions.size());
+                out.writeVarLong(entry.getKey());
+                out.writeVarLong(entry.getValue().categoryId != null ? entry.getValue().categoryId + 1 : 0);
+                for (int length : entry.getValue().fieldLengths) {
+                    out.writeVarLong(length);
+                }
+            }
+            out.writeVarLong(postings.size());
+            String previous = "";
+            for (Map.Entry<String, Map<Long, int[]>> entry : postings.entrySet()) {
+                // Sorted terms share long prefixes with their predecessor; only the rest is stored
+                String term = entry.getKey();
+                int shared = sharedPrefix(previous, term);
+                out.writeVarLong(shared);
+                out.writeString(term.substring(shared));
+                out.write(transliterated(term).contains(term) ? 1 : 0);
+                out.writeVarLong(entry.getValue().size());
+                for (Map.Entry<Long, int[]> posting : entry.getValue().entrySet()) {
+                    out.writeVarLong(positions.get(posting.getKey()));
+                    for (int frequency : posting.getValue()) {
+                        out.writeVarLong(frequency);
+                    }
+                }
+                previous = term;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Rebuild an index from its encoded form, including the derived spelling and transliteration maps
+    static SearchIndex decode(IndexSegment.Reader in, SearchRules rules) {
+        SearchIndex index = new SearchIndex(rules);
+        int fieldCount = Field.values().length;
+        Long[] ids = new Long[in.readVarInt()];
+        Document[] byPosition = new Document[ids.length];
+        for (int position = 0; position < ids.length; position++) {
+            ids[position] = in.readVarLong();
+            long categoryId = in.readVarLong();
+            int[] fieldLengths = new int[fieldCount];
+            for (int field = 0; field < fieldCount; field++) {
+                fieldLengths[field] = in.readVarInt();
+                index.totalFieldLengths[field] += fieldLengths[field];
+            }
+            byPosition[position] = new Document(categoryId != 0 ? categoryId - 1 : null, new HashSet<>(),
+                    fieldLengths);
+            index.documents.put(ids[position], byPosition[position]);
+        }
+        int termCount = in.readVarInt();
+        String previous = "";
+        for (int t = 0; t < termCount; t++) {
+            String term = previous.substring(0, in.readVarInt()) + in.readString();
+            boolean transliterable = in.readByte() != 0;
+            int postingCount = in.readVarInt();
+            Map<Long, int[]> termPostings = new HashMap<>(postingCount * 2);
+            int inNames = 0;
+            for (int p = 0; p < postingCount; p++) {
+                int position = in.readVarInt();
+                int[] frequencies = new int[fieldCount];
+                for (int field = 0; field < fieldCount; field++) {
+                    frequencies[field] = in.readVarInt();
+                }
+                termPostings.put(ids[position], frequencies);
+                byPosition[position].terms.add(term);
+                if (frequencies[Field.NAME.ordinal()] > 0) {
+                    inNames++;
+                }
+            }
+            index.postings.put(term, termPostings);
+            if (inNames > 0) {
+                index.nameFrequencies.put(term, inNames);
+                index.dictionary.add(term);
+            }
+            String key = transliterable ? Transliteration.key(term) : null;
+            if (key != null) {
+                index.transliterations.computeIfAbsent(key, k -> new HashSet<>()).add(term);
+            }
+            previous = term;
+        }
+        return index;
+    }
+
+    // Number of indexed products
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Number of distinct terms
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean hasPrefix(String token) {
+        String next = postings.ceilingKey(token);
+        return next != null && next.startsWith(token);
+    }
+
+    // Postings of every term the token is a prefix of, plus terms sharing its phonetic key
+    private Collection<Map<Long, int[]>> matching(String token) {
+        Collection<Map<Long, int[]>> prefixed = postings.subMap(token, true, token + Character.MAX_VALUE, true)
+                .values();
+        Set<String> related = transliterated(token);
+        if (related.isEmpty()) {
+            return prefixed;
+        }
+        List<Map<Long, int[]>> matches = new ArrayList<>(prefixed);
+        for (String term : related) {
+            if (!term.startsWith(token)) {
+                matches.add(postings.get(term));
+            }
+        }
+        return matches;
+    }
+
+    private Set<String> transliterated(String token) {
+        String key = Transliteration.key(token);
+        return key != null ? transliterations.getOrDefault(key, Set.of()) : Set.of();
+    }
+
+    private void removeLocked(Long productId) {
+        Document previous = documents.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        for (int field = 0; field < totalFieldLengths.length; field++) {
+            totalFieldLengths[field] -= previous.fieldLengths[field];
+        }
+        for (String term : previous.terms) {
+            Map<Long, int[]> termPostings = postings.get(term);
+            if (termPostings.remove(productId)[Field.NAME.ordinal()] > 0) {
+                nameFrequencies.computeIfPresent(term, (key, count) -> count > 1 ? count - 1 : null);
+            }
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+                String key = Transliteration.key(term);
+                if (key != null) {
+                    transliterations.computeIfPresent(key, (k, terms) -> terms.remove(term) && terms.isEmpty()
+                            ? null : terms);
+                }
+            }
+        }
+    }
+
+    // Length of the common prefix, never splitting a surrogate pair
+    private static int sharedPrefix(String previous, String term) {
+        int shared = 0;
+        int limit = Math.min(previous.length(), term.length());
+        while (shared < limit && previous.charAt(shared) == term.charAt(shared)) {
+            shared++;
+        }
+        if (shared > 0 && Character.isHighSurrogate(term.charAt(shared - 1))) {
+            shared--;
+        }
+        return shared;
+    }
+
+    private static void addPhoneticKeys(Map<String, String> phoneticKeys, List<String> tokens) {
+        for (String token : tokens) {
+            if (!phoneticKeys.containsKey(token)) {
+                String key = Transliteration.key(token);
+                if (key != null) {
+                    phoneticKeys.put(token, key);
+                }
+            }
+        }
+    }
+
+    // Synonym expansions count as terms of the field but not towards its length
+    private void count(Map<String, int[]> frequencies, int[] fieldLengths, List<String> tokens, Field field) {
+        for (String token : tokens) {
+            frequencies.computeIfAbsent(token, key -> new int[Field.values().length])[field.ordinal()]++;
+        }
+        for (String expansion : rules.expand(tokens)) {
+            frequencies.computeIfAbsent(expansion, key -> new int[Field.values().length])[field.ordinal()]++;
+        }
+        fieldLengths[field.ordinal()] += tokens.size();
+    }
+
+    private static final class Document {
+        private final Long categoryId;
+        private final Set<String> terms;
+        private final int[] fieldLengths;
+
+        private Document(Long categoryId, Set<String> terms, int[] fieldLengths) {
+            this.categoryId = categoryId;
+            this.terms = terms;
+            this.fieldLengths = fieldLengths;
+        }
+    }
+
+    /**
+     * Ids of the best-ranked matches, best first, and how many products matched in total.
+     */
+    public static final class RankedHits {
+
+        private final List<Long> ids;
+        private final int total;
+        private final String correctedQuery;
+
+        public RankedHits(List<Long> ids, int total) {
+            this(ids, total, null);
+        }
+
+        public RankedHits(List<Long> ids, int total, String correctedQuery) {
+            this.ids = ids;
+            this.total = total;
+            this.correctedQuery = correctedQuery;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        // Query the hits were found for when the original query matched nothing, otherwise null
+        public String getCorrectedQuery() {
+            return correctedQuery;
+        }
+    }
+}
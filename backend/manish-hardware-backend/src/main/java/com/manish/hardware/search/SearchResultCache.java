@@ -0,0 +1,132 @@
+package com.manish.hardware.search;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded least-recently-used cache of search results. Each entry is tagged
+ * with the version of the data it was computed from; an entry whose tag no
+ * longer matches is recomputed on its next lookup, so writes never need to
+ * find and drop the entries they affect.
+ */
+public class SearchResultCache {
+
+    private final int capacity;
+    private final LinkedHashMap<String, Entry> entries;
+    private long hits;
+    private long misses;
+    private long stale;
+    private long evictions;
+
+    public SearchResultCache(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > SearchResultCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Cached value for the key if it was computed at this version, otherwise compute and cache it
+    @SuppressWarnings("unchecked")
+    public <V> V get(String key, long version, Supplier<V> compute) {
+        if (capacity <= 0) {
+            return compute.get();
+        }
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version == version) {
+                hits++;
+                return (V) entry.value;
+            }
+            if (entry != null) {
+                stale++;
+            }
+            misses++;
+        }
+        // Computed outside the lock; a concurrent miss on the same key just computes it twice
+        V value = compute.get();
+        synchronized (this) {
+            Entry current = entries.get(key);
+            if (current == null || current.version <= version) {
+                entries.put(key, new Entry(version, value));
+            }
+        }
+        return value;
+    }
+
+    // Drop every entry (counters are kept)
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(capacity, entries.size(), hits, misses, stale, evictions);
+    }
+
+    private static final class Entry {
+        private final long version;
+        private final Object value;
+
+        private Entry(long version, Object value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Cache counters since startup; stale lookups found an entry from an older version and are also misses.
+     */
+    public static class Stats {
+        private final int capacity;
+        private final int size;
+        private final long hits;
+        private final long misses;
+        private final long stale;
+        private final long evictions;
+
+        public Stats(int capacity, int size, long hits, long misses, long stale, long evictions) {
+            this.capacity = capacity;
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.stale = stale;
+            this.evictions = evictions;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getStale() {
+            return stale;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+}
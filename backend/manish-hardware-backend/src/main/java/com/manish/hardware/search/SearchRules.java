@@ -0,0 +1,198 @@
+package com.manish.hardware.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Admin-managed synonym and unit rules, compiled for the search pipeline.
+ * <p>
+ * Synonyms are groups of equivalent phrases, one group per line (or
+ * {@code ;}), phrases separated by commas: {@code rod, tmt bar, rebar}. A
+ * product mentioning any phrase of a group is indexed under every phrase of
+ * it, so queries need no rewriting and keep prefix matching. Phrases are
+ * matched with a trie over tokens, longest first.
+ * <p>
+ * Units map aliases to a canonical unit, {@code mm: millimeter, millimetre},
+ * and are applied to product text and queries alike: a number followed by a
+ * unit, with or without a space, becomes one token ({@code 10 MM} and
+ * {@code 10millimetre} both become {@code 10mm}).
+ */
+public final class SearchRules {
+
+    private static final SearchRules NONE = compile(null, null);
+
+    private final String synonymSource;
+    private final String unitSource;
+    private final PhraseNode phrases = new PhraseNode();
+    private final List<List<List<String>>> groups = new ArrayList<>();
+    private final Map<String, String> units = new HashMap<>();
+
+    private SearchRules(String synonymSource, String unitSource) {
+        this.synonymSource = synonymSource;
+        this.unitSource = unitSource;
+    }
+
+    public static SearchRules none() {
+        return NONE;
+    }
+
+    // Compile rule text as stored in app config (either may be null)
+    public static SearchRules compile(String synonyms, String units) {
+        SearchRules rules = new SearchRules(synonyms, units);
+        for (String line : lines(units)) {
+            int colon = line.indexOf(':');
+            List<String> canonical = tokenize(colon < 0 ? line : line.substring(0, colon));
+            if (canonical.size() != 1) {
+                continue;
+            }
+            rules.units.put(canonical.get(0), canonical.get(0));
+            if (colon >= 0) {
+                for (String alias : line.substring(colon + 1).split(",")) {
+                    List<String> aliasTokens = tokenize(alias);
+                    if (aliasTokens.size() == 1) {
+                        rules.units.put(aliasTokens.get(0), canonical.get(0));
+                    }
+                }
+            }
+        }
+        for (String line : lines(synonyms)) {
+            List<List<String>> group = new ArrayList<>();
+            for (String phrase : line.split(",")) {
+                List<String> tokens = rules.normalize(tokenize(phrase));
+                if (!tokens.isEmpty() && !group.contains(tokens)) {
+                    group.add(tokens);
+                }
+            }
+            if (group.size() > 1) {
+                rules.addGroup(group);
+            }
+        }
+        return rules;
+    }
+
+    // Whether these rules were compiled from the given text
+    public boolean hasSource(String synonyms, String units) {
+        return Objects.equals(synonymSource, synonyms) && Objects.equals(unitSource, units);
+    }
+
+    // Synonym rule text these rules were compiled from
+    public String getSynonymSource() {
+        return synonymSource;
+    }
+
+    // Unit rule text these rules were compiled from
+    public String getUnitSource() {
+        return unitSource;
+    }
+
+    // Join numbers with the unit that follows them, under the unit's canonical name
+    public List<String> normalize(List<String> tokens) {
+        if (units.isEmpty()) {
+            return tokens;
+        }
+        List<String> normalized = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            int digits = leadingDigits(token);
+            if (digits == token.length() && digits > 0 && i + 1 < tokens.size()
+                    && units.containsKey(tokens.get(i + 1))) {
+                normalized.add(token + units.get(tokens.get(++i)));
+            } else if (digits > 0 && digits < token.length() && units.containsKey(token.substring(digits))) {
+                normalized.add(token.substring(0, digits) + units.get(token.substring(digits)));
+            } else {
+                normalized.add(token);
+            }
+        }
+        return normalized;
+    }
+
+    // Tokens of the other phrases of every synonym group found in the (normalized) tokens
+    public List<String> expand(List<String> tokens) {
+        List<String> expansions = new ArrayList<>();
+        if (groups.isEmpty()) {
+            return expansions;
+        }
+        for (int start = 0; start < tokens.size(); ) {
+            PhraseNode node = phrases;
+            int matchedGroup = -1;
+            int matchedLength = 0;
+            for (int i = start; i < tokens.size(); i++) {
+                node = node.children.get(tokens.get(i));
+                if (node == null) {
+                    break;
+                }
+                if (node.group >= 0) {
+                    matchedGroup = node.group;
+                    matchedLength = i - start + 1;
+                }
+            }
+            if (matchedGroup < 0) {
+                start++;
+                continue;
+            }
+            List<String> matched = tokens.subList(start, start + matchedLength);
+            for (List<String> phrase : groups.get(matchedGroup)) {
+                if (!phrase.equals(matched)) {
+                    expansions.addAll(phrase);
+                }
+            }
+            start += matchedLength;
+        }
+        return expansions;
+    }
+
+    // Number of synonym groups and unit aliases
+    public int ruleCount() {
+        return groups.size() + units.size();
+    }
+
+    private void addGroup(List<List<String>> group) {
+        int id = groups.size();
+        groups.add(group);
+        for (List<String> phrase : group) {
+            PhraseNode node = phrases;
+            for (String token : phrase) {
+                node = node.children.computeIfAbsent(token, key -> new PhraseNode());
+            }
+            // A phrase listed in two groups keeps its first group
+            if (node.group < 0) {
+                node.group = id;
+            }
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        return SearchTokenizer.forQuery(text, null).tokenize(text);
+    }
+
+    private static Set<String> lines(String text) {
+        Set<String> lines = new LinkedHashSet<>();
+        if (text == null) {
+            return lines;
+        }
+        for (String line : text.split("[\\r\\n;]+")) {
+            if (!line.isBlank()) {
+                lines.add(line.trim());
+            }
+        }
+        return lines;
+    }
+
+    private static int leadingDigits(String token) {
+        int digits = 0;
+        while (digits < token.length() && Character.isDigit(token.charAt(digits))) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private static final class PhraseNode {
+        private final Map<String, PhraseNode> children = new HashMap<>(4);
+        private int group = -1;
+    }
+}
@@ -0,0 +1,107 @@
+package com.manish.hardware.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits text into lower-cased search tokens. Latin-script languages fold
+ * accents ("café" matches "cafe"); Devanagari languages keep their vowel signs
+ * and viramas, which carry meaning, but fold the variants people type
+ * interchangeably (chandrabindu and anusvara, invisible joiners). Digits from
+ * any script are mapped to ASCII so "१०" matches "10".
+ */
+public final class SearchTokenizer {
+
+    private static final Set<String> DEVANAGARI_LANGUAGES = Set.of("ne", "hi", "mr");
+
+    private static final SearchTokenizer LATIN = new SearchTokenizer(false);
+    private static final SearchTokenizer DEVANAGARI = new SearchTokenizer(true);
+
+    private final boolean devanagari;
+
+    private SearchTokenizer(boolean devanagari) {
+        this.devanagari = devanagari;
+    }
+
+    // Tokenizer for text stored in the given language
+    public static SearchTokenizer forLanguage(String languageCode) {
+        return languageCode != null && DEVANAGARI_LANGUAGES.contains(languageCode) ? DEVANAGARI : LATIN;
+    }
+
+    // Tokenizer for a query: the script the user actually typed wins over the requested language
+    public static SearchTokenizer forQuery(String query, String languageCode) {
+        if (query != null && query.codePoints().anyMatch(SearchTokenizer::isDevanagari)) {
+            return DEVANAGARI;
+        }
+        return forLanguage(languageCode);
+    }
+
+    // Whether this tokenizer is used for Devanagari-script languages
+    boolean forDevanagari() {
+        return devanagari;
+    }
+
+    public List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        // Decompose so Latin accents become separate marks; tokens are recomposed on flush
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+        StringBuilder token = new StringBuilder();
+        int previous = -1;
+        for (int i = 0; i < normalized.length(); ) {
+            int codePoint = normalized.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (isMark(codePoint)) {
+                // Marks never start a token; Latin accents are dropped
+                if (token.length() > 0 && (devanagari || !isLatin(previous))) {
+                    token.appendCodePoint(fold(codePoint));
+                }
+            } else if (Character.isDigit(codePoint)) {
+                token.append((char) ('0' + Character.digit(codePoint, 10)));
+                previous = codePoint;
+            } else if (Character.isLetter(codePoint)) {
+                token.appendCodePoint(codePoint);
+                previous = codePoint;
+            } else if (devanagari && (codePoint == '\u200C' || codePoint == '\u200D')) {
+                // Zero-width (non-)joiners only change glyph shaping
+                continue;
+            } else {
+                flush(token, tokens);
+                previous = -1;
+            }
+        }
+        flush(token, tokens);
+        return tokens;
+    }
+
+    private int fold(int codePoint) {
+        // Chandrabindu is commonly typed as anusvara
+        return devanagari && codePoint == '\u0901' ? '\u0902' : codePoint;
+    }
+
+    private static void flush(StringBuilder token, List<String> tokens) {
+        if (token.length() > 0) {
+            tokens.add(Normalizer.normalize(token, Normalizer.Form.NFC));
+            token.setLength(0);
+        }
+    }
+
+    private static boolean isMark(int codePoint) {
+        int type = Character.getType(codePoint);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                || type == Character.ENCLOSING_MARK;
+    }
+
+    private static boolean isLatin(int codePoint) {
+        return codePoint >= 0 && Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.LATIN;
+    }
+
+    static boolean isDevanagari(int codePoint) {
+        return Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.DEVANAGARI;
+    }
+}
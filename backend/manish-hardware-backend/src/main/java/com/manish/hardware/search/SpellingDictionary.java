@@ -0,0 +1,122 @@
+package com.manish.hardware.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * Symmetric-delete spelling dictionary. Every term is stored under each string
+ * obtained by deleting up to two of its characters; a misspelled token is
+ * corrected by generating its own deletes and looking them up, then verifying
+ * the candidates with an edit distance. Lookup cost depends on the token
+ * length only, not on the size of the vocabulary. Not thread-safe: the owning
+ * {@link SearchIndex} guards it with its lock.
+ */
+class SpellingDictionary {
+
+    // Longer terms are rarely misspelled in a way a delete search could fix, and cost many deletes
+    private static final int MAX_TERM_LENGTH = 20;
+
+    private final Map<String, List<String>> deletes = new HashMap<>();
+    private final Set<String> terms = new HashSet<>();
+
+    // Add a term (idempotent; terms are never removed, stale ones are filtered on lookup)
+    void add(String term) {
+        if (term.length() > MAX_TERM_LENGTH || !terms.add(term)) {
+            return;
+        }
+        for (String delete : deletes(term, maxDistance(term.length()))) {
+            deletes.computeIfAbsent(delete, key -> new ArrayList<>(2)).add(term);
+        }
+    }
+
+    // Closest live term within the edit budget for the token's length; ties go to the more frequent term
+    Optional<String> correct(String token, ToIntFunction<String> frequency) {
+        int maxDistance = maxDistance(token.length());
+        if (maxDistance == 0 || token.length() > MAX_TERM_LENGTH) {
+            return Optional.empty();
+        }
+        String best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        int bestFrequency = 0;
+        for (String delete : deletes(token, maxDistance)) {
+            for (String candidate : deletes.getOrDefault(delete, List.of())) {
+                int candidateFrequency = frequency.applyAsInt(candidate);
+                if (candidateFrequency == 0) {
+                    continue;
+                }
+                int distance = distance(token, candidate, maxDistance);
+                if (distance < bestDistance || (distance == bestDistance && (candidateFrequency > bestFrequency
+                        || (candidateFrequency == bestFrequency && candidate.compareTo(best) < 0)))) {
+                    best = candidate;
+                    bestDistance = distance;
+                    bestFrequency = candidateFrequency;
+                }
+            }
+        }
+        return bestDistance <= maxDistance ? Optional.of(best) : Optional.empty();
+    }
+
+    // Edit budget by length: short tokens are too ambiguous to correct
+    static int maxDistance(int length) {
+        if (length < 3) {
+            return 0;
+        }
+        return length <= 5 ? 1 : 2;
+    }
+
+    // The word and every string reachable from it by deleting up to maxDistance characters
+    static Set<String> deletes(String word, int maxDistance) {
+        Set<String> result = new HashSet<>();
+        result.add(word);
+        List<String> frontier = List.of(word);
+        for (int depth = 0; depth < maxDistance; depth++) {
+            List<String> next = new ArrayList<>();
+            for (String current : frontier) {
+                for (int i = 0; i < current.length(); i++) {
+                    String delete = current.substring(0, i) + current.substring(i + 1);
+                    if (result.add(delete)) {
+                        next.add(delete);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return result;
+    }
+
+    // Optimal string alignment distance (adjacent transpositions count as one edit), or max + 1 when larger
+    static int distance(String source, String target, int max) {
+        if (Math.abs(source.length() - target.length()) > max) {
+            return max + 1;
+        }
+        int[][] d = new int[source.length() + 1][target.length() + 1];
+        for (int i = 0; i <= source.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= target.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= source.length(); i++) {
+            int rowMin = Integer.MAX_VALUE;
+            for (int j = 1; j <= target.length(); j++) {
+                int cost = source.charAt(i - 1) == target.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && source.charAt(i - 1) == target.charAt(j - 2)
+                        && source.charAt(i - 2) == target.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, d[i][j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+        }
+        return Math.min(d[source.length()][target.length()], max + 1);
+    }
+}
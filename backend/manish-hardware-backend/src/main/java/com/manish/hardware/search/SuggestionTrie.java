@@ -0,0 +1,186 @@
+package com.manish.hardware.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable prefix index for autocomplete. Each suggestion is reachable from
+ * one or more normalized keys; the trie is flattened into parallel arrays
+ * (children of a node are contiguous and sorted by label) and every node
+ * stores its best {@code topK} suggestions, so a lookup is one binary search
+ * per prefix character and no traversal of the subtree.
+ */
+public final class SuggestionTrie {
+
+    private static final SuggestionTrie EMPTY = new Builder(0).build();
+
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] topStart;
+    private final int[] top;
+    private final String[] texts;
+
+    private SuggestionTrie(char[] labels, int[] firstChild, int[] childCount, int[] topStart, int[] top,
+            String[] texts) {
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.topStart = topStart;
+        this.top = top;
+        this.texts = texts;
+    }
+
+    public static SuggestionTrie empty() {
+        return EMPTY;
+    }
+
+    // Best suggestions (as entry ids, heaviest first) whose keys start with the given normalized prefix
+    public int[] lookup(String prefix, int limit) {
+        int node = 0;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = child(node, prefix.charAt(i));
+            if (node < 0) {
+                return new int[0];
+            }
+        }
+        int from = topStart[node];
+        return Arrays.copyOfRange(top, from, from + Math.min(limit, topStart[node + 1] - from));
+    }
+
+    // Display text of an entry
+    public String getText(int entry) {
+        return texts[entry];
+    }
+
+    // Number of trie nodes
+    public int nodeCount() {
+        return labels.length;
+    }
+
+    private int child(int node, char label) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (labels[middle] < label) {
+                low = middle + 1;
+            } else if (labels[middle] > label) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Collects weighted entries and their keys, then builds the flattened trie.
+     */
+    public static final class Builder {
+
+        private final int topK;
+        private final List<String> texts = new ArrayList<>();
+        private final List<Double> weights = new ArrayList<>();
+        private final Map<String, Set<Integer>> keys = new TreeMap<>();
+
+        public Builder(int topK) {
+            this.topK = topK;
+        }
+
+        // Add an entry; returns its id
+        public int add(String text, double weight) {
+            texts.add(text);
+            weights.add(weight);
+            return texts.size() - 1;
+        }
+
+        // Make an entry reachable from every prefix of a normalized key
+        public Builder key(int entry, String key) {
+            if (!key.isEmpty()) {
+                keys.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(entry);
+            }
+            return this;
+        }
+
+        public SuggestionTrie build() {
+            Comparator<Integer> heaviestFirst = (left, right) -> {
+                int byWeight = Double.compare(weights.get(right), weights.get(left));
+                return byWeight != 0 ? byWeight : texts.get(left).compareTo(texts.get(right));
+            };
+
+            // Pointer trie first; it is discarded once flattened
+            Node root = new Node('\0');
+            for (Map.Entry<String, Set<Integer>> key : keys.entrySet()) {
+                Node node = root;
+                for (int i = 0; i < key.getKey().length(); i++) {
+                    node = node.child(key.getKey().charAt(i));
+                }
+                node.entries.addAll(key.getValue());
+            }
+            root.collectTop(topK, heaviestFirst);
+
+            // Breadth-first numbering keeps each node's children contiguous
+            List<Node> order = new ArrayList<>();
+            order.add(root);
+            for (int i = 0; i < order.size(); i++) {
+                order.addAll(order.get(i).children.values());
+            }
+            int size = order.size();
+            char[] labels = new char[size];
+            int[] firstChild = new int[size];
+            int[] childCount = new int[size];
+            int[] topStart = new int[size + 1];
+            int next = 1;
+            int topSize = 0;
+            for (int i = 0; i < size; i++) {
+                Node node = order.get(i);
+                labels[i] = node.label;
+                firstChild[i] = next;
+                childCount[i] = node.children.size();
+                next += node.children.size();
+                topStart[i] = topSize;
+                topSize += node.top.length;
+            }
+            topStart[size] = topSize;
+            int[] top = new int[topSize];
+            for (int i = 0; i < size; i++) {
+                System.arraycopy(order.get(i).top, 0, top, topStart[i], order.get(i).top.length);
+            }
+            return new SuggestionTrie(labels, firstChild, childCount, topStart, top, texts.toArray(new String[0]));
+        }
+    }
+
+    private static final class Node {
+        private final char label;
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        private final Set<Integer> entries = new LinkedHashSet<>();
+        private int[] top;
+
+        private Node(char label) {
+            this.label = label;
+        }
+
+        private Node child(char label) {
+            return children.computeIfAbsent(label, Node::new);
+        }
+
+        // Best entries of this subtree: its own entries merged with each child's best
+        private int[] collectTop(int topK, Comparator<Integer> heaviestFirst) {
+            Set<Integer> candidates = new LinkedHashSet<>(entries);
+            for (Node child : children.values()) {
+                for (int entry : child.collectTop(topK, heaviestFirst)) {
+                    candidates.add(entry);
+                }
+            }
+            top = candidates.stream().sorted(heaviestFirst).limit(topK).mapToInt(Integer::intValue).toArray();
+            return top;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.manish.hardware.search;
+
+/**
+ * Script-independent phonetic key for Nepali words, so "dhalaan" and "ढलान"
+ * (or "chhad" and "छड") reduce to the same key. Devanagari is first
+ * romanized with an inherent vowel after each consonant; the Latin spelling
+ * is then loosened the way people type Nepali in Latin script: aspiration is
+ * dropped, v/w/b and the sibilants merge, long and short vowels merge, and
+ * the "a" vowel (including the schwa that is usually not pronounced) is
+ * removed altogether.
+ */
+final class Transliteration {
+
+    // Romanization of Devanagari consonants क (U+0915) to ह (U+0939)
+    private static final String[] CONSONANTS = {
+            "k", "kh", "g", "gh", "ng", "ch", "chh", "j", "jh", "n",
+            "t", "th", "d", "dh", "n", "t", "th", "d", "dh", "n", "n",
+            "p", "ph", "b", "bh", "m", "y", "r", "r", "l", "l",
+            "l", "b", "sh", "sh", "s", "h"};
+
+    // Romanization of the independent vowels अ (U+0905) to औ (U+0914)
+    private static final String[] VOWELS = {
+            "a", "aa", "i", "ii", "u", "uu", "ri", "li", "e", "e", "e", "ai", "o", "o", "o", "au"};
+
+    // Romanization of the dependent vowel signs ा (U+093E) to ौ (U+094C)
+    private static final String[] VOWEL_SIGNS = {
+            "aa", "i", "ii", "u", "uu", "ri", "rii", "e", "e", "e", "ai", "o", "o", "o", "au"};
+
+    private static final int MIN_KEY_LENGTH = 2;
+
+    private Transliteration() {
+    }
+
+    // Phonetic key of a search term in either script, or null when the term has none worth matching on
+    static String key(String term) {
+        StringBuilder latin = new StringBuilder(term.length() * 2);
+        boolean schwa = false;
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (c >= '\u0915' && c <= '\u0939') {
+                latin.append(CONSONANTS[c - '\u0915']).append('a');
+                schwa = true;
+                continue;
+            }
+            if (c == '\u093C') {
+                // Nukta only modifies the consonant before it
+                continue;
+            }
+            if (schwa && ((c >= '\u093E' && c <= '\u094C') || c == '\u094D')) {
+                // A vowel sign replaces the inherent vowel; virama removes it
+                latin.setLength(latin.length() - 1);
+            }
+            schwa = false;
+            if (c >= '\u093E' && c <= '\u094C') {
+                latin.append(VOWEL_SIGNS[c - '\u093E']);
+            } else if (c >= '\u0905' && c <= '\u0914') {
+                latin.append(VOWELS[c - '\u0905']);
+            } else if (c == '\u0902') {
+                latin.append('n');
+            } else if (c >= 'a' && c <= 'z') {
+                latin.append(c);
+            } else if (c != '\u094D' && c != '\u0903') {
+                // Digits, other scripts and accented letters have no phonetic key
+                return null;
+            }
+        }
+        String key = loosen(latin);
+        return key.length() >= MIN_KEY_LENGTH ? key : null;
+    }
+
+    private static String loosen(CharSequence latin) {
+        String spelled = latin.toString()
+                .replace("chh", "c").replace("ch", "c")
+                .replace('v', 'b').replace('w', 'b').replace('z', 'j').replace('q', 'k').replace("x", "ks")
+                .replace("ai", "e").replace("au", "o");
+        StringBuilder key = new StringBuilder(spelled.length());
+        char previous = 0;
+        for (int i = 0; i < spelled.length(); i++) {
+            char c = spelled.charAt(i);
+            if (c == 'h' && previous != 0 && !isVowel(previous)) {
+                // Aspiration (kh, dh, bh) and "sh" are rarely typed consistently
+                continue;
+            }
+            if (c == 'a') {
+                previous = c;
+                continue;
+            }
+            if (c != previous) {
+                key.append(c);
+            }
+            previous = c;
+        }
+        return key.toString();
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+    }
+}
@@ -1,8 +1,11 @@
 package com.manish.hardware.service;
 
+import com.manish.hardware.catalog.CatalogChangedEvent;
+import com.manish.hardware.catalog.CatalogChangedEvent.Resource;
 import com.manish.hardware.model.AppConfig;
 import com.manish.hardware.repository.AppConfigRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +20,9 @@ public class AppConfigService {
     @Autowired
     private AppConfigRepository appConfigRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Get all configs
     public List<AppConfig> getAllConfigs() {
         return appConfigRepository.findAllByOrderByKeyNameAsc();
@@ -68,10 +74,10 @@ public class AppConfigService {
         if (existingConfig.isPresent()) {
             AppConfig config = existingConfig.get();
             config.setValue(value);
-            return appConfigRepository.save(config);
+            return published(appConfigRepository.save(config));
         } else {
             AppConfig newConfig = new AppConfig(keyName, value);
-            return appConfigRepository.save(newConfig);
+            return published(appConfigRepository.save(newConfig));
         }
     }
 
@@ -81,7 +87,7 @@ public class AppConfigService {
         if (appConfigRepository.existsByKeyName(config.getKeyName())) {
             throw new RuntimeException("Config with key '" + config.getKeyName() + "' already exists");
         }
-        return appConfigRepository.save(config);
+        return published(appConfigRepository.save(config));
     }
 
     // Update config
@@ -92,7 +98,7 @@ public class AppConfigService {
             AppConfig config = optionalConfig.get();
             config.setKeyName(configDetails.getKeyName());
             config.setValue(configDetails.getValue());
-            return appConfigRepository.save(config);
+            return published(appConfigRepository.save(config));
         }
         return null;
     }
@@ -102,6 +108,7 @@ public class AppConfigService {
     public boolean deleteConfig(Long id) {
         if (appConfigRepository.existsById(id)) {
             appConfigRepository.deleteById(id);
+            eventPublisher.publishEvent(new CatalogChangedEvent(Resource.CONFIG, id));
             return true;
         }
         return false;
@@ -112,6 +119,7 @@ public class AppConfigService {
     public boolean deleteConfigByKey(String keyName) {
         if (appConfigRepository.existsByKeyName(keyName)) {
             appConfigRepository.deleteByKeyName(keyName);
+            eventPublisher.publishEvent(CatalogChangedEvent.of(Resource.CONFIG));
             return true;
         }
         return false;
@@ -137,4 +145,10 @@ public class AppConfigService {
                 "map_zoom_level");
         return getConfigsAsMap(businessKeys);
     }
+
+    // Publish a config change to catalog listeners
+    private AppConfig published(AppConfig config) {
+        eventPublisher.publishEvent(new CatalogChangedEvent(Resource.CONFIG, config.getId()));
+        return config;
+    }
 }
@@ -1,8 +1,11 @@
 package com.manish.hardware.service;
 
+import com.manish.hardware.catalog.CatalogChangedEvent;
+import com.manish.hardware.catalog.CatalogChangedEvent.Resource;
 import com.manish.hardware.model.Banner;
 import com.manish.hardware.repository.BannerRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +18,9 @@ public class BannerService {
     @Autowired
     private BannerRepository bannerRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Get all active banners ordered by sort order
     public List<Banner> getAllActiveBanners() {
         return bannerRepository.findByIsActiveTrueOrderBySortOrderAsc();
@@ -33,7 +39,9 @@ public class BannerService {
     // Create banner
     @Transactional
     public Banner createBanner(Banner banner) {
-        return bannerRepository.save(banner);
+        Banner saved = bannerRepository.save(banner);
+        eventPublisher.publishEvent(new CatalogChangedEvent(Resource.BANNER, saved.getId()));
+        return saved;
     }
 
     // Update banner
@@ -47,7 +55,9 @@ public class BannerService {
             banner.setLinkUrl(bannerDetails.getLinkUrl());
             banner.setSortOrder(bannerDetails.getSortOrder());
             banner.setIsActive(bannerDetails.getIsActive());
-            return bannerRepository.save(banner);
+            Banner saved = bannerRepository.save(banner);
+            eventPublisher.publishEvent(new CatalogChangedEvent(Resource.BANNER, id));
+            return saved;
         }
         return null;
     }
@@ -60,6 +70,7 @@ public class BannerService {
             Banner banner = optionalBanner.get();
             banner.setIsActive(false);
             bannerRepository.save(banner);
+            eventPublisher.publishEvent(new CatalogChangedEvent(Resource.BANNER, id));
             return true;
         }
         return false;
@@ -70,6 +81,7 @@ public class BannerService {
     public boolean hardDeleteBanner(Long id) {
         if (bannerRepository.existsById(id)) {
             bannerRepository.deleteById(id);
+            eventPublisher.publishEvent(new CatalogChangedEvent(Resource.BANNER, id));
             return true;
         }
         return false;
@@ -83,6 +95,7 @@ public class BannerService {
             Banner banner = optionalBanner.get();
             banner.setSortOrder(sortOrder);
             bannerRepository.save(banner);
+            eventPublisher.publishEvent(new CatalogChangedEvent(Resource.BANNER, id));
         }
     }
 
@@ -1,9 +1,13 @@
 package com.manish.hardware.service;
 
+import com.manish.hardware.catalog.CatalogChangedEvent;
+import com.manish.hardware.catalog.CatalogChangedEvent.Resource;
 import com.manish.hardware.model.Category;
 import com.manish.hardware.repository.CategoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,6 +18,9 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<Category> getAllActiveCategories() {
         return categoryRepository.findActiveCategories();
     }
@@ -26,12 +33,17 @@ public class CategoryService {
         return categoryRepository.findById(id);
     }
 
+    @Transactional
     public Category saveCategory(Category category) {
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CatalogChangedEvent(Resource.CATEGORY, saved.getId()));
+        return saved;
     }
 
+    @Transactional
     public void deleteCategory(Long id) {
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CatalogChangedEvent(Resource.CATEGORY, id));
     }
 
     // Get all active categories ordered by sort order
@@ -0,0 +1,60 @@
+package com.manish.hardware.service;
+
+import com.manish.hardware.catalog.CatalogChangedEvent;
+import com.manish.hardware.catalog.CatalogChangedEvent.Resource;
+import com.manish.hardware.model.Product;
+import com.manish.hardware.model.ProductAttribute;
+import com.manish.hardware.repository.ProductAttributeRepository;
+import com.manish.hardware.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class ProductAttributeService {
+
+    @Autowired
+    private ProductAttributeRepository attributeRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Replace a product's attributes with those parsed from its technical specs (part of the product write)
+    @Transactional
+    public List<ProductAttribute> reparse(Product product) {
+        attributeRepository.deleteByProductId(product.getId());
+        List<ProductAttribute> attributes = SpecParser.parse(product.getTechnicalSpecs());
+        for (ProductAttribute attribute : attributes) {
+            attribute.setProductId(product.getId());
+        }
+        return attributeRepository.saveAll(attributes);
+    }
+
+    // Delete a product's attributes (before the product row itself)
+    @Transactional
+    public void deleteAttributes(Long productId) {
+        attributeRepository.deleteByProductId(productId);
+    }
+
+    // Re-parse the specs of every product, e.g. after the parser changed; returns the number of attributes
+    @Transactional
+    public long reparseAll() {
+        long count = 0;
+        for (Product product : productRepository.findAll()) {
+            count += reparse(product).size();
+        }
+        eventPublisher.publishEvent(CatalogChangedEvent.of(Resource.PRODUCT));
+        return count;
+    }
+
+    // All attributes, for building the catalog's attribute index
+    public List<ProductAttribute> getAllAttributes() {
+        return attributeRepository.findAll();
+    }
+}
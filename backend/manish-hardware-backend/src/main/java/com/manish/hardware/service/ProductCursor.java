@@ -0,0 +1,154 @@
+package com.manish.hardware.service;
+
+import com.manish.hardware.catalog.ProductSort;
+import com.manish.hardware.model.Product;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Opaque cursor for product listings, accepting the same sortBy values as
+ * offset pages. For orders on the id or a timestamp a token encodes the sort
+ * property, its direction and the sort key and id of the last row served, so
+ * the next page starts with an index seek instead of an OFFSET scan. Names,
+ * brands, categories and popularity have no such column; their tokens carry
+ * the last product and its position in the catalog snapshot's permutation.
+ */
+public final class ProductCursor {
+
+    // Only NOT NULL columns with (is_active, column, id) and (category_id, is_active, column, id) indexes
+    // can drive a keyset scan: a null key would fall outside the (value, id) > (last, id) predicate
+    private static final Map<ProductSort, String> KEYSET_PROPERTIES = Map.of(
+            ProductSort.ID, "id", ProductSort.NEWEST, "createdAt", ProductSort.UPDATED, "updatedAt");
+    private static final Set<String> SORT_PROPERTIES = Set.copyOf(KEYSET_PROPERTIES.values());
+    // Orders paged over the snapshot's permutations instead
+    private static final Set<String> CATALOG_SORTS = Arrays.stream(ProductSort.values())
+            .filter(sort -> !KEYSET_PROPERTIES.containsKey(sort)).map(ProductSort::getKey).collect(Collectors.toSet());
+
+    private final String property;
+    private final Sort.Direction direction;
+    // Sort key of the last row, or its position in the permutation for catalog cursors
+    private final Object lastValue;
+    private final Long lastId;
+
+    private ProductCursor(String property, Sort.Direction direction, Object lastValue, Long lastId) {
+        this.property = property;
+        this.direction = direction;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+
+    // Resolve the cursor for a request: decode the token, or start at the first row
+    public static ProductCursor resolve(String token, String sortBy, String sortDir) {
+        Sort.Order order = ProductSort.parse(sortBy, sortDir).iterator().next();
+        ProductSort sort = ProductSort.from(order.getProperty());
+        String property = KEYSET_PROPERTIES.getOrDefault(sort, sort.getKey());
+        Sort.Direction direction = order.getDirection();
+        if (sort == ProductSort.NEWEST || sort == ProductSort.UPDATED) {
+            // Latest first is a descending scan of the timestamp
+            direction = order.isAscending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+        }
+        if (token == null || token.isBlank()) {
+            return new ProductCursor(property, direction, null, null);
+        }
+
+        ProductCursor cursor = decode(token);
+        if (!cursor.property.equals(property) || cursor.direction != direction) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort order");
+        }
+        return cursor;
+    }
+
+    // Whether pages come from a keyset scan of the database rather than the catalog snapshot
+    public boolean isKeyset() {
+        return SORT_PROPERTIES.contains(property);
+    }
+
+    // Order of a catalog cursor
+    public ProductSort getSort() {
+        return ProductSort.from(property);
+    }
+
+    public boolean isDescending() {
+        return direction == Sort.Direction.DESC;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+
+    // Rows a catalog cursor has served, where it resumes if its last product has left the listing
+    public int getPosition() {
+        return lastValue instanceof Integer position ? Math.max(position, 0) : 0;
+    }
+
+    public Sort toSort() {
+        Sort sort = Sort.by(direction, property);
+        return property.equals("id") ? sort : sort.and(Sort.by(direction, "id"));
+    }
+
+    public ScrollPosition toScrollPosition() {
+        if (lastId == null) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(property, lastValue);
+        keys.put("id", lastId);
+        return ScrollPosition.forward(keys);
+    }
+
+    // Cursor pointing just past the given product
+    public ProductCursor after(Product product) {
+        return new ProductCursor(property, direction, valueOf(product), product.getId());
+    }
+
+    // Catalog cursor pointing just past the given product, the last of the first position rows
+    public ProductCursor after(Product product, int position) {
+        return new ProductCursor(property, direction, position, product.getId());
+    }
+
+    public String encode() {
+        String raw = property + "|" + direction.name() + "|" + lastValue + "|" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Object valueOf(Product product) {
+        switch (property) {
+            case "createdAt":
+                return product.getCreatedAt();
+            case "updatedAt":
+                return product.getUpdatedAt();
+            default:
+                return product.getId();
+        }
+    }
+
+    private static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4 || !SORT_PROPERTIES.contains(parts[0]) && !CATALOG_SORTS.contains(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            Long lastId = Long.valueOf(parts[3]);
+            Object lastValue;
+            if (CATALOG_SORTS.contains(parts[0])) {
+                lastValue = Integer.valueOf(parts[2]);
+            } else {
+                lastValue = parts[0].equals("id") ? lastId : LocalDateTime.parse(parts[2]);
+            }
+            return new ProductCursor(parts[0], Sort.Direction.valueOf(parts[1]), lastValue, lastId);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
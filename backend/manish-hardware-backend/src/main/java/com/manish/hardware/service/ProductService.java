@@ -1,45 +1,209 @@
 package com.manish.hardware.service;
 
+import com.manish.hardware.catalog.CatalogChangedEvent;
+import com.manish.hardware.catalog.CatalogSnapshot;
+import com.manish.hardware.catalog.FacetIndex;
+import com.manish.hardware.catalog.ProductCatalog;
+import com.manish.hardware.catalog.ProductPopularity;
+import com.manish.hardware.dto.PageDtos.CursorPage;
+import com.manish.hardware.dto.PageDtos.SearchPage;
+import com.manish.hardware.dto.ProductDtos.AttributeSummary;
+import com.manish.hardware.dto.ProductDtos.FacetPage;
+import com.manish.hardware.dto.ProductDtos.LocalizedProduct;
+import com.manish.hardware.dto.ProductDtos.ProductBatch;
+import com.manish.hardware.dto.ProductDtos.ProductCard;
+import com.manish.hardware.dto.ProductDtos.Suggestion;
 import com.manish.hardware.model.Product;
 import com.manish.hardware.model.ProductTranslation;
 import com.manish.hardware.repository.ProductRepository;
 import com.manish.hardware.repository.ProductTranslationRepository;
+import com.manish.hardware.search.ProductSearchService;
+import com.manish.hardware.search.ProductSuggestService;
+import com.manish.hardware.search.SearchIndex.RankedHits;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.OffsetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiFunction;
 
 @Service
 public class ProductService {
 
+    // Upper bound on ids accepted by a single batch lookup
+    public static final int MAX_BATCH_SIZE = 500;
+
     @Autowired
     private ProductRepository productRepository;
 
     @Autowired
     private ProductTranslationRepository translationRepository;
 
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductSuggestService productSuggestService;
+
+    @Autowired
+    private ProductAttributeService productAttributeService;
+
+    @Autowired
+    private ProductPopularity productPopularity;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Get all active products
     public List<Product> getAllActiveProducts() {
-        return productRepository.findByIsActiveTrue();
+        return productCatalog.current().getActiveProducts();
     }
 
-    // Get all active products with pagination
+    // Get all active products with pagination, in a ProductSort order
     public Page<Product> getAllActiveProducts(Pageable pageable) {
-        return productRepository.findByIsActiveTrue(pageable);
+        return productCatalog.current().pageInOrder(pageable, null, productPopularity);
+    }
+
+    // Get active product cards in one language
+    public Page<ProductCard> getActiveProductCards(String languageCode, Pageable pageable) {
+        return productCatalog.current().pageCardsInOrder(pageable, languageCode, productPopularity);
+    }
+
+    // Product cards in any of the categories and of any of the brands, with category and brand counts
+    public FacetPage getFacetPage(List<Long> categoryIds, List<String> brands, String languageCode, int page,
+            int size) {
+        CatalogSnapshot snapshot = productCatalog.current();
+        FacetIndex.Result result = snapshot.getFacets().filter(categoryIds, brands);
+        long offset = (long) page * size;
+        List<ProductCard> content = snapshot.getCards(result, (int) Math.min(offset, Integer.MAX_VALUE), size,
+                languageCode);
+        return new FacetPage(content, page, size, result.getTotal(), result.getCategoryCounts(),
+                result.getBrandCounts());
+    }
+
+    // Product cards whose parsed spec attributes meet every condition (name:value or name:min..max)
+    public Page<ProductCard> getProductCardsByAttributes(List<String> conditions, String languageCode,
+            Pageable pageable) {
+        CatalogSnapshot snapshot = productCatalog.current();
+        return snapshot.pageCardsInOrder(snapshot.getAttributes().filter(conditions), pageable, languageCode,
+                productPopularity);
+    }
+
+    // Attributes parsed from technical specs, with their value ranges
+    public List<AttributeSummary> getAttributeSummaries() {
+        return productCatalog.current().getAttributes().getSummaries();
+    }
+
+    // Estimated heap use of the current catalog snapshot
+    public CatalogSnapshot.MemoryReport getCatalogMemoryReport() {
+        return productCatalog.current().getMemoryReport();
+    }
+
+    // Get all active products as a slice (no total count)
+    public Slice<Product> getAllActiveProductsSlice(Pageable pageable) {
+        return getAllActiveProducts(pageable);
     }
 
     // Get products by category
     public List<Product> getProductsByCategory(Long categoryId) {
-        return productRepository.findByCategoryIdAndIsActiveTrue(categoryId);
+        return productCatalog.current().getProductsByCategory(categoryId);
     }
 
     // Get products by category with pagination
     public Page<Product> getProductsByCategory(Long categoryId, Pageable pageable) {
-        return productRepository.findByCategoryIdAndIsActiveTrue(categoryId, pageable);
+        return productCatalog.current().pageCategoryInOrder(categoryId, pageable, null, productPopularity);
+    }
+
+    // Get product cards by category in one language
+    public Page<ProductCard> getProductCardsByCategory(Long categoryId, String languageCode, Pageable pageable) {
+        return productCatalog.current().pageCategoryCardsInOrder(categoryId, pageable, languageCode,
+                productPopularity);
+    }
+
+    // Get products by category as a slice (no total count)
+    public Slice<Product> getProductsByCategorySlice(Long categoryId, Pageable pageable) {
+        return getProductsByCategory(categoryId, pageable);
+    }
+
+    // Get active products after a cursor (names in the given language for sortBy=name)
+    public CursorPage<Product> getAllActiveProductsAfter(String after, int size, String sortBy, String sortDir,
+            String languageCode) {
+        ProductCursor cursor = ProductCursor.resolve(after, sortBy, sortDir);
+        if (!cursor.isKeyset()) {
+            return scrollCatalog(null, cursor, size, languageCode);
+        }
+        Window<Product> window = productRepository.findByIsActiveTrue(cursor.toScrollPosition(), cursor.toSort(),
+                Limit.of(size));
+        return toCursorPage(window, cursor, size);
+    }
+
+    // Get products by category after a cursor (names in the given language for sortBy=name)
+    public CursorPage<Product> getProductsByCategoryAfter(Long categoryId, String after, int size, String sortBy,
+            String sortDir, String languageCode) {
+        ProductCursor cursor = ProductCursor.resolve(after, sortBy, sortDir);
+        if (!cursor.isKeyset()) {
+            return scrollCatalog(categoryId, cursor, size, languageCode);
+        }
+        Window<Product> window = productRepository.findByCategoryIdAndIsActiveTrue(categoryId,
+                cursor.toScrollPosition(), cursor.toSort(), Limit.of(size));
+        return toCursorPage(window, cursor, size);
+    }
+
+    private CursorPage<Product> toCursorPage(Window<Product> window, ProductCursor cursor, int size) {
+        List<Product> content = loadTranslations(window.getContent());
+        String nextCursor = window.hasNext() && !content.isEmpty()
+                ? cursor.after(content.get(content.size() - 1)).encode()
+                : null;
+        return new CursorPage<>(content, size, window.hasNext(), nextCursor);
+    }
+
+    // Orders without a keyset column page over the snapshot's permutation, resuming after the last product
+    private CursorPage<Product> scrollCatalog(Long categoryId, ProductCursor cursor, int size, String languageCode) {
+        Window<Product> window = productCatalog.current().scrollInOrder(cursor.getSort(), cursor.isDescending(),
+                categoryId, languageCode, cursor.getLastId(), cursor.getPosition(), size, productPopularity);
+        List<Product> content = window.getContent();
+        String nextCursor = null;
+        if (window.hasNext() && !content.isEmpty()) {
+            OffsetScrollPosition last = (OffsetScrollPosition) window.positionAt(content.size() - 1);
+            nextCursor = cursor.after(content.get(content.size() - 1), (int) last.getOffset() + 1).encode();
+        }
+        return new CursorPage<>(content, size, window.hasNext(), nextCursor);
+    }
+
+    // Attach translations to a window of products with one IN query instead of one query per product
+    private List<Product> loadTranslations(List<Product> products) {
+        if (products.isEmpty()) {
+            return products;
+        }
+        List<Long> ids = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ids.add(product.getId());
+        }
+        Map<Long, Product> loaded = new HashMap<>();
+        for (Product product : productRepository.findAllWithTranslationsByIdIn(ids)) {
+            loaded.put(product.getId(), product);
+        }
+        List<Product> result = new ArrayList<>(products.size());
+        for (Product product : products) {
+            result.add(loaded.getOrDefault(product.getId(), product));
+        }
+        return result;
     }
 
     // Get product by ID
@@ -49,28 +213,120 @@ public class ProductService {
 
     // Get product by ID with translations
     public Optional<Product> getProductByIdWithTranslations(Long id) {
-        return productRepository.findByIdWithTranslations(id);
+        return productCatalog.current().getProduct(id);
+    }
+
+    // Product JSON from the off-heap store (empty when the catalog is kept on heap or the product is unknown)
+    public Optional<Resource> getStoredProductJson(Long id) {
+        return productCatalog.current().getOffHeapStore().flatMap(store -> store.getProductJson(id));
+    }
+
+    // Localized product JSON from the off-heap store (empty when on heap, unknown, or in an untranslated language)
+    public Optional<Resource> getStoredLocalizedProductJson(Long id, String languageCode) {
+        return productCatalog.current().getOffHeapStore()
+                .flatMap(store -> store.getLocalizedProductJson(id, languageCode));
     }
 
     // Get product by ID and language
     public Optional<Product> getProductByIdAndLanguage(Long id, String languageCode) {
-        return productRepository.findByIdAndLanguageCode(id, languageCode);
+        return productCatalog.current().getProduct(id, languageCode);
+    }
+
+    // Get product detail in one language, falling back to the default language and then to any translation
+    public Optional<LocalizedProduct> getLocalizedProduct(Long id, String languageCode) {
+        return productCatalog.current().getLocalizedProduct(id, languageCode);
+    }
+
+    // Get several products at once, in request order, reporting ids that are missing or inactive
+    public ProductBatch getProductsByIds(List<Long> ids, String languageCode) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " ids can be requested at once");
+        }
+        CatalogSnapshot snapshot = productCatalog.current();
+        List<Product> products = new ArrayList<>(ids.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Optional<Product> product = languageCode != null
+                    ? snapshot.getProduct(id, languageCode).or(() -> snapshot.getProduct(id))
+                    : snapshot.getProduct(id);
+            if (product.isPresent()) {
+                products.add(product.get());
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new ProductBatch(products, missingIds);
+    }
+
+    // Autocomplete product names and brands for a typed prefix (served from in-memory tries)
+    public List<Suggestion> suggest(String prefix, String languageCode, int limit) {
+        return productSuggestService.suggest(prefix, languageCode, limit);
     }
 
-    // Search products by name
+    // Search products by name, brand or description (served from the search index; unsorted means by relevance)
     public Page<Product> searchProducts(String searchTerm, Pageable pageable) {
-        return productRepository.searchByName(searchTerm, pageable);
+        return searchProducts(searchTerm, null, pageable);
     }
 
-    // Search products by name within category
+    // Search products, optionally within a category
     public Page<Product> searchProducts(String searchTerm, Long categoryId, Pageable pageable) {
-        return productRepository.searchByNameAndCategory(searchTerm, categoryId, pageable);
+        if (pageable.getSort().isUnsorted()) {
+            return rankedMatches(searchTerm, null, categoryId, pageable, CatalogSnapshot::getProduct);
+        }
+        // Products are built for the page only
+        return productCatalog.current().pageInOrder(productSearchService.search(searchTerm, null, categoryId),
+                pageable, null, productPopularity);
+    }
+
+    // Search products without counting the total
+    public Slice<Product> searchProductsSlice(String searchTerm, Pageable pageable) {
+        return searchProductsSlice(searchTerm, null, pageable);
+    }
+
+    // Search products, optionally within a category, without counting the total (the index counts matches anyway)
+    public Slice<Product> searchProductsSlice(String searchTerm, Long categoryId, Pageable pageable) {
+        return searchProducts(searchTerm, categoryId, pageable);
+    }
+
+    // Search product cards, optionally within a category
+    public Page<ProductCard> searchProductCards(String searchTerm, Long categoryId, String languageCode,
+            Pageable pageable) {
+        if (pageable.getSort().isUnsorted()) {
+            return rankedMatches(searchTerm, languageCode, categoryId, pageable,
+                    (snapshot, id) -> snapshot.getCard(id, languageCode));
+        }
+        return productCatalog.current().pageCardsInOrder(productSearchService.search(searchTerm, languageCode,
+                categoryId), pageable, languageCode, productPopularity);
+    }
+
+    // Search product cards without counting the total (the index counts matches anyway)
+    public Slice<ProductCard> searchProductCardsSlice(String searchTerm, Long categoryId, String languageCode,
+            Pageable pageable) {
+        return searchProductCards(searchTerm, categoryId, languageCode, pageable);
+    }
+
+    // One page of the best-ranked matches (only the top offset + size are ranked), looked up for the response
+    private <T> SearchPage<T> rankedMatches(String searchTerm, String languageCode, Long categoryId,
+            Pageable pageable, BiFunction<CatalogSnapshot, Long, Optional<T>> lookup) {
+        int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE) : 0;
+        int limit = pageable.isPaged() ? (int) Math.min(pageable.getOffset() + pageable.getPageSize(),
+                Integer.MAX_VALUE) : Integer.MAX_VALUE;
+        RankedHits hits = productSearchService.rank(searchTerm, languageCode, categoryId, limit);
+        CatalogSnapshot snapshot = productCatalog.current();
+        List<T> content = new ArrayList<>();
+        for (Long id : hits.getIds().subList(Math.min(from, hits.getIds().size()), hits.getIds().size())) {
+            lookup.apply(snapshot, id).ifPresent(content::add);
+        }
+        return new SearchPage<>(content, pageable, hits.getTotal(), hits.getCorrectedQuery());
     }
 
     // Create product
     @Transactional
     public Product createProduct(Product product) {
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        productAttributeService.reparse(savedProduct);
+        eventPublisher.publishEvent(new CatalogChangedEvent(savedProduct.getId()));
+        return savedProduct;
     }
 
     // Update product
@@ -85,7 +341,10 @@ public class ProductService {
             product.setTechnicalSpecs(productDetails.getTechnicalSpecs());
             product.setUsageInfo(productDetails.getUsageInfo());
             product.setIsActive(productDetails.getIsActive());
-            return productRepository.save(product);
+            Product savedProduct = productRepository.save(product);
+            productAttributeService.reparse(savedProduct);
+            eventPublisher.publishEvent(new CatalogChangedEvent(id));
+            return savedProduct;
         }
         return null;
     }
@@ -98,6 +357,7 @@ public class ProductService {
             Product product = optionalProduct.get();
             product.setIsActive(false);
             productRepository.save(product);
+            eventPublisher.publishEvent(new CatalogChangedEvent(id));
             return true;
         }
         return false;
@@ -108,7 +368,9 @@ public class ProductService {
     public boolean hardDeleteProduct(Long id) {
         if (productRepository.existsById(id)) {
             translationRepository.deleteByProductId(id);
+            productAttributeService.deleteAttributes(id);
             productRepository.deleteById(id);
+            eventPublisher.publishEvent(new CatalogChangedEvent(id));
             return true;
         }
         return false;
@@ -118,7 +380,9 @@ public class ProductService {
     @Transactional
     public ProductTranslation addTranslation(Long productId, ProductTranslation translation) {
         translation.setProductId(productId);
-        return translationRepository.save(translation);
+        ProductTranslation savedTranslation = translationRepository.save(translation);
+        eventPublisher.publishEvent(new CatalogChangedEvent(productId));
+        return savedTranslation;
     }
 
     // Update translation
@@ -131,7 +395,9 @@ public class ProductService {
             ProductTranslation translation = optionalTranslation.get();
             translation.setName(translationDetails.getName());
             translation.setDescription(translationDetails.getDescription());
-            return translationRepository.save(translation);
+            ProductTranslation savedTranslation = translationRepository.save(translation);
+            eventPublisher.publishEvent(new CatalogChangedEvent(productId));
+            return savedTranslation;
         }
         return null;
     }
@@ -143,6 +409,7 @@ public class ProductService {
                 .findByProductIdAndLanguageCode(productId, languageCode);
         if (optionalTranslation.isPresent()) {
             translationRepository.delete(optionalTranslation.get());
+            eventPublisher.publishEvent(new CatalogChangedEvent(productId));
             return true;
         }
         return false;
@@ -155,7 +422,12 @@ public class ProductService {
 
     // Count products in category
     public long countProductsInCategory(Long categoryId) {
-        return productRepository.countByCategoryIdAndIsActiveTrue(categoryId);
+        return productCatalog.current().getProductsByCategory(categoryId).size();
+    }
+
+    // Count active products for every category in one call
+    public Map<Long, Long> getProductCountsByCategory() {
+        return productCatalog.current().getCategoryCounts();
     }
 
     // Get translations by language code
@@ -170,6 +442,6 @@ public class ProductService {
 
     // Get count of all active products
     public long getActiveProductCount() {
-        return productRepository.countByIsActiveTrue();
+        return productCatalog.current().size();
     }
 }
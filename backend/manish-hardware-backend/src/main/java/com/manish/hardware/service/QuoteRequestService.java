@@ -1,16 +1,20 @@
 package com.manish.hardware.service;
 
+import com.manish.hardware.catalog.QuoteSubmittedEvent;
 import com.manish.hardware.model.QuoteRequest;
 import com.manish.hardware.model.QuoteRequest.QuoteStatus;
 import com.manish.hardware.repository.QuoteRequestRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -19,6 +23,9 @@ public class QuoteRequestService {
     @Autowired
     private QuoteRequestRepository quoteRequestRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Get all quote requests
     public List<QuoteRequest> getAllQuoteRequests() {
         return quoteRequestRepository.findAll();
@@ -65,11 +72,18 @@ public class QuoteRequestService {
         return quoteRequestRepository.searchByNameOrPhone(searchTerm, pageable);
     }
 
+    // Search quote requests without counting the total
+    public Slice<QuoteRequest> searchQuoteRequestsSlice(String searchTerm, Pageable pageable) {
+        return quoteRequestRepository.searchSliceByNameOrPhone(searchTerm, pageable);
+    }
+
     // Create quote request
     @Transactional
     public QuoteRequest createQuoteRequest(QuoteRequest quoteRequest) {
         quoteRequest.setStatus(QuoteStatus.PENDING);
-        return quoteRequestRepository.save(quoteRequest);
+        QuoteRequest saved = quoteRequestRepository.save(quoteRequest);
+        eventPublisher.publishEvent(new QuoteSubmittedEvent(saved.getProductId()));
+        return saved;
     }
 
     // Update quote request
@@ -78,13 +92,18 @@ public class QuoteRequestService {
         Optional<QuoteRequest> optionalQuoteRequest = quoteRequestRepository.findById(id);
         if (optionalQuoteRequest.isPresent()) {
             QuoteRequest quoteRequest = optionalQuoteRequest.get();
+            Long previousProductId = quoteRequest.getProductId();
             quoteRequest.setName(quoteRequestDetails.getName());
             quoteRequest.setPhone(quoteRequestDetails.getPhone());
             quoteRequest.setProductId(quoteRequestDetails.getProductId());
             quoteRequest.setQuantity(quoteRequestDetails.getQuantity());
             quoteRequest.setLocation(quoteRequestDetails.getLocation());
             quoteRequest.setLanguageCode(quoteRequestDetails.getLanguageCode());
-            return quoteRequestRepository.save(quoteRequest);
+            QuoteRequest saved = quoteRequestRepository.save(quoteRequest);
+            if (!Objects.equals(previousProductId, saved.getProductId())) {
+                eventPublisher.publishEvent(new QuoteSubmittedEvent(saved.getProductId(), previousProductId));
+            }
+            return saved;
         }
         return null;
     }
@@ -116,8 +135,10 @@ public class QuoteRequestService {
     // Delete quote request
     @Transactional
     public boolean deleteQuoteRequest(Long id) {
-        if (quoteRequestRepository.existsById(id)) {
-            quoteRequestRepository.deleteById(id);
+        Optional<QuoteRequest> quoteRequest = quoteRequestRepository.findById(id);
+        if (quoteRequest.isPresent()) {
+            quoteRequestRepository.delete(quoteRequest.get());
+            eventPublisher.publishEvent(new QuoteSubmittedEvent(null, quoteRequest.get().getProductId()));
             return true;
         }
         return false;
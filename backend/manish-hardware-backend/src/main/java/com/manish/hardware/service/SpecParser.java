@@ -0,0 +1,126 @@
+package com.manish.hardware.service;
+
+import com.manish.hardware.model.ProductAttribute;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the free-text technical specs of a product into typed attributes.
+ * Specs are read as {@code key: value} (or {@code key = value}) pairs, one per
+ * line, {@code ;} or {@code |}. A value that is a number with an optional unit
+ * becomes a numeric attribute whose name carries the canonical unit
+ * ({@code Diameter: 12 mm} gives {@code diameter_mm = 12}). Lengths, masses
+ * and volumes are converted to one base unit each (mm, kg, l), so
+ * {@code Length: 3 m} and {@code Length: 10 ft} both filter as {@code length_mm};
+ * anything else is
+ * kept as lower-case text ({@code Grade: OPC 53} gives {@code grade = opc 53}).
+ * Lines without a separator are ignored.
+ */
+public final class SpecParser {
+
+    private static final Pattern NUMBER_WITH_UNIT = Pattern.compile("^(-?\\d+(?:\\.\\d+)?)\\s*([\\p{L}\"']*)\\.?$");
+    // Leaves room for the unit suffix within the 100-character column
+    private static final int MAX_NAME_LENGTH = 90;
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    // Unit spellings and their canonical suffix
+    private static final Map<String, String> UNITS = Map.ofEntries(
+            Map.entry("mm", "mm"), Map.entry("millimeter", "mm"), Map.entry("millimetre", "mm"),
+            Map.entry("cm", "cm"), Map.entry("centimeter", "cm"), Map.entry("centimetre", "cm"),
+            Map.entry("m", "m"), Map.entry("meter", "m"), Map.entry("metre", "m"), Map.entry("mtr", "m"),
+            Map.entry("in", "in"), Map.entry("inch", "in"), Map.entry("inches", "in"), Map.entry("\"", "in"),
+            Map.entry("ft", "ft"), Map.entry("feet", "ft"), Map.entry("foot", "ft"), Map.entry("'", "ft"),
+            Map.entry("kg", "kg"), Map.entry("kgs", "kg"), Map.entry("kilogram", "kg"),
+            Map.entry("g", "g"), Map.entry("gm", "g"), Map.entry("gram", "g"),
+            Map.entry("l", "l"), Map.entry("ltr", "l"), Map.entry("liter", "l"), Map.entry("litre", "l"),
+            Map.entry("ml", "ml"),
+            Map.entry("mpa", "mpa"), Map.entry("w", "w"), Map.entry("watt", "w"), Map.entry("v", "v"),
+            Map.entry("volt", "v"), Map.entry("sqmm", "sqmm"), Map.entry("pcs", "pcs"));
+
+    // Units converted to the base unit of their dimension, with the factor to it
+    private static final Map<String, String> BASE_UNITS = Map.of(
+            "cm", "mm", "m", "mm", "in", "mm", "ft", "mm", "g", "kg", "ml", "l");
+    private static final Map<String, Double> TO_BASE = Map.of(
+            "cm", 10.0, "m", 1000.0, "in", 25.4, "ft", 304.8, "g", 0.001, "ml", 0.001);
+
+    private SpecParser() {
+    }
+
+    // Attributes found in the specs (productId left unset); a key given twice keeps its last value
+    public static List<ProductAttribute> parse(String specs) {
+        Map<String, ProductAttribute> attributes = new LinkedHashMap<>();
+        if (specs == null || specs.isBlank()) {
+            return new ArrayList<>();
+        }
+        for (String line : specs.split("[\\r\\n;|]+")) {
+            int separator = separatorIndex(line);
+            if (separator < 0) {
+                continue;
+            }
+            String key = normalizeKey(line.substring(0, separator));
+            String value = line.substring(separator + 1).trim().replaceAll("\\s+", " ");
+            if (key.isEmpty() || value.isEmpty()) {
+                continue;
+            }
+            ProductAttribute attribute = numeric(key, value);
+            if (attribute == null) {
+                String text = value.toLowerCase(Locale.ROOT);
+                attribute = new ProductAttribute(null, key, null,
+                        text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text);
+            }
+            attributes.put(attribute.getName(), attribute);
+        }
+        return new ArrayList<>(attributes.values());
+    }
+
+    // Lower-case snake case, as attribute names are written in filters
+    public static String normalizeKey(String key) {
+        String normalized = key.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", "_")
+                .replaceAll("^_+|_+$", "");
+        return normalized.length() > MAX_NAME_LENGTH ? normalized.substring(0, MAX_NAME_LENGTH) : normalized;
+    }
+
+    private static ProductAttribute numeric(String key, String value) {
+        Matcher matcher = NUMBER_WITH_UNIT.matcher(value);
+        if (!matcher.matches()) {
+            return null;
+        }
+        String unit = matcher.group(2).toLowerCase(Locale.ROOT);
+        String name = key;
+        double number = Double.parseDouble(matcher.group(1));
+        if (!unit.isEmpty()) {
+            String canonical = UNITS.get(unit);
+            if (canonical == null) {
+                return null;
+            }
+            String base = BASE_UNITS.getOrDefault(canonical, canonical);
+            if (!base.equals(canonical)) {
+                // "Length (m): 3 m" is stored as length_mm, not length_m_mm
+                if (name.endsWith("_" + canonical)) {
+                    name = name.substring(0, name.length() - canonical.length() - 1);
+                }
+                number = Math.round(number * TO_BASE.get(canonical) * 1e6) / 1e6;
+            }
+            if (!name.endsWith("_" + base)) {
+                name = name + "_" + base;
+            }
+        }
+        return new ProductAttribute(null, name, number, null);
+    }
+
+    // First ':' or '=' (a key never contains either)
+    private static int separatorIndex(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == ':' || line.charAt(i) == '=') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
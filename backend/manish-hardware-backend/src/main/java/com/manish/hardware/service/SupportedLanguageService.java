@@ -1,8 +1,11 @@
 package com.manish.hardware.service;
 
+import com.manish.hardware.catalog.CatalogChangedEvent;
+import com.manish.hardware.catalog.CatalogChangedEvent.Resource;
 import com.manish.hardware.model.SupportedLanguage;
 import com.manish.hardware.repository.SupportedLanguageRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +18,9 @@ public class SupportedLanguageService {
     @Autowired
     private SupportedLanguageRepository supportedLanguageRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Get all languages
     public List<SupportedLanguage> getAllLanguages() {
         return supportedLanguageRepository.findAllByOrderByNameAsc();
@@ -59,7 +65,9 @@ public class SupportedLanguageService {
             supportedLanguageRepository.resetAllDefaults();
         }
 
-        return supportedLanguageRepository.save(language);
+        SupportedLanguage saved = supportedLanguageRepository.save(language);
+        eventPublisher.publishEvent(CatalogChangedEvent.of(Resource.LANGUAGE));
+        return saved;
     }
 
     // Update language
@@ -86,7 +94,9 @@ public class SupportedLanguageService {
                 language.setIsDefault(true);
             }
 
-            return supportedLanguageRepository.save(language);
+            SupportedLanguage saved = supportedLanguageRepository.save(language);
+            eventPublisher.publishEvent(CatalogChangedEvent.of(Resource.LANGUAGE));
+            return saved;
         }
         return null;
     }
@@ -101,6 +111,7 @@ public class SupportedLanguageService {
                 supportedLanguageRepository.resetAllDefaults();
                 language.setIsDefault(true);
                 supportedLanguageRepository.save(language);
+                eventPublisher.publishEvent(CatalogChangedEvent.of(Resource.LANGUAGE));
                 return true;
             }
         }
@@ -117,6 +128,7 @@ public class SupportedLanguageService {
                 throw new RuntimeException("Cannot delete the default language");
             }
             supportedLanguageRepository.deleteById(id);
+            eventPublisher.publishEvent(CatalogChangedEvent.of(Resource.LANGUAGE));
             return true;
         }
         return false;
@@ -133,6 +145,7 @@ public class SupportedLanguageService {
                 throw new RuntimeException("Cannot delete the default language");
             }
             supportedLanguageRepository.deleteByCode(code);
+            eventPublisher.publishEvent(CatalogChangedEvent.of(Resource.LANGUAGE));
             return true;
         }
         return false;
@@ -149,7 +162,9 @@ public class SupportedLanguageService {
                 throw new RuntimeException("Cannot deactivate the default language");
             }
             language.setIsActive(!language.getIsActive());
-            return supportedLanguageRepository.save(language);
+            SupportedLanguage saved = supportedLanguageRepository.save(language);
+            eventPublisher.publishEvent(CatalogChangedEvent.of(Resource.LANGUAGE));
+            return saved;
         }
         return null;
     }
@@ -177,6 +192,7 @@ public class SupportedLanguageService {
         if (supportedLanguageRepository.existsByCode(code)) {
             supportedLanguageRepository.resetAllDefaults();
             supportedLanguageRepository.setDefaultByCode(code);
+            eventPublisher.publishEvent(CatalogChangedEvent.of(Resource.LANGUAGE));
             return true;
         }
         return false;
@@ -0,0 +1,155 @@
+package com.manish.hardware.service;
+
+import com.manish.hardware.catalog.CatalogChangeLog;
+import com.manish.hardware.catalog.CatalogChangedEvent.Resource;
+import com.manish.hardware.config.SyncConfig;
+import com.manish.hardware.dto.SyncDtos.SyncResponse;
+import com.manish.hardware.dto.SyncDtos.Tombstone;
+import com.manish.hardware.model.Banner;
+import com.manish.hardware.model.CatalogChange;
+import com.manish.hardware.model.Category;
+import com.manish.hardware.model.Product;
+import com.manish.hardware.repository.BannerRepository;
+import com.manish.hardware.repository.CatalogChangeRepository;
+import com.manish.hardware.repository.CategoryRepository;
+import com.manish.hardware.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+@Service
+public class SyncService {
+
+    @Autowired
+    private CatalogChangeRepository catalogChangeRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BannerRepository bannerRepository;
+
+    @Autowired
+    private SyncConfig syncConfig;
+
+    // Full copy of the active catalog, with the cursor to continue from
+    @Transactional(readOnly = true)
+    public SyncResponse getFullCatalog() {
+        // Read the cursor first: anything committed afterwards is sent again on the next delta
+        long cursor = catalogChangeRepository.findFirstByChangedAtBeforeOrderByIdDesc(settledBefore())
+                .map(CatalogChange::getId)
+                .orElse(0L);
+        SyncResponse response = new SyncResponse(cursor, true, false);
+        response.setProducts(productRepository.findAllActiveWithTranslations());
+        response.setCategories(categoryRepository.findActiveCategories());
+        response.setBanners(bannerRepository.findByIsActiveTrueOrderBySortOrderAsc());
+        return response;
+    }
+
+    // Rows changed after the cursor, with tombstones for deactivated and deleted rows; a full copy when the
+    // cursor predates the retention window, since compaction may have dropped changes the client never saw
+    @Transactional(readOnly = true)
+    public SyncResponse getChangesSince(long since, int limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("Cursor must not be negative");
+        }
+        if (catalogChangeRepository.existsByIdGreaterThanAndChangedAtBefore(since, retainedAfter())) {
+            return getFullCatalog();
+        }
+        int batchSize = Math.max(1, Math.min(limit, syncConfig.getMaxBatchSize()));
+        List<CatalogChange> changes = catalogChangeRepository.findByIdGreaterThanAndChangedAtBeforeOrderByIdAsc(
+                since, settledBefore(), Limit.of(batchSize + 1));
+        boolean hasMore = changes.size() > batchSize;
+        if (hasMore) {
+            changes = changes.subList(0, batchSize);
+        }
+
+        // Changes to resources the app does not keep, or to a resource as a whole, only advance the cursor
+        Map<Resource, Set<Long>> changedIds = new EnumMap<>(Resource.class);
+        for (CatalogChange change : changes) {
+            Resource resource = Resource.valueOf(change.getResourceType());
+            if (CatalogChangeLog.SYNCED.contains(resource) && change.getEntityId() != CatalogChange.WHOLE_RESOURCE) {
+                changedIds.computeIfAbsent(resource, key -> new LinkedHashSet<>()).add(change.getEntityId());
+            }
+        }
+
+        long cursor = changes.isEmpty() ? since : changes.get(changes.size() - 1).getId();
+        SyncResponse response = new SyncResponse(cursor, false, hasMore);
+        Set<Long> productIds = changedIds.getOrDefault(Resource.PRODUCT, Set.of());
+        Set<Long> categoryIds = changedIds.getOrDefault(Resource.CATEGORY, Set.of());
+        Set<Long> bannerIds = changedIds.getOrDefault(Resource.BANNER, Set.of());
+        response.setProducts(collect(Resource.PRODUCT, productIds,
+                productIds.isEmpty() ? List.of() : productRepository.findAllWithTranslationsByIdIn(productIds),
+                Product::getId, Product::getIsActive, response.getTombstones()));
+        response.setCategories(collect(Resource.CATEGORY, categoryIds, categoryRepository.findAllById(categoryIds),
+                Category::getId, Category::getIsActive, response.getTombstones()));
+        response.setBanners(collect(Resource.BANNER, bannerIds, bannerRepository.findAllById(bannerIds),
+                Banner::getId, Banner::getIsActive, response.getTombstones()));
+        return response;
+    }
+
+    // Compact the change log: beyond the retention window only the latest change per entity is kept
+    @Scheduled(fixedDelayString = "${app.sync.compaction-ms:3600000}",
+            initialDelayString = "${app.sync.compaction-ms:3600000}")
+    @Transactional
+    public void compactChanges() {
+        compactChangesBefore(retainedAfter());
+    }
+
+    // Delete superseded changes older than the cutoff in batches, returning how many were removed
+    @Transactional
+    public int compactChangesBefore(LocalDateTime cutoff) {
+        int removed = 0;
+        List<Long> ids;
+        do {
+            ids = catalogChangeRepository.findSupersededIdsBefore(cutoff, Limit.of(syncConfig.getMaxBatchSize()));
+            if (!ids.isEmpty()) {
+                catalogChangeRepository.deleteAllByIdInBatch(ids);
+                removed += ids.size();
+            }
+        } while (ids.size() == syncConfig.getMaxBatchSize());
+        return removed;
+    }
+
+    // Split loaded rows into live rows and tombstones; ids that no longer load were hard deleted
+    private <T> List<T> collect(Resource resource, Set<Long> ids, List<T> rows, Function<T, Long> idOf,
+            Function<T, Boolean> activeOf, List<Tombstone> tombstones) {
+        List<T> live = new ArrayList<>();
+        Set<Long> missing = new LinkedHashSet<>(ids);
+        for (T row : rows) {
+            missing.remove(idOf.apply(row));
+            if (Boolean.FALSE.equals(activeOf.apply(row))) {
+                tombstones.add(new Tombstone(resource.name(), idOf.apply(row), "inactive"));
+            } else {
+                live.add(row);
+            }
+        }
+        for (Long id : missing) {
+            tombstones.add(new Tombstone(resource.name(), id, "deleted"));
+        }
+        return live;
+    }
+
+    private LocalDateTime retainedAfter() {
+        return LocalDateTime.now().minus(Duration.ofMillis(syncConfig.getChangeRetentionMs()));
+    }
+
+    private LocalDateTime settledBefore() {
+        return LocalDateTime.now().minus(Duration.ofMillis(syncConfig.getCommitGraceMs()));
+    }
+}
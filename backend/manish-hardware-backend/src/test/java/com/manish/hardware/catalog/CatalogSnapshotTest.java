@@ -0,0 +1,318 @@
+package com.manish.hardware.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.manish.hardware.dto.ProductDtos.LocalizedProduct;
+import com.manish.hardware.dto.ProductDtos.ProductCard;
+import com.manish.hardware.model.Product;
+import com.manish.hardware.model.ProductAttribute;
+import com.manish.hardware.model.ProductTranslation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogSnapshotTest {
+
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        Product cement = product(1L, 10L, "Shivam", true);
+        Product rod = product(2L, 20L, "Jagdamba", true);
+        Product retired = product(3L, 10L, "Old Brand", false);
+
+        snapshot = CatalogSnapshot.build(1L, "en", Arrays.asList(rod, cement, retired), Arrays.asList(
+                translation(1L, 1L, "en", "Cement"),
+                translation(2L, 1L, "ne", "सिमेन्ट"),
+                translation(3L, 2L, "en", "TMT Bar"),
+                translation(4L, 3L, "en", "Retired")));
+    }
+
+    @Test
+    void testBuild_KeepsOnlyActiveProductsOrderedById() {
+        List<Product> products = snapshot.getActiveProducts();
+
+        assertEquals(2, products.size());
+        assertEquals(1L, products.get(0).getId());
+        assertEquals(2L, products.get(1).getId());
+        assertFalse(snapshot.getProduct(3L).isPresent());
+    }
+
+    @Test
+    void testGetProduct_CarriesAllTranslations() {
+        Optional<Product> product = snapshot.getProduct(1L);
+
+        assertTrue(product.isPresent());
+        assertEquals(2, product.get().getTranslations().size());
+        assertThrows(UnsupportedOperationException.class, () -> product.get().getTranslations().clear());
+    }
+
+    @Test
+    void testGetProductByLanguage() {
+        Optional<Product> product = snapshot.getProduct(1L, "ne");
+
+        assertTrue(product.isPresent());
+        assertEquals(1, product.get().getTranslations().size());
+        assertEquals("सिमेन्ट", product.get().getTranslations().get(0).getName());
+        assertFalse(snapshot.getProduct(2L, "ne").isPresent());
+    }
+
+    @Test
+    void testGetCard_NameFallsBackToDefaultThenAnyLanguage() {
+        CatalogSnapshot catalog = CatalogSnapshot.build(1L, "en", Arrays.asList(product(1L, 10L, "Shivam", true),
+                product(2L, 20L, "Jagdamba", true)), Arrays.asList(translation(1L, 1L, "en", "Cement"),
+                translation(2L, 1L, "ne", "सिमेन्ट"), translation(3L, 2L, "ne", "छड")));
+
+        assertEquals("सिमेन्ट", catalog.getCard(1L, "ne").orElseThrow().getName());
+        assertEquals("Cement", catalog.getCard(1L, "hi").orElseThrow().getName());
+        assertEquals("छड", catalog.getCard(2L, null).orElseThrow().getName());
+        assertEquals("Jagdamba", catalog.getCard(2L, "en").orElseThrow().getBrand());
+        assertFalse(catalog.getCard(3L, "en").isPresent());
+        assertEquals(List.of("Cement", "छड"), catalog.pageCardsInOrder(PageRequest.of(0, 10,
+                ProductSort.ID.toSort(false)), "en", mock(ProductPopularity.class)).map(ProductCard::getName)
+                .getContent());
+    }
+
+    @Test
+    void testGetLocalizedProduct_FallsBackToDefaultLanguage() {
+        LocalizedProduct exact = snapshot.getLocalizedProduct(1L, "ne").orElseThrow();
+        LocalizedProduct fallback = snapshot.getLocalizedProduct(2L, "ne").orElseThrow();
+
+        assertEquals("सिमेन्ट", exact.getName());
+        assertFalse(exact.isFallback());
+        assertEquals("TMT Bar", fallback.getName());
+        assertEquals("en", fallback.getLanguageCode());
+        assertEquals("ne", fallback.getRequestedLanguageCode());
+        assertTrue(fallback.isFallback());
+        assertSame(exact, snapshot.getLocalizedProduct(1L, "ne").orElseThrow());
+        assertFalse(snapshot.getLocalizedProduct(3L, "en").isPresent());
+    }
+
+    @Test
+    void testGetProductsByCategory() {
+        assertEquals(1, snapshot.getProductsByCategory(10L).size());
+        assertTrue(snapshot.getProductsByCategory(99L).isEmpty());
+    }
+
+    @Test
+    void testGetCategoryCounts_IgnoresInactiveProducts() {
+        assertEquals(1L, snapshot.getCategoryCounts().get(10L));
+        assertEquals(1L, snapshot.getCategoryCounts().get(20L));
+        assertNull(snapshot.getCategoryCounts().get(99L));
+    }
+
+    @Test
+    void testFacets_FilterWithCountsUnderTheOtherFacet() {
+        CatalogSnapshot catalog = CatalogSnapshot.build(2L, "en", Arrays.asList(
+                product(1L, 10L, "Shivam", true), product(2L, 20L, "Jagdamba", true),
+                product(3L, 10L, "Jagdamba", true), product(4L, 10L, "Shivam", false)), List.of());
+
+        FacetIndex.Result all = catalog.getFacets().filter(null, null);
+        assertEquals(3, all.getTotal());
+        assertEquals(Map.of(10L, 2L, 20L, 1L), all.getCategoryCounts());
+
+        FacetIndex.Result filtered = catalog.getFacets().filter(List.of(10L), List.of("Jagdamba"));
+        assertEquals(1, filtered.getTotal());
+        assertEquals(List.of(3L), filtered.getProducts(0, 10).stream().map(Product::getId).toList());
+        assertEquals(Map.of(10L, 1L, 20L, 1L), filtered.getCategoryCounts());
+        assertEquals(List.of("Jagdamba", "Shivam"), List.copyOf(filtered.getBrandCounts().keySet()));
+        assertEquals(0, catalog.getFacets().filter(List.of(99L), null).getTotal());
+    }
+
+    @Test
+    void testAttributes_RangeAndEqualityFiltersOnActiveProducts() {
+        CatalogSnapshot catalog = CatalogSnapshot.build(3L, "en", Arrays.asList(
+                product(1L, 20L, "Jagdamba", true), product(2L, 20L, "Jagdamba", true),
+                product(3L, 20L, "Shivam", true), product(4L, 20L, "Old Brand", false)), List.of(), List.of(
+                new ProductAttribute(1L, "diameter_mm", 8.0, null),
+                new ProductAttribute(2L, "diameter_mm", 12.0, null),
+                new ProductAttribute(3L, "diameter_mm", 16.0, null),
+                new ProductAttribute(4L, "diameter_mm", 10.0, null),
+                new ProductAttribute(2L, "grade", null, "fe 500d"),
+                new ProductAttribute(3L, "grade", null, "fe 500d")));
+        AttributeIndex attributes = catalog.getAttributes();
+
+        assertEquals(List.of(1L, 2L), attributes.filter(List.of("diameter_mm:8..12")));
+        assertEquals(List.of(2L, 3L), attributes.filter(List.of("diameter_mm:10..")));
+        assertEquals(List.of(2L), attributes.filter(List.of("diameter_mm:..12", "grade:Fe  500D")));
+        assertEquals(List.of(3L), attributes.filter(List.of("diameter_mm:16")));
+        assertTrue(attributes.filter(List.of("length_m:1..2")).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> attributes.filter(List.of("diameter_mm:big..")));
+        assertEquals(8.0, attributes.getSummaries().get(0).getMin());
+        assertEquals(16.0, attributes.getSummaries().get(0).getMax());
+    }
+
+    @Test
+    void testPageInOrder_SlicesPrecomputedPermutations() {
+        Product drill = product(4L, 10L, "bosch", true);
+        drill.setCreatedAt(LocalDateTime.of(2024, 5, 1, 0, 0));
+        Product cement = product(1L, 10L, "Shivam", true);
+        cement.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        Product rod = product(2L, 20L, "Jagdamba", true);
+        CatalogSnapshot sorted = CatalogSnapshot.build(1L, "en", Arrays.asList(cement, rod, drill), Arrays.asList(
+                translation(1L, 1L, "en", "Cement"),
+                translation(2L, 1L, "ne", "सिमेन्ट"),
+                translation(3L, 2L, "en", "TMT Bar"),
+                translation(4L, 4L, "en", "Drill"),
+                translation(5L, 4L, "ne", "ड्रिल")));
+        ProductPopularity popularity = mock(ProductPopularity.class);
+        when(popularity.getQuoteCount(2L)).thenReturn(5L);
+        when(popularity.getQuoteCount(4L)).thenReturn(1L);
+
+        assertEquals(List.of(1L, 4L, 2L), ids(sorted.pageInOrder(PageRequest.of(0, 10, ProductSort.NAME.toSort(false)),
+                "en", popularity)));
+        // Nepali names where there are any, English otherwise
+        assertEquals(List.of(2L, 4L, 1L), ids(sorted.pageInOrder(PageRequest.of(0, 10, ProductSort.NAME.toSort(false)),
+                "ne", popularity)));
+        assertEquals(List.of(4L, 2L), ids(sorted.pageInOrder(PageRequest.of(0, 2, ProductSort.BRAND.toSort(false)),
+                "en", popularity)));
+        assertEquals(List.of(4L, 1L, 2L), ids(sorted.pageInOrder(
+                PageRequest.of(0, 10, ProductSort.NEWEST.toSort(false)), "en", popularity)));
+        assertEquals(List.of(2L, 4L, 1L), ids(sorted.pageInOrder(
+                PageRequest.of(0, 10, ProductSort.POPULARITY.toSort(false)), "en", popularity)));
+        assertEquals(List.of(1L), ids(sorted.pageCategoryInOrder(10L,
+                PageRequest.of(1, 1, ProductSort.NAME.toSort(true)), "en", popularity)));
+        assertEquals(List.of(4L, 2L), ids(sorted.pageInOrder(List.of(2L, 99L, 4L),
+                PageRequest.of(0, 10, ProductSort.NAME.toSort(false)), "en", popularity)));
+        assertThrows(IllegalArgumentException.class,
+                () -> sorted.pageInOrder(PageRequest.of(0, 10, Sort.by("createdAt")), "en", popularity));
+    }
+
+    @Test
+    void testPatch_MatchesAFullRebuild() {
+        ProductPopularity popularity = mock(ProductPopularity.class);
+        when(popularity.getQuoteCount(2L)).thenReturn(4L);
+        snapshot.prepareOrderings(popularity);
+        // Rename the cement, retire the rod and add a drill named in Nepali only
+        Product cement = product(1L, 10L, "Shivam", true);
+        cement.setTranslations(List.of(translation(1L, 1L, "en", "White Cement")));
+        Product rod = product(2L, 20L, "Jagdamba", false);
+        Product drill = product(4L, 10L, "Bosch", true);
+        drill.setTranslations(List.of(translation(5L, 4L, "ne", "ड्रिल")));
+        when(popularity.getQuoteCount(4L)).thenReturn(9L);
+
+        CatalogSnapshot patched = snapshot.patch(2L, List.of(1L, 2L, 4L), List.of(cement, rod, drill), List.of(),
+                popularity);
+        CatalogSnapshot rebuilt = CatalogSnapshot.build(2L, "en", List.of(cement, drill), List.of(
+                translation(1L, 1L, "en", "White Cement"), translation(5L, 4L, "ne", "ड्रिल")));
+
+        assertEquals(List.of(1L, 4L), patched.getActiveProducts().stream().map(Product::getId).toList());
+        assertEquals("White Cement", patched.getProduct(1L).orElseThrow().getTranslations().get(0).getName());
+        for (ProductSort sort : ProductSort.values()) {
+            for (String language : List.of("en", "ne")) {
+                Pageable pageable = PageRequest.of(0, 10, sort.toSort(false));
+                assertEquals(ids(rebuilt.pageInOrder(pageable, language, popularity)),
+                        ids(patched.pageInOrder(pageable, language, popularity)), sort + " in " + language);
+            }
+        }
+    }
+
+    @Test
+    void testScrollInOrder_ResumesAfterLastProduct() {
+        Product drill = product(4L, 10L, "Bosch", true);
+        Product cement = product(1L, 10L, "Shivam", true);
+        Product rod = product(2L, 20L, "Jagdamba", true);
+        CatalogSnapshot sorted = CatalogSnapshot.build(1L, "en", Arrays.asList(cement, rod, drill), List.of());
+        ProductPopularity popularity = mock(ProductPopularity.class);
+
+        Window<Product> first = sorted.scrollInOrder(ProductSort.BRAND, false, null, "en", null, 0, 2, popularity);
+        assertEquals(List.of(4L, 2L), first.getContent().stream().map(Product::getId).toList());
+        assertTrue(first.hasNext());
+        Window<Product> next = sorted.scrollInOrder(ProductSort.BRAND, false, null, "en", 2L, 2, 2, popularity);
+        assertEquals(List.of(1L), next.getContent().stream().map(Product::getId).toList());
+        assertFalse(next.hasNext());
+        // Descending within a category; a product that has left the listing resumes at the recorded position
+        assertEquals(List.of(4L), sorted.scrollInOrder(ProductSort.BRAND, true, 10L, "en", 1L, 0, 2, popularity)
+                .getContent().stream().map(Product::getId).toList());
+        assertEquals(List.of(1L), sorted.scrollInOrder(ProductSort.BRAND, false, null, "en", 99L, 2, 2, popularity)
+                .getContent().stream().map(Product::getId).toList());
+    }
+
+    @Test
+    void testPopularityOrder_ServedUntilReRanked() {
+        Product cement = product(1L, 10L, "Shivam", true);
+        Product rod = product(2L, 20L, "Jagdamba", true);
+        CatalogSnapshot sorted = CatalogSnapshot.build(1L, "en", Arrays.asList(cement, rod), List.of());
+        ProductPopularity popularity = mock(ProductPopularity.class);
+        when(popularity.getVersion()).thenReturn(1L);
+        when(popularity.getQuoteCount(1L)).thenReturn(3L);
+        sorted.prepareOrderings(popularity);
+        Pageable byPopularity = PageRequest.of(0, 10, ProductSort.POPULARITY.toSort(false));
+
+        when(popularity.getVersion()).thenReturn(2L);
+        when(popularity.getQuoteCount(2L)).thenReturn(5L);
+        assertEquals(List.of(1L, 2L), ids(sorted.pageInOrder(byPopularity, "en", popularity)));
+        assertEquals(1L, sorted.getPopularityVersion());
+
+        assertEquals(2L, sorted.rankByPopularity(popularity));
+        assertEquals(List.of(2L, 1L), ids(sorted.pageInOrder(byPopularity, "en", popularity)));
+    }
+
+    @Test
+    void testProductSort_MapsLegacyProperties() {
+        assertEquals(ProductSort.NEWEST.toSort(true), ProductSort.parse("createdAt", "asc"));
+        assertEquals(ProductSort.UPDATED.toSort(false), ProductSort.parse("updatedAt", "desc"));
+        assertEquals(ProductSort.CATEGORY.toSort(false), ProductSort.parse("categoryId", "asc"));
+        assertEquals(ProductSort.NAME.toSort(true), ProductSort.parse("name", "desc"));
+        assertThrows(IllegalArgumentException.class, () -> ProductSort.parse("usageInfo", "asc"));
+    }
+
+    private List<Long> ids(Page<Product> page) {
+        return page.getContent().stream().map(Product::getId).toList();
+    }
+
+    @Test
+    void testOffHeapStore_UpdateRendersOnlyChangedProducts() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        OffHeapCatalogStore store = OffHeapCatalogStore.build(snapshot, objectMapper, 1 << 16);
+        String rodJson = store.getProductJson(2L).orElseThrow().getContentAsString(StandardCharsets.UTF_8);
+
+        Product cement = product(1L, 10L, "Shivam Gold", true);
+        Product rod = product(2L, 20L, "Jagdamba", true);
+        CatalogSnapshot next = CatalogSnapshot.build(2L, "en", Arrays.asList(rod, cement), Arrays.asList(
+                translation(1L, 1L, "en", "Cement"),
+                translation(2L, 1L, "ne", "सिमेन्ट"),
+                translation(3L, 2L, "en", "TMT Bar")));
+        OffHeapCatalogStore updated = store.update(next, Set.of(1L), objectMapper).orElseThrow();
+
+        assertTrue(updated.getProductJson(1L).orElseThrow().getContentAsString(StandardCharsets.UTF_8)
+                .contains("Shivam Gold"));
+        assertEquals(rodJson, updated.getProductJson(2L).orElseThrow().getContentAsString(StandardCharsets.UTF_8));
+        // Only the changed product's full and two localized details were appended; the buffer was reused
+        assertEquals(1, updated.getBufferCount());
+        assertTrue(updated.getUsedBytes() - store.getUsedBytes() < store.getBytes());
+        // The previous store still serves its own bytes
+        assertFalse(store.getProductJson(1L).orElseThrow().getContentAsString(StandardCharsets.UTF_8)
+                .contains("Shivam Gold"));
+
+        CatalogSnapshot relanguaged = CatalogSnapshot.build(3L, "ne", Arrays.asList(rod, cement), List.of());
+        assertTrue(updated.update(relanguaged, Set.of(), objectMapper).isEmpty());
+    }
+
+    private Product product(Long id, Long categoryId, String brand, boolean active) {
+        Product product = new Product(categoryId, brand, null, null, null, active);
+        product.setId(id);
+        return product;
+    }
+
+    private ProductTranslation translation(Long id, Long productId, String languageCode, String name) {
+        ProductTranslation translation = new ProductTranslation(productId, languageCode, name, null);
+        translation.setId(id);
+        return translation;
+    }
+}
@@ -0,0 +1,81 @@
+package com.manish.hardware.catalog;
+
+import com.manish.hardware.model.Product;
+import com.manish.hardware.model.ProductTranslation;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarCatalogTest {
+
+    @Test
+    void testProduct_RoundTripsEveryField() {
+        LocalDateTime created = LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123456789);
+        Product source = product(7L, null, null, created);
+        source.setTechnicalSpecs("Diameter: 12 mm");
+        source.setTranslations(List.of(translation(70L, 7L, "en", "Rod", created),
+                translation(71L, 7L, "ne", "रड", null)));
+
+        ColumnarCatalog columns = new ColumnarCatalog(List.of(source));
+        Product copy = columns.product(columns.rowOf(7L));
+        Product nepali = columns.product(0, columns.languageCode("ne"));
+
+        assertEquals(7L, copy.getId());
+        assertNull(copy.getCategoryId());
+        assertNull(copy.getBrand());
+        assertEquals("Diameter: 12 mm", copy.getTechnicalSpecs());
+        assertEquals(created, copy.getCreatedAt());
+        assertNull(copy.getUpdatedAt());
+        assertEquals(2, copy.getTranslations().size());
+        assertEquals(70L, copy.getTranslations().get(0).getId());
+        assertSame(copy, copy.getTranslations().get(0).getProduct());
+        assertEquals(created, copy.getTranslations().get(0).getCreatedAt());
+        assertEquals(1, nepali.getTranslations().size());
+        assertEquals("रड", nepali.getTranslations().get(0).getName());
+        assertEquals(-1, columns.rowOf(8L));
+        assertEquals(-1, columns.languageCode("hi"));
+    }
+
+    @Test
+    void testMemoryReport_ColumnsAreSmallerThanEntityGraphAt100k() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Product> products = new ArrayList<>();
+        List<ProductTranslation> translations = new ArrayList<>();
+        for (long id = 1; id <= 100_000; id++) {
+            Product product = product(id, 1 + id % 40, "Brand " + (id % 50), now.plusSeconds(id));
+            product.setImageUrl("https://cdn.example.com/products/" + id + ".jpg");
+            product.setTechnicalSpecs("Size: " + (id % 30) + " mm; Grade: " + (id % 4 == 0 ? "Fe 500" : "Fe 415"));
+            product.setUsageInfo("Store in a dry place");
+            products.add(product);
+            translations.add(translation(id * 2, id, "en", "Product " + id, now));
+            translations.add(translation(id * 2 + 1, id, "ne", "उत्पादन " + id, now));
+        }
+
+        CatalogSnapshot.MemoryReport report = CatalogSnapshot.build(1L, "en", products, translations)
+                .getMemoryReport();
+
+        assertEquals(100_000, report.getProducts());
+        assertEquals(200_000, report.getTranslations());
+        assertTrue(report.getRatio() > 2.5, "columnar " + report.getColumnarBytes() + " B vs entity graph "
+                + report.getEntityGraphBytes() + " B");
+    }
+
+    private Product product(Long id, Long categoryId, String brand, LocalDateTime createdAt) {
+        Product product = new Product(categoryId, brand, null, null, null, true);
+        product.setId(id);
+        product.setCreatedAt(createdAt);
+        return product;
+    }
+
+    private ProductTranslation translation(Long id, Long productId, String languageCode, String name,
+            LocalDateTime createdAt) {
+        ProductTranslation translation = new ProductTranslation(productId, languageCode, name, null);
+        translation.setId(id);
+        translation.setCreatedAt(createdAt);
+        return translation;
+    }
+}
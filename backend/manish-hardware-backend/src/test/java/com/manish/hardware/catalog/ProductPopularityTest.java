@@ -0,0 +1,87 @@
+package com.manish.hardware.catalog;
+
+import com.manish.hardware.repository.QuoteRequestRepository;
+import com.manish.hardware.repository.QuoteRequestRepository.ProductQuoteCount;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductPopularityTest {
+
+    @Mock
+    private QuoteRequestRepository quoteRequestRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ProductPopularity productPopularity;
+
+    @Test
+    void testFirstCommittedQuoteIsCountedOnce() {
+        ProductQuoteCount count = mock(ProductQuoteCount.class);
+        when(count.getProductId()).thenReturn(7L);
+        when(count.getQuoteCount()).thenReturn(3L);
+        // The committed quote is already part of the grouped count
+        when(quoteRequestRepository.countQuotesByProduct()).thenReturn(List.of(count));
+
+        productPopularity.onQuoteSubmitted(new QuoteSubmittedEvent(7L));
+
+        assertEquals(3L, productPopularity.getQuoteCount(7L));
+
+        long version = productPopularity.getVersion();
+        productPopularity.onQuoteSubmitted(new QuoteSubmittedEvent(7L));
+
+        assertEquals(4L, productPopularity.getQuoteCount(7L));
+        assertTrue(productPopularity.getVersion() > version);
+        verify(quoteRequestRepository, times(1)).countQuotesByProduct();
+    }
+
+    @Test
+    void testMovedAndDeletedQuotesAreUncounted() {
+        List<ProductQuoteCount> counts = List.of(count(7L, 2L));
+        when(quoteRequestRepository.countQuotesByProduct()).thenReturn(counts);
+        productPopularity.getQuoteCount(7L);
+
+        productPopularity.onQuoteSubmitted(new QuoteSubmittedEvent(8L, 7L));
+        assertEquals(1L, productPopularity.getQuoteCount(7L));
+        assertEquals(1L, productPopularity.getQuoteCount(8L));
+
+        productPopularity.onQuoteSubmitted(new QuoteSubmittedEvent(null, 7L));
+        assertEquals(0L, productPopularity.getQuoteCount(7L));
+    }
+
+    @Test
+    void testReconcilePicksUpQuotesFromOtherNodes() {
+        List<ProductQuoteCount> counts = List.of(count(7L, 2L));
+        when(quoteRequestRepository.countQuotesByProduct()).thenReturn(counts);
+        productPopularity.getQuoteCount(7L);
+        productPopularity.reconcile();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+
+        List<ProductQuoteCount> recounted = List.of(count(7L, 5L));
+        when(quoteRequestRepository.countQuotesByProduct()).thenReturn(recounted);
+        long version = productPopularity.getVersion();
+        productPopularity.reconcile();
+
+        assertEquals(5L, productPopularity.getQuoteCount(7L));
+        assertTrue(productPopularity.getVersion() > version);
+        verify(eventPublisher).publishEvent(any(QuoteSubmittedEvent.class));
+    }
+
+    private static ProductQuoteCount count(Long productId, long quotes) {
+        ProductQuoteCount count = mock(ProductQuoteCount.class);
+        when(count.getProductId()).thenReturn(productId);
+        when(count.getQuoteCount()).thenReturn(quotes);
+        return count;
+    }
+}
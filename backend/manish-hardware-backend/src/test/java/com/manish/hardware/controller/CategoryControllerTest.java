@@ -3,6 +3,7 @@ package com.manish.hardware.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.manish.hardware.model.Category;
 import com.manish.hardware.service.CategoryService;
+import com.manish.hardware.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,6 +34,9 @@ class CategoryControllerTest {
     @MockBean
     private CategoryService categoryService;
 
+    @MockBean
+    private ProductService productService;
+
     private Category testCategory;
 
     @BeforeEach
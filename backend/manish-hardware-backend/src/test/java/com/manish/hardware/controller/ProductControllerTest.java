@@ -3,6 +3,7 @@ package com.manish.hardware.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.manish.hardware.model.Product;
 import com.manish.hardware.model.ProductTranslation;
+import com.manish.hardware.search.SearchAnalyticsService;
 import com.manish.hardware.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -40,6 +41,9 @@ class ProductControllerTest {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private SearchAnalyticsService searchAnalyticsService;
+
     private Product testProduct;
     private ProductTranslation testTranslation;
 
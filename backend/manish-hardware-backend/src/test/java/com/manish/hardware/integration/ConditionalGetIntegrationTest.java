@@ -0,0 +1,84 @@
+package com.manish.hardware.integration;
+
+import com.manish.hardware.dto.SearchDtos.EndpointStats;
+import com.manish.hardware.model.Banner;
+import com.manish.hardware.search.SearchAnalyticsService;
+import com.manish.hardware.service.BannerService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that catalog GETs carry validators and that a matching
+ * If-None-Match is answered with 304 without running a query.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BannerService bannerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SearchAnalyticsService searchAnalyticsService;
+
+    @Test
+    void testUnchangedBannersReturnNotModifiedWithoutQuery() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/banners"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/api/v1/banners").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        Banner banner = bannerService.createBanner(new Banner("Monsoon offer", "/img/monsoon.png", null, 1, true));
+        try {
+            String changed = mockMvc.perform(get("/api/v1/banners").header("If-None-Match", etag))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+            assertNotEquals(etag, changed);
+        } finally {
+            bannerService.hardDeleteBanner(banner.getId());
+        }
+    }
+
+    @Test
+    void testNotModifiedSearchIsStillCounted() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/products/search?q=qwxz"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        searchAnalyticsService.flush();
+
+        mockMvc.perform(get("/api/v1/products/search?q=qwxz").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        EndpointStats search = searchAnalyticsService.getCurrentStats(10).stream()
+                .filter(stats -> stats.getEndpoint().equals("SEARCH"))
+                .findFirst().orElseThrow();
+        assertEquals(1, search.getTotalQueries());
+        assertEquals(1, search.getZeroResultQueries());
+    }
+}
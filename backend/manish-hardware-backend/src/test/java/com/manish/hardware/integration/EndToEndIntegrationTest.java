@@ -233,6 +233,16 @@ class EndToEndIntegrationTest {
                 mockMvc.perform(get("/api/v1/products/category/" + categoryId))
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$.content").isArray());
+
+                // Get Product Counts for all Categories
+                mockMvc.perform(get("/api/v1/products/count/category"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$['" + categoryId + "']").value(1));
+
+                // Get Categories with embedded Product Counts
+                mockMvc.perform(get("/api/v1/categories?includeCounts=true"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[?(@.id == " + categoryId + ")].productCount").value(1));
         }
 
         @Test
@@ -261,6 +271,22 @@ class EndToEndIntegrationTest {
                 mockMvc.perform(get("/api/v1/products/" + productId + "/translations/en/exists"))
                                 .andExpect(status().isOk())
                                 .andExpect(content().string("true"));
+
+                // Get Product Cards by Category (precomputed localized name order)
+                mockMvc.perform(get("/api/v1/products/category/" + categoryId + "?view=card&lang=en&sortBy=name"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content[0].name").value("Test Product"))
+                                .andExpect(jsonPath("$.content[0].technicalSpecs").doesNotExist())
+                                .andExpect(jsonPath("$.content[0].translations").doesNotExist());
+
+                // Sort orders outside the supported set are rejected
+                mockMvc.perform(get("/api/v1/products/category/" + categoryId + "?sortBy=usageInfo"))
+                                .andExpect(status().isBadRequest());
+
+                // Get Product Cards (catalog snapshot)
+                mockMvc.perform(get("/api/v1/products?view=card&lang=en"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content[0].name").value("Test Product"));
         }
 
         @Test
@@ -439,6 +465,26 @@ class EndToEndIntegrationTest {
                                 .header("Authorization", "Bearer " + jwtToken))
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$.content").isArray());
+
+                // Search Product Cards
+                mockMvc.perform(get("/api/v1/products/search?q=Test&view=card&lang=en"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content[0].name").value("Test Product"))
+                                .andExpect(jsonPath("$.content[0].usageInfo").doesNotExist());
+
+                // Search Products without a total count
+                mockMvc.perform(get("/api/v1/products/search?q=Test&pagination=slice"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content").isArray())
+                                .andExpect(jsonPath("$.hasNext").value(false))
+                                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+                // Search Quotes without a total count
+                mockMvc.perform(get("/api/v1/quotes/search?q=Test&pagination=slice")
+                                .header("Authorization", "Bearer " + jwtToken))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content").isArray())
+                                .andExpect(jsonPath("$.hasNext").exists());
         }
 
         @Test
@@ -0,0 +1,84 @@
+package com.manish.hardware.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.manish.hardware.catalog.ProductCatalog;
+import com.manish.hardware.model.Product;
+import com.manish.hardware.model.ProductTranslation;
+import com.manish.hardware.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that with off-heap storage product details are served from the
+ * direct buffers, byte for byte what the heap path renders, and that
+ * languages outside the store still resolve through the snapshot.
+ */
+@SpringBootTest(properties = {"app.catalog.storage=off-heap", "app.catalog.off-heap-chunk-bytes=1024"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OffHeapCatalogIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long productId;
+
+    @AfterEach
+    void tearDown() {
+        if (productId != null) {
+            productService.hardDeleteProduct(productId);
+        }
+    }
+
+    @Test
+    void testProductDetailsAreServedFromDirectBuffers() throws Exception {
+        Product product = productService.createProduct(new Product(930L, "Tata Tiscon", null, "Grade: Fe 500", null,
+                true));
+        productId = product.getId();
+        productService.addTranslation(productId, new ProductTranslation(productId, "en", "TMT Bar", "Rebar"));
+        productService.addTranslation(productId, new ProductTranslation(productId, "ne", "टीएमटी रड", null));
+        assertTrue(productCatalog.current().getOffHeapStore().isPresent());
+
+        String expected = objectMapper.writeValueAsString(productCatalog.current().getProduct(productId).orElseThrow());
+        String served = mockMvc.perform(get("/api/v1/products/" + productId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertEquals(expected, served);
+
+        mockMvc.perform(get("/api/v1/products/" + productId + "/localized").param("lang", "ne"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("टीएमटी रड"))
+                .andExpect(jsonPath("$.fallback").value(false));
+        mockMvc.perform(get("/api/v1/products/" + productId + "/localized").param("lang", "fr"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("TMT Bar"))
+                .andExpect(jsonPath("$.fallback").value(true));
+        mockMvc.perform(get("/api/v1/products/99999999"))
+                .andExpect(status().isNotFound());
+        assertTrue(productCatalog.current().getMemoryReport().getOffHeapBytes() > 0);
+    }
+}
@@ -0,0 +1,116 @@
+package com.manish.hardware.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.manish.hardware.dto.PageDtos.CursorPage;
+import com.manish.hardware.model.Product;
+import com.manish.hardware.model.ProductTranslation;
+import com.manish.hardware.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that database-backed product pages load translations with a
+ * constant number of queries, independent of the page size, and that search
+ * is answered from the in-memory index.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class ProductQueryCountIntegrationTest {
+
+    private static final Long CATEGORY_ID = 900L;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Long> productIds = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 6; i++) {
+            Product product = productService.createProduct(
+                    new Product(CATEGORY_ID, "Brand " + i, null, null, null, true));
+            productService.addTranslation(product.getId(),
+                    new ProductTranslation(product.getId(), "en", "Widget " + i, null));
+            productService.addTranslation(product.getId(),
+                    new ProductTranslation(product.getId(), "ne", "विजेट " + i, null));
+            productIds.add(product.getId());
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productIds.forEach(productService::hardDeleteProduct);
+    }
+
+    @Test
+    void testSearchPage_ServedFromIndexWithoutQueries() throws Exception {
+        // First search builds the index and loads quote popularity
+        productService.searchProducts("widget", PageRequest.of(0, 1));
+
+        long smallPage = countQueries(() -> serialize(productService.searchProducts("widget", PageRequest.of(0, 2))));
+        long fullPage = countQueries(() -> serialize(productService.searchProducts("widget", PageRequest.of(0, 6))));
+
+        assertEquals(0, fullPage);
+        assertEquals(smallPage, fullPage);
+    }
+
+    @Test
+    void testCursorPage_QueryCountIndependentOfPageSize() throws Exception {
+        long smallPage = countQueries(() -> serialize(
+                productService.getProductsByCategoryAfter(CATEGORY_ID, null, 2, "id", "asc", "en")));
+        long fullPage = countQueries(() -> serialize(
+                productService.getProductsByCategoryAfter(CATEGORY_ID, null, 6, "id", "asc", "en")));
+
+        // keyset query + one batched translation query
+        assertEquals(2, fullPage);
+        assertEquals(smallPage, fullPage);
+    }
+
+    @Test
+    void testSearchPage_TranslationsAttached() {
+        Page<Product> page = productService.searchProducts("widget", PageRequest.of(0, 6));
+
+        assertEquals(6, page.getTotalElements());
+        page.getContent().forEach(product -> assertEquals(2, product.getTranslations().size()));
+    }
+
+    private long countQueries(ThrowingRunnable action) throws Exception {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void serialize(Page<Product> page) throws Exception {
+        assertFalse(objectMapper.writeValueAsString(page.getContent()).isEmpty());
+    }
+
+    private void serialize(CursorPage<Product> page) throws Exception {
+        assertFalse(objectMapper.writeValueAsString(page.getContent()).isEmpty());
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
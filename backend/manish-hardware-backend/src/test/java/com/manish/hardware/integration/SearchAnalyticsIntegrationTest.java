@@ -0,0 +1,46 @@
+package com.manish.hardware.integration;
+
+import com.manish.hardware.dto.SearchDtos.EndpointStats;
+import com.manish.hardware.search.SearchAnalyticsService;
+import com.manish.hardware.search.SearchAnalyticsService.Endpoint;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that recorded queries are normalized, counted per endpoint and
+ * written to the rollup tables on flush.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SearchAnalyticsIntegrationTest {
+
+    @Autowired
+    private SearchAnalyticsService searchAnalyticsService;
+
+    @Test
+    void testFlush_SavesRollupWithTopAndZeroResultQueries() {
+        searchAnalyticsService.flush();
+        searchAnalyticsService.record(Endpoint.SEARCH, "Cement ", "en", false, 2_000_000);
+        searchAnalyticsService.record(Endpoint.SEARCH, "cement", "en", false, 3_000_000);
+        searchAnalyticsService.record(Endpoint.SEARCH, "xyzzy", "en", true, 1_000_000);
+
+        searchAnalyticsService.flush();
+
+        EndpointStats rollup = searchAnalyticsService.getRollups(1, 10).stream()
+                .filter(stats -> stats.getEndpoint().equals("SEARCH"))
+                .findFirst().orElseThrow();
+        assertEquals(3, rollup.getTotalQueries());
+        assertEquals(1, rollup.getZeroResultQueries());
+        assertEquals("cement", rollup.getTopQueries().get(0).getQuery());
+        assertEquals(2, rollup.getTopQueries().get(0).getCount());
+        assertEquals(List.of("xyzzy"), rollup.getZeroResultTopQueries().stream().map(q -> q.getQuery()).toList());
+        assertTrue(rollup.getP99Micros() >= 3000);
+        assertEquals(0, searchAnalyticsService.getCurrentStats(10).get(0).getTotalQueries());
+    }
+}
@@ -0,0 +1,60 @@
+package com.manish.hardware.integration;
+
+import com.manish.hardware.model.Product;
+import com.manish.hardware.model.ProductTranslation;
+import com.manish.hardware.search.ProductSearchService;
+import com.manish.hardware.search.ProductSearchService.ReindexStatus;
+import com.manish.hardware.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that an admin reindex rebuilds the search index from the database
+ * in the background, checks its document count and swaps it in.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SearchReindexIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    private Long productId;
+
+    @AfterEach
+    void tearDown() {
+        if (productId != null) {
+            productService.hardDeleteProduct(productId);
+        }
+    }
+
+    @Test
+    void testReindex_RebuildsAndSwapsInBackground() throws Exception {
+        Product product = productService.createProduct(new Product(920L, "Hulas", null, null, null, true));
+        productId = product.getId();
+        productService.addTranslation(productId, new ProductTranslation(productId, "en", "Binding Wire", null));
+        assertEquals(List.of(productId), productSearchService.search("binding", "en", 920L));
+
+        assertTrue(productSearchService.startReindex());
+
+        ReindexStatus status = productSearchService.getReindexStatus();
+        for (int attempt = 0; attempt < 50 && status.isRunning(); attempt++) {
+            Thread.sleep(100);
+            status = productSearchService.getReindexStatus();
+        }
+        assertEquals(ReindexStatus.State.COMPLETED, status.getState());
+        assertEquals(productService.getActiveProductCount(), status.getIndexed());
+        assertEquals(100, status.getPercent());
+        assertEquals(List.of(productId), productSearchService.search("binding", "en", 920L));
+    }
+}
@@ -0,0 +1,62 @@
+package com.manish.hardware.integration;
+
+import com.manish.hardware.model.Product;
+import com.manish.hardware.model.ProductTranslation;
+import com.manish.hardware.search.ProductSearchService;
+import com.manish.hardware.service.AppConfigService;
+import com.manish.hardware.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that saving synonym rules in app config rebuilds the search index
+ * in the background and that searches pick the new rules up once it is swapped in.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SearchRulesIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private AppConfigService appConfigService;
+
+    private Long productId;
+
+    @AfterEach
+    void tearDown() {
+        appConfigService.deleteConfigByKey(ProductSearchService.SYNONYMS_KEY);
+        if (productId != null) {
+            productService.hardDeleteProduct(productId);
+        }
+    }
+
+    @Test
+    void testSavingSynonyms_RebuildsIndexInBackground() throws Exception {
+        Product product = productService.createProduct(new Product(910L, "Jagdamba", null, null, null, true));
+        productId = product.getId();
+        productService.addTranslation(productId, new ProductTranslation(productId, "en", "TMT Bar 12mm", null));
+        assertEquals(List.of(productId), productSearchService.search("tmt bar", "en", 910L));
+        assertTrue(productSearchService.search("rebar", "en", 910L).isEmpty());
+
+        appConfigService.saveConfig(ProductSearchService.SYNONYMS_KEY, "rod, tmt bar, rebar");
+
+        List<Long> matches = List.of();
+        for (int attempt = 0; attempt < 50 && matches.isEmpty(); attempt++) {
+            Thread.sleep(100);
+            matches = productSearchService.search("rebar", "en", 910L);
+        }
+        assertEquals(List.of(productId), matches);
+    }
+}
@@ -0,0 +1,176 @@
+package com.manish.hardware.integration;
+
+import com.manish.hardware.catalog.CatalogChangePoller;
+import com.manish.hardware.catalog.CatalogChangedEvent.Resource;
+import com.manish.hardware.catalog.CatalogVersions;
+import com.manish.hardware.catalog.ProductCatalog;
+import com.manish.hardware.dto.SyncDtos.SyncResponse;
+import com.manish.hardware.dto.SyncDtos.Tombstone;
+import com.manish.hardware.model.Banner;
+import com.manish.hardware.model.CatalogChange;
+import com.manish.hardware.model.Product;
+import com.manish.hardware.model.ProductTranslation;
+import com.manish.hardware.repository.CatalogChangeRepository;
+import com.manish.hardware.repository.ProductRepository;
+import com.manish.hardware.repository.ProductTranslationRepository;
+import com.manish.hardware.service.BannerService;
+import com.manish.hardware.service.ProductService;
+import com.manish.hardware.service.SyncService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that catalog writes land in the change log and come back from the
+ * delta sync as rows or tombstones.
+ */
+@SpringBootTest(properties = "app.sync.commit-grace-ms=0")
+@ActiveProfiles("test")
+class SyncIntegrationTest {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private BannerService bannerService;
+
+    @Autowired
+    private CatalogChangePoller catalogChangePoller;
+
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductTranslationRepository translationRepository;
+
+    @Autowired
+    private CatalogChangeRepository catalogChangeRepository;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Test
+    void testPollerAppliesChangesCommittedByAnotherNode() {
+        catalogChangePoller.poll();
+
+        // Written the way another node would: rows and change log only, no event in this JVM
+        Product saw = productRepository.save(new Product(2L, "Stanley", null, null, null, true));
+        translationRepository.save(new ProductTranslation(saw.getId(), "en", "Hacksaw", null));
+        catalogChangeRepository.save(new CatalogChange("PRODUCT", saw.getId()));
+        try {
+            catalogChangePoller.poll();
+
+            assertTrue(productCatalog.current().getProduct(saw.getId()).isPresent());
+        } finally {
+            productService.hardDeleteProduct(saw.getId());
+        }
+    }
+
+    @Test
+    void testPollerReplaysConfigAndLanguageChangesWithoutSyncingThem() {
+        catalogChangePoller.poll();
+        long cursor = syncService.getFullCatalog().getCursor();
+        long configVersion = catalogVersions.forResources(Resource.CONFIG).getVersion();
+        long languageVersion = catalogVersions.forResources(Resource.LANGUAGE).getVersion();
+
+        catalogChangeRepository.save(new CatalogChange("CONFIG", 7L));
+        catalogChangeRepository.save(new CatalogChange("LANGUAGE", CatalogChange.WHOLE_RESOURCE));
+        catalogChangeRepository.save(new CatalogChange("PRODUCT", CatalogChange.WHOLE_RESOURCE));
+        catalogChangePoller.poll();
+
+        assertTrue(catalogVersions.forResources(Resource.CONFIG).getVersion() > configVersion);
+        assertTrue(catalogVersions.forResources(Resource.LANGUAGE).getVersion() > languageVersion);
+        SyncResponse delta = syncService.getChangesSince(cursor, 500);
+        assertTrue(delta.getProducts().isEmpty());
+        assertTrue(delta.getTombstones().isEmpty());
+        assertTrue(delta.getCursor() > cursor);
+    }
+
+    @Test
+    void testDeltaSyncReturnsChangesAndTombstones() {
+        long cursor = syncService.getFullCatalog().getCursor();
+
+        Product drill = productService.createProduct(new Product(1L, "Bosch", null, null, null, true));
+        productService.addTranslation(drill.getId(), new ProductTranslation(drill.getId(), "en", "Drill", null));
+        Product retired = productService.createProduct(new Product(1L, "Old Brand", null, null, null, true));
+        productService.deleteProduct(retired.getId());
+        Banner banner = bannerService.createBanner(new Banner("Sale", "/img/sale.png", null, 1, true));
+
+        SyncResponse delta = syncService.getChangesSince(cursor, 500);
+
+        assertFalse(delta.isFull());
+        assertTrue(delta.getCursor() > cursor);
+        assertEquals(1, delta.getProducts().size());
+        assertEquals("Drill", delta.getProducts().get(0).getTranslations().get(0).getName());
+        assertEquals(1, delta.getBanners().size());
+        assertEquals(1, delta.getTombstones().size());
+        assertEquals("inactive", delta.getTombstones().get(0).getReason());
+        assertEquals(retired.getId(), delta.getTombstones().get(0).getId());
+
+        bannerService.hardDeleteBanner(banner.getId());
+        productService.hardDeleteProduct(drill.getId());
+        productService.hardDeleteProduct(retired.getId());
+        SyncResponse afterDelete = syncService.getChangesSince(delta.getCursor(), 500);
+
+        assertTrue(afterDelete.getProducts().isEmpty());
+        assertTrue(afterDelete.getBanners().isEmpty());
+        assertEquals(3, afterDelete.getTombstones().size());
+        assertTrue(afterDelete.getTombstones().stream().map(Tombstone::getReason).allMatch("deleted"::equals));
+        assertEquals(afterDelete.getCursor(), syncService.getChangesSince(afterDelete.getCursor(), 500).getCursor());
+    }
+
+    @Test
+    void testDeltaSyncPagesThroughLongChangeLogs() {
+        long cursor = syncService.getFullCatalog().getCursor();
+        Banner first = bannerService.createBanner(new Banner("One", "/img/1.png", null, 1, true));
+        Banner second = bannerService.createBanner(new Banner("Two", "/img/2.png", null, 2, true));
+
+        SyncResponse page = syncService.getChangesSince(cursor, 1);
+
+        assertTrue(page.isHasMore());
+        assertEquals(first.getId(), page.getBanners().get(0).getId());
+        assertEquals(second.getId(), syncService.getChangesSince(page.getCursor(), 1).getBanners().get(0).getId());
+
+        bannerService.hardDeleteBanner(first.getId());
+        bannerService.hardDeleteBanner(second.getId());
+    }
+
+    @Test
+    void testCompactionKeepsLatestChangeAndOldCursorsResyncFully() {
+        long cursor = syncService.getFullCatalog().getCursor();
+        Banner banner = bannerService.createBanner(new Banner("Old", "/img/old.png", null, 1, true));
+        banner.setTitle("Older");
+        bannerService.updateBanner(banner.getId(), banner);
+        // Age both changes past the retention window
+        for (CatalogChange change : catalogChangeRepository.findAll()) {
+            if (change.getId() > cursor) {
+                change.setChangedAt(LocalDateTime.now().minusDays(60));
+                catalogChangeRepository.save(change);
+            }
+        }
+        try {
+            assertEquals(1, syncService.compactChangesBefore(LocalDateTime.now().minusDays(30)));
+            assertEquals(1, catalogChangeRepository.findAll().stream()
+                    .filter(change -> change.getId() > cursor).count());
+
+            SyncResponse resync = syncService.getChangesSince(cursor, 500);
+
+            assertTrue(resync.isFull());
+            assertTrue(resync.getCursor() > cursor);
+            assertFalse(syncService.getChangesSince(resync.getCursor(), 500).isFull());
+        } finally {
+            bannerService.hardDeleteBanner(banner.getId());
+        }
+    }
+}
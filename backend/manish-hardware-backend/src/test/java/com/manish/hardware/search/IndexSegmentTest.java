@@ -0,0 +1,80 @@
+package com.manish.hardware.search;
+
+import com.manish.hardware.config.SearchConfig;
+import com.manish.hardware.model.Product;
+import com.manish.hardware.model.ProductTranslation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexSegmentTest {
+
+    @TempDir
+    Path directory;
+
+    private SearchRules rules;
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        rules = SearchRules.compile("rod, tmt bar", "mm: millimeter");
+        index = SearchIndex.build(Arrays.asList(
+                product(1L, 10L, "Shivam", translation("en", "Portland Cement", "Grey cement"),
+                        translation("ne", "ढलान सिमेन्ट", null)),
+                product(2L, null, "Jagdamba", translation("en", "TMT Bar 10 millimeter", "Steel"))), rules);
+    }
+
+    @Test
+    void testSaveAndLoad_RestoresAnEquivalentIndex() throws Exception {
+        Path path = directory.resolve("index.bin");
+        IndexSegment.save(index, 42L, path);
+
+        IndexSegment.Loaded loaded = IndexSegment.load(path, rules).orElseThrow();
+        SearchIndex restored = loaded.getIndex();
+
+        assertEquals(42L, loaded.getCursor());
+        assertEquals(index.size(), restored.size());
+        assertEquals(index.termCount(), restored.termCount());
+        assertEquals(List.of(2L), restored.search(List.of("rod", "10mm"), null));
+        assertEquals(List.of(1L), restored.search(List.of("dhalaan"), 10L));
+        assertEquals(List.of("cement"), restored.correct(List.of("cemnt")));
+        SearchConfig config = new SearchConfig();
+        assertEquals(index.rank(List.of("cement"), null, 10, config, id -> 0).getIds(),
+                restored.rank(List.of("cement"), null, 10, config, id -> 0).getIds());
+
+        restored.remove(1L);
+        assertTrue(restored.search(List.of("cement"), null).isEmpty());
+    }
+
+    @Test
+    void testLoad_RejectsOtherRulesAndDamagedFiles() throws Exception {
+        Path path = directory.resolve("index.bin");
+        assertTrue(IndexSegment.load(path, rules).isEmpty());
+
+        IndexSegment.save(index, 7L, path);
+        assertTrue(IndexSegment.load(path, SearchRules.none()).isEmpty());
+
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(path, bytes);
+        assertTrue(IndexSegment.load(path, rules).isEmpty());
+    }
+
+    private Product product(Long id, Long categoryId, String brand, ProductTranslation... translations) {
+        Product product = new Product(categoryId, brand, null, null, null, true);
+        product.setId(id);
+        product.setTranslations(Arrays.asList(translations));
+        return product;
+    }
+
+    private ProductTranslation translation(String languageCode, String name, String description) {
+        return new ProductTranslation(null, languageCode, name, description);
+    }
+}
@@ -0,0 +1,57 @@
+package com.manish.hardware.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchAnalyticsTest {
+
+    @Test
+    void testHeavyHitters_KeepsFrequentQueriesInFixedCounters() {
+        HeavyHitters sketch = new HeavyHitters(5);
+        for (int i = 0; i < 1000; i++) {
+            sketch.offer(i % 4 == 0 ? "cement" : i % 4 == 1 ? "tmt bar" : "rare " + i);
+        }
+
+        List<HeavyHitters.Counter> top = sketch.top(2);
+        assertEquals(List.of("cement", "tmt bar"), top.stream().map(HeavyHitters.Counter::getItem).toList());
+        for (HeavyHitters.Counter counter : top) {
+            assertTrue(counter.getCount() >= 250);
+            assertTrue(counter.getCount() - counter.getError() <= 250);
+        }
+        assertEquals(5, sketch.top(10).size());
+        assertEquals(1000, sketch.total());
+    }
+
+    @Test
+    void testHeavyHitters_EvictsFromTheSmallestBucket() {
+        HeavyHitters sketch = new HeavyHitters(2);
+        for (String item : List.of("cement", "cement", "cement", "rod", "paint", "paint")) {
+            sketch.offer(item);
+        }
+
+        List<HeavyHitters.Counter> top = sketch.top(2);
+        assertEquals("cement", top.get(0).getItem());
+        assertEquals(3, top.get(0).getCount());
+        // "paint" took over the counter of "rod" (count 1), so one of its three is error
+        assertEquals("paint", top.get(1).getItem());
+        assertEquals(3, top.get(1).getCount());
+        assertEquals(1, top.get(1).getError());
+    }
+
+    @Test
+    void testLatencyHistogram_PercentilesWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros * 1_000);
+        }
+
+        assertEquals(1000, histogram.count());
+        assertEquals(1000, histogram.maxMicros());
+        assertTrue(histogram.percentileMicros(0.50) >= 500 && histogram.percentileMicros(0.50) <= 500 * 1.125);
+        assertTrue(histogram.percentileMicros(0.99) >= 990 && histogram.percentileMicros(0.99) <= 1000);
+        assertEquals(0, new LatencyHistogram().percentileMicros(0.5));
+    }
+}
@@ -0,0 +1,139 @@
+package com.manish.hardware.search;
+
+import com.manish.hardware.config.SearchConfig;
+import com.manish.hardware.model.Product;
+import com.manish.hardware.model.ProductTranslation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = SearchIndex.build(Arrays.asList(
+                product(1L, 10L, "Shivam", translation("en", "Portland Cement", "Grey cement for plaster"),
+                        translation("ne", "सिमेन्ट", "प्लास्टरको लागि")),
+                product(2L, 20L, "Jagdamba", translation("en", "TMT Bar 10mm", "Steel rod")),
+                product(3L, 10L, "Café Paints", translation("en", "Wall Putty", null))));
+    }
+
+    @Test
+    void testSearch_MatchesPrefixesOfEveryToken() {
+        assertEquals(List.of(1L), index.search(List.of("cem"), null));
+        assertEquals(List.of(1L), index.search(List.of("grey", "cem"), null));
+        assertTrue(index.search(List.of("grey", "steel"), null).isEmpty());
+        assertEquals(List.of(2L), index.search(List.of("jag"), null));
+    }
+
+    @Test
+    void testSearch_FiltersByCategory() {
+        assertEquals(List.of(1L, 3L), index.search(List.of("p"), 10L));
+        assertTrue(index.search(List.of("tmt"), 10L).isEmpty());
+    }
+
+    @Test
+    void testTokenizer_FoldsAccentsDigitsAndDevanagariVariants() {
+        assertEquals(List.of("cafe", "paints"), SearchTokenizer.forLanguage("en").tokenize("Café Paints!"));
+        assertEquals(List.of("10", "mm"), SearchTokenizer.forLanguage("ne").tokenize("१० mm"));
+        assertEquals(SearchTokenizer.forLanguage("ne").tokenize("बाँस"),
+                SearchTokenizer.forQuery("बांस", "en").tokenize("बांस"));
+        assertEquals(List.of(1L), index.search(SearchTokenizer.forQuery("सिमे", "en").tokenize("सिमे"), null));
+    }
+
+    @Test
+    void testRank_PrefersNameHitsAndKeepsOnlyTheBest() {
+        index.index(product(4L, 10L, "Shivam", translation("en", "Plaster Sand", "Mix with cement")));
+        SearchConfig config = new SearchConfig();
+
+        SearchIndex.RankedHits hits = index.rank(List.of("cement"), null, 1, config, id -> 0);
+
+        assertEquals(List.of(1L), hits.getIds());
+        assertEquals(2, hits.getTotal());
+    }
+
+    @Test
+    void testRank_PopularityBoostBreaksCloseScores() {
+        index.index(product(4L, 10L, "Shivam", translation("en", "Portland Cement", "Grey cement for plaster")));
+        SearchConfig config = new SearchConfig();
+
+        List<Long> byText = index.rank(List.of("cement"), null, 10, config, id -> 0).getIds();
+        Long runnerUp = byText.get(1);
+        List<Long> boosted = index.rank(List.of("cement"), null, 10, config, id -> id.equals(runnerUp) ? 25 : 0)
+                .getIds();
+
+        assertEquals(2, byText.size());
+        assertEquals(runnerUp, boosted.get(0));
+    }
+
+    @Test
+    void testIndex_ReplacesAndRemovesProducts() {
+        index.index(product(2L, 20L, "Jagdamba", translation("en", "Rebar", null)));
+        assertTrue(index.search(List.of("tmt"), null).isEmpty());
+        assertEquals(List.of(2L), index.search(List.of("rebar"), null));
+
+        index.remove(2L);
+        assertTrue(index.search(List.of("rebar"), null).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testCorrect_ReplacesOnlyTokensThatMatchNothing() {
+        assertEquals(List.of("grey", "cement"), index.correct(List.of("grey", "cemnet")));
+        assertEquals(List.of("bar"), index.correct(List.of("barr")));
+        assertEquals(List.of("xyzzy"), index.correct(List.of("xyzzy")));
+        assertEquals(List.of("ab"), index.correct(List.of("ab")));
+
+        index.remove(2L);
+        assertEquals(List.of("barr"), index.correct(List.of("barr")));
+    }
+
+    @Test
+    void testSearch_MatchesRomanizedNepaliByTransliteration() {
+        index.index(product(4L, 10L, "Shivam", translation("en", "Roof Slope", null),
+                translation("ne", "ढलान", "छड र सिमेन्ट")));
+
+        assertEquals(List.of(4L), index.search(List.of("dhalaan"), null));
+        assertEquals(List.of(4L), index.search(List.of("chhad"), null));
+        assertEquals(List.of(1L, 4L), index.search(List.of("siment"), null));
+        assertEquals(List.of("dhalan"), index.correct(List.of("dhalan")));
+        assertEquals(Transliteration.key("ढलान"), Transliteration.key("dhalaan"));
+        assertNull(Transliteration.key("10mm"));
+
+        index.remove(4L);
+        assertTrue(index.search(List.of("dhalaan"), null).isEmpty());
+    }
+
+    @Test
+    void testSearch_AppliesSynonymAndUnitRules() {
+        SearchRules rules = SearchRules.compile("rod, tmt bar, rebar\nppc, portland pozzolana",
+                "mm: millimeter, millimetre");
+        SearchIndex withRules = SearchIndex.build(List.of(
+                product(1L, 10L, "Shivam", translation("en", "PPC Cement", null)),
+                product(2L, 20L, "Jagdamba", translation("en", "TMT Bar 10 MM", "Steel rod"))), rules);
+
+        assertEquals(List.of("10mm"), rules.normalize(List.of("10", "millimetre")));
+        assertEquals(List.of("10mm", "x"), rules.normalize(List.of("10millimeter", "x")));
+        assertEquals(List.of(2L), withRules.search(rules.normalize(List.of("rebar", "10mm")), null));
+        assertEquals(List.of(1L), withRules.search(List.of("portland", "pozzolana"), null));
+        assertTrue(rules.hasSource("rod, tmt bar, rebar\nppc, portland pozzolana", "mm: millimeter, millimetre"));
+        assertTrue(index.search(List.of("rebar"), null).isEmpty());
+    }
+
+    private Product product(Long id, Long categoryId, String brand, ProductTranslation... translations) {
+        Product product = new Product(categoryId, brand, null, null, null, true);
+        product.setId(id);
+        product.setTranslations(Arrays.asList(translations));
+        return product;
+    }
+
+    private ProductTranslation translation(String languageCode, String name, String description) {
+        return new ProductTranslation(null, languageCode, name, description);
+    }
+}
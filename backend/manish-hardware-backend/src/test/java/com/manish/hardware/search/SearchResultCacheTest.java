@@ -0,0 +1,53 @@
+package com.manish.hardware.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchResultCacheTest {
+
+    @Test
+    void testGet_RecomputesOnlyWhenVersionChanges() {
+        SearchResultCache cache = new SearchResultCache(10);
+        AtomicInteger computed = new AtomicInteger();
+
+        assertEquals(List.of(1L), cache.get("cement", 1, () -> List.of((long) computed.incrementAndGet())));
+        assertEquals(List.of(1L), cache.get("cement", 1, () -> List.of((long) computed.incrementAndGet())));
+        assertEquals(List.of(2L), cache.get("cement", 2, () -> List.of((long) computed.incrementAndGet())));
+
+        SearchResultCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(1, stats.getStale());
+        assertEquals(1.0 / 3, stats.getHitRate(), 1e-9);
+    }
+
+    @Test
+    void testGet_EvictsLeastRecentlyUsed() {
+        SearchResultCache cache = new SearchResultCache(2);
+        cache.get("a", 1, () -> "a");
+        cache.get("b", 1, () -> "b");
+        cache.get("a", 1, () -> "a");
+        cache.get("c", 1, () -> "c");
+
+        assertEquals("a", cache.get("a", 1, () -> "recomputed"));
+        assertEquals("recomputed", cache.get("b", 1, () -> "recomputed"));
+        assertEquals(2, cache.getStats().getEvictions());
+        assertEquals(2, cache.getStats().getSize());
+    }
+
+    @Test
+    void testGet_ZeroCapacityDisablesCaching() {
+        SearchResultCache cache = new SearchResultCache(0);
+        AtomicInteger computed = new AtomicInteger();
+
+        cache.get("a", 1, computed::incrementAndGet);
+        cache.get("a", 1, computed::incrementAndGet);
+
+        assertEquals(2, computed.get());
+        assertEquals(0, cache.getStats().getSize());
+    }
+}
@@ -0,0 +1,51 @@
+package com.manish.hardware.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionTrieTest {
+
+    private SuggestionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        SuggestionTrie.Builder builder = new SuggestionTrie.Builder(2);
+        int cement = builder.add("Portland Cement", 5);
+        builder.key(cement, "portland cement").key(cement, "cement");
+        int putty = builder.add("Wall Putty", 1);
+        builder.key(putty, "wall putty").key(putty, "putty");
+        int paint = builder.add("Wall Paint", 3);
+        builder.key(paint, "wall paint").key(paint, "paint");
+        int pipe = builder.add("PVC Pipe", 3);
+        builder.key(pipe, "pvc pipe").key(pipe, "pipe");
+        trie = builder.build();
+    }
+
+    @Test
+    void testLookup_ReturnsHeaviestMatchesForPrefix() {
+        assertEquals(List.of("Portland Cement", "PVC Pipe"), texts(trie.lookup("p", 10)));
+        assertEquals(List.of("Wall Paint"), texts(trie.lookup("pa", 10)));
+        assertEquals(List.of("Wall Paint", "Wall Putty"), texts(trie.lookup("wall p", 10)));
+        assertEquals(List.of("Portland Cement"), texts(trie.lookup("cem", 10)));
+        assertEquals(List.of("Portland Cement"), texts(trie.lookup("p", 1)));
+    }
+
+    @Test
+    void testLookup_UnknownPrefixReturnsNothing() {
+        assertEquals(0, trie.lookup("brick", 10).length);
+        assertEquals(0, SuggestionTrie.empty().lookup("p", 10).length);
+    }
+
+    private List<String> texts(int[] entries) {
+        List<String> texts = new ArrayList<>();
+        for (int entry : entries) {
+            texts.add(trie.getText(entry));
+        }
+        return texts;
+    }
+}
@@ -0,0 +1,90 @@
+package com.manish.hardware.service;
+
+import com.manish.hardware.catalog.ProductSort;
+import com.manish.hardware.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCursorTest {
+
+    @Test
+    void testResolve_FirstPageStartsAtInitialPosition() {
+        ProductCursor cursor = ProductCursor.resolve(null, "createdAt", "desc");
+
+        assertTrue(cursor.toScrollPosition().isInitial());
+        assertEquals(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")),
+                cursor.toSort());
+    }
+
+    @Test
+    void testEncodeDecode_RoundTrip() {
+        Product product = new Product();
+        product.setId(42L);
+        product.setCreatedAt(LocalDateTime.of(2024, 5, 1, 10, 30));
+
+        String token = ProductCursor.resolve(null, "createdAt", "asc").after(product).encode();
+        ScrollPosition position = ProductCursor.resolve(token, "createdAt", "asc").toScrollPosition();
+
+        KeysetScrollPosition keyset = assertInstanceOf(KeysetScrollPosition.class, position);
+        assertEquals(LocalDateTime.of(2024, 5, 1, 10, 30), keyset.getKeys().get("createdAt"));
+        assertEquals(42L, keyset.getKeys().get("id"));
+    }
+
+    @Test
+    void testResolve_RejectsUnsupportedSort() {
+        assertThrows(IllegalArgumentException.class, () -> ProductCursor.resolve(null, "usageInfo", "asc"));
+    }
+
+    @Test
+    void testResolve_MapsNewestOntoCreatedAtKeyset() {
+        Product product = new Product();
+        product.setId(9L);
+        product.setCreatedAt(LocalDateTime.of(2024, 5, 1, 10, 30));
+
+        ProductCursor newest = ProductCursor.resolve(null, "newest", "asc");
+        String token = newest.after(product).encode();
+
+        assertTrue(newest.isKeyset());
+        assertEquals(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")),
+                newest.toSort());
+        // The legacy property name in the opposite direction is the same order, so its cursors carry over
+        assertEquals(9L, ProductCursor.resolve(token, "createdAt", "desc").getLastId());
+    }
+
+    @Test
+    void testResolve_PagesNameAndBrandOverTheCatalog() {
+        Product product = new Product();
+        product.setId(5L);
+
+        ProductCursor first = ProductCursor.resolve(null, "brand", "desc");
+        ProductCursor next = ProductCursor.resolve(first.after(product, 20).encode(), "brand", "desc");
+
+        assertFalse(first.isKeyset());
+        assertEquals(ProductSort.BRAND, next.getSort());
+        assertTrue(next.isDescending());
+        assertEquals(5L, next.getLastId());
+        assertEquals(20, next.getPosition());
+        assertThrows(IllegalArgumentException.class, () -> ProductCursor.resolve(first.after(product, 20).encode(),
+                "name", "desc"));
+    }
+
+    @Test
+    void testResolve_RejectsCursorForDifferentSort() {
+        Product product = new Product();
+        product.setId(7L);
+        String token = ProductCursor.resolve(null, "id", "asc").after(product).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> ProductCursor.resolve(token, "id", "desc"));
+    }
+
+    @Test
+    void testResolve_RejectsGarbage() {
+        assertThrows(IllegalArgumentException.class, () -> ProductCursor.resolve("not-a-cursor", "id", "asc"));
+    }
+}
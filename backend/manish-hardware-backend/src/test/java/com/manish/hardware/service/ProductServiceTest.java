@@ -0,0 +1,111 @@
+package com.manish.hardware.service;
+
+import com.manish.hardware.catalog.CatalogSnapshot;
+import com.manish.hardware.catalog.ProductCatalog;
+import com.manish.hardware.dto.ProductDtos.FacetPage;
+import com.manish.hardware.dto.ProductDtos.ProductBatch;
+import com.manish.hardware.model.Product;
+import com.manish.hardware.model.ProductTranslation;
+import com.manish.hardware.repository.ProductRepository;
+import com.manish.hardware.repository.ProductTranslationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductTranslationRepository translationRepository;
+
+    @Mock
+    private ProductCatalog productCatalog;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ProductService productService;
+
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        Product cement = new Product(1L, "Shivam", null, null, null, true);
+        cement.setId(1L);
+        Product rod = new Product(2L, "Jagdamba", null, null, null, true);
+        rod.setId(2L);
+
+        ProductTranslation cementEn = new ProductTranslation(1L, "en", "Cement", null);
+        cementEn.setId(1L);
+        ProductTranslation cementNe = new ProductTranslation(1L, "ne", "सिमेन्ट", null);
+        cementNe.setId(2L);
+        ProductTranslation rodEn = new ProductTranslation(2L, "en", "TMT Bar", null);
+        rodEn.setId(3L);
+
+        snapshot = CatalogSnapshot.build(1L, "en", Arrays.asList(cement, rod), Arrays.asList(cementEn, cementNe, rodEn));
+    }
+
+    @Test
+    void testGetProductsByIds_RequestOrderAndMissing() {
+        when(productCatalog.current()).thenReturn(snapshot);
+
+        ProductBatch batch = productService.getProductsByIds(Arrays.asList(2L, 99L, 1L, 2L), null);
+
+        assertEquals(2, batch.getProducts().size());
+        assertEquals(2L, batch.getProducts().get(0).getId());
+        assertEquals(1L, batch.getProducts().get(1).getId());
+        assertEquals(Collections.singletonList(99L), batch.getMissingIds());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void testGetProductsByIds_LanguageNarrowsTranslations() {
+        when(productCatalog.current()).thenReturn(snapshot);
+
+        ProductBatch batch = productService.getProductsByIds(Arrays.asList(1L, 2L), "ne");
+
+        assertEquals(1, batch.getProducts().get(0).getTranslations().size());
+        assertEquals("सिमेन्ट", batch.getProducts().get(0).getTranslations().get(0).getName());
+        // No Nepali translation: the full product is returned
+        assertEquals(1, batch.getProducts().get(1).getTranslations().size());
+        assertEquals("TMT Bar", batch.getProducts().get(1).getTranslations().get(0).getName());
+    }
+
+    @Test
+    void testGetFacetPage_CardNameFallsBackToDefaultLanguage() {
+        when(productCatalog.current()).thenReturn(snapshot);
+
+        FacetPage page = productService.getFacetPage(null, null, "ne", 0, 10);
+
+        assertEquals("सिमेन्ट", page.getContent().get(0).getName());
+        // No Nepali translation: the default language name is shown
+        assertEquals("TMT Bar", page.getContent().get(1).getName());
+    }
+
+    @Test
+    void testGetProductsByIds_TooMany() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= ProductService.MAX_BATCH_SIZE + 1; id++) {
+            ids.add(id);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsByIds(ids, null));
+        verifyNoInteractions(productCatalog);
+    }
+}
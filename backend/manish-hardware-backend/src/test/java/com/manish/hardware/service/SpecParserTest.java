@@ -0,0 +1,45 @@
+package com.manish.hardware.service;
+
+import com.manish.hardware.model.ProductAttribute;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpecParserTest {
+
+    @Test
+    void testParse_TypesValuesAndCanonicalizesUnits() {
+        List<ProductAttribute> attributes = SpecParser.parse(
+                "Diameter: 12 mm\nLength = 12 metre; Grade: OPC  53 | Weight (kg): 50\nMade in Nepal\nColour: ");
+
+        assertEquals(List.of("diameter_mm", "length_mm", "grade", "weight_kg"),
+                attributes.stream().map(ProductAttribute::getName).toList());
+        assertEquals(12.0, attributes.get(0).getNumericValue());
+        assertEquals(12000.0, attributes.get(1).getNumericValue());
+        assertEquals("opc 53", attributes.get(2).getTextValue());
+        assertNull(attributes.get(2).getNumericValue());
+        assertEquals(50.0, attributes.get(3).getNumericValue());
+    }
+
+    @Test
+    void testParse_ConvertsToBaseUnits() {
+        List<ProductAttribute> attributes = SpecParser.parse(
+                "Length (ft): 10 ft; Width: 2 cm; Diameter: 0.5 in; Weight: 500 g; Capacity: 750 ml; Volume: 1 ltr");
+
+        assertEquals(List.of("length_mm", "width_mm", "diameter_mm", "weight_kg", "capacity_l", "volume_l"),
+                attributes.stream().map(ProductAttribute::getName).toList());
+        assertEquals(List.of(3048.0, 20.0, 12.7, 0.5, 0.75, 1.0),
+                attributes.stream().map(ProductAttribute::getNumericValue).toList());
+    }
+
+    @Test
+    void testParse_UnknownUnitStaysText() {
+        List<ProductAttribute> attributes = SpecParser.parse("Strength: 53 grade");
+
+        assertEquals("strength", attributes.get(0).getName());
+        assertEquals("53 grade", attributes.get(0).getTextValue());
+        assertTrue(SpecParser.parse(null).isEmpty());
+    }
+}
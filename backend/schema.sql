@@ -25,8 +25,8 @@ CREATE TABLE products (
     technical_specs TEXT,
     usage_info TEXT,
     is_active BOOLEAN DEFAULT TRUE,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (category_id) REFERENCES categories(id)
 );
 
@@ -76,6 +76,51 @@ CREATE TABLE quote_requests (
     FOREIGN KEY (product_id) REFERENCES products(id)
 );
 
+-- Catalog change log (cursor for offline delta sync)
+CREATE TABLE catalog_changes (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    resource_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Typed attributes parsed from products.technical_specs (name carries the unit, e.g. diameter_mm)
+CREATE TABLE product_attributes (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    product_id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    numeric_value DOUBLE,
+    text_value VARCHAR(255),
+    INDEX idx_product_attributes_product (product_id),
+    FOREIGN KEY (product_id) REFERENCES products(id)
+);
+
+-- Search analytics rollups (one row per endpoint per flush interval)
+CREATE TABLE search_rollups (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    endpoint VARCHAR(20) NOT NULL,
+    period_start TIMESTAMP NOT NULL,
+    period_end TIMESTAMP NOT NULL,
+    total_queries BIGINT NOT NULL,
+    zero_result_queries BIGINT NOT NULL,
+    p50_micros BIGINT NOT NULL,
+    p95_micros BIGINT NOT NULL,
+    p99_micros BIGINT NOT NULL,
+    max_micros BIGINT NOT NULL,
+    INDEX idx_search_rollups_period (period_start)
+);
+
+-- Top and zero-result queries of each rollup
+CREATE TABLE search_rollup_queries (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    rollup_id BIGINT NOT NULL,
+    query_text VARCHAR(100) NOT NULL,
+    zero_results BOOLEAN NOT NULL,
+    query_count BIGINT NOT NULL,
+    count_error BIGINT NOT NULL,
+    FOREIGN KEY (rollup_id) REFERENCES search_rollups(id)
+);
+
 -- Message templates table
 CREATE TABLE message_templates (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
@@ -115,12 +160,18 @@ CREATE INDEX idx_categories_sort_order ON categories(sort_order);
 CREATE INDEX idx_categories_is_active ON categories(is_active);
 CREATE INDEX idx_products_category_id ON products(category_id);
 CREATE INDEX idx_products_is_active ON products(is_active);
+CREATE INDEX idx_products_active_created_at ON products(is_active, created_at, id);
+CREATE INDEX idx_products_active_updated_at ON products(is_active, updated_at, id);
+CREATE INDEX idx_products_category_active_created_at ON products(category_id, is_active, created_at, id);
+CREATE INDEX idx_products_category_active_updated_at ON products(category_id, is_active, updated_at, id);
 CREATE INDEX idx_product_translations_product_id ON product_translations(product_id);
 CREATE INDEX idx_product_translations_language_code ON product_translations(language_code);
 CREATE INDEX idx_banners_sort_order ON banners(sort_order);
 CREATE INDEX idx_banners_is_active ON banners(is_active);
 CREATE INDEX idx_quote_requests_status ON quote_requests(status);
 CREATE INDEX idx_quote_requests_created_at ON quote_requests(created_at);
+CREATE INDEX idx_catalog_changes_changed_at ON catalog_changes(changed_at);
+CREATE INDEX idx_catalog_changes_entity ON catalog_changes(resource_type, entity_id, id);
 CREATE INDEX idx_message_templates_type ON message_templates(type);
 CREATE INDEX idx_message_templates_language_code ON message_templates(language_code);
 
@@ -132,6 +183,8 @@ INSERT INTO app_config (key_name, value) VALUES ('phone_number', '+977-123456789
 INSERT INTO app_config (key_name, value) VALUES ('whatsapp_number', '+977-1234567890');
 INSERT INTO app_config (key_name, value) VALUES ('address', 'Kathmandu, Nepal');
 INSERT INTO app_config (key_name, value) VALUES ('business_hours', '9 AM - 6 PM');
+INSERT INTO app_config (key_name, value) VALUES ('search.synonyms', 'rod, tmt bar, rebar; ppc, portland pozzolana');
+INSERT INTO app_config (key_name, value) VALUES ('search.units', 'mm: millimeter, millimetre; kg: kilo, kilogram; ft: feet, foot');
 
 INSERT INTO message_templates (type, language_code, template) VALUES ('whatsapp_quote', 'en', 'Hello, I want to inquire about {product} for {quantity}. Name: {name}, Location: {location}');
 INSERT INTO message_templates (type, language_code, template) VALUES ('whatsapp_quote', 'ne', 'नमस्ते, म {product} को लागि {quantity} को लागि सोध्न चाहन्छु। नाम: {name}, स्थान: {location}');